@@ -0,0 +1,157 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.ArbolGenerador;
+import com.appciencias.algorithms.Bellman;
+import com.appciencias.algorithms.CentroGrafo;
+import com.appciencias.algorithms.Dijkstra;
+import com.appciencias.algorithms.DistanciasFloyd;
+import com.appciencias.algorithms.Floyd;
+import com.appciencias.algorithms.Grafo;
+import com.appciencias.algorithms.GrafoPonderado;
+import com.appciencias.algorithms.MatrizCircuito;
+import com.appciencias.algorithms.MatrizCorte;
+import com.appciencias.algorithms.Ordinal;
+import java.util.function.Supplier;
+
+/**
+ * Algoritmos de grafos medidos por los benchmarks. preparar construye la
+ * entrada (fuera de la medicion) y devuelve la llamada a medir.
+ *
+ * Las parejas DIJKSTRA_TRAZADO / DIJKSTRA_RAPIDO y FLOYD_MATRICES / FLOYD
+ * hacen el mismo calculo con y sin los pasos/snapshots, asi con -prof gc se
+ * ve cuanto cuestan esos objetos.
+ *
+ * Dijkstra va de v0 al vertice alcanzable mas lejano en un grafo no dirigido;
+ * Bellman y Ordinal usan la version dirigida (aciclica) del mismo grafo. Los
+ * productos operan el grafo generado consigo mismo.
+ */
+public enum Algoritmo {
+
+    DIJKSTRA_TRAZADO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            return dijkstra(g, Dijkstra.Modo.TRAZADO);
+        }
+    },
+    DIJKSTRA_RAPIDO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            return dijkstra(g, Dijkstra.Modo.RAPIDO);
+        }
+    },
+    DIJKSTRA_ARBOL {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(false);
+            return () -> Dijkstra.calcularDesde(grafo, Generador.nombre(0));
+        }
+    },
+    BELLMAN {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(true);
+            String destino = Generador.nombre(g.masLejano(true));
+            return () -> Bellman.calcular(grafo, Generador.nombre(0), destino);
+        }
+    },
+    FLOYD {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            return floyd(g, false);
+        }
+    },
+    FLOYD_MATRICES {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            return floyd(g, true);
+        }
+    },
+    DISTANCIAS_FLOYD {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(false);
+            return () -> DistanciasFloyd.calcular(grafo);
+        }
+    },
+    KRUSKAL {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(false);
+            return () -> ArbolGenerador.calcular(grafo, ArbolGenerador.Tipo.MINIMA);
+        }
+    },
+    ORDINAL_DIRIGIDO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(true);
+            return () -> Ordinal.calcularDirigido(grafo);
+        }
+    },
+    ORDINAL_NO_DIRIGIDO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            Grafo grafo = g.simple();
+            return () -> Ordinal.calcularNoDirigido(grafo);
+        }
+    },
+    CENTRO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            Grafo grafo = g.simple();
+            return () -> CentroGrafo.calcular(grafo);
+        }
+    },
+    MATRIZ_CORTE {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(false);
+            return () -> MatrizCorte.calcular(grafo);
+        }
+    },
+    MATRIZ_CIRCUITO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            GrafoPonderado grafo = g.ponderado(false);
+            return () -> MatrizCircuito.calcular(grafo);
+        }
+    },
+    PRODUCTO_CARTESIANO {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            Grafo grafo = g.simple();
+            return () -> Grafo.productoCartesiano(grafo, grafo);
+        }
+    },
+    PRODUCTO_TENSORIAL {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            Grafo grafo = g.simple();
+            return () -> Grafo.productoTensorial(grafo, grafo);
+        }
+    },
+    COMPOSICION {
+        @Override
+        Supplier<Object> preparar(Generador g) {
+            Grafo grafo = g.simple();
+            return () -> Grafo.composicion(grafo, grafo);
+        }
+    };
+
+    /**
+     * Construye la entrada a partir del grafo generado y devuelve la llamada
+     * que se mide.
+     */
+    abstract Supplier<Object> preparar(Generador g);
+
+    private static Supplier<Object> dijkstra(Generador g, Dijkstra.Modo modo) {
+        GrafoPonderado grafo = g.ponderado(false);
+        String destino = Generador.nombre(g.masLejano(false));
+        return () -> Dijkstra.calcular(grafo, Generador.nombre(0), destino, modo);
+    }
+
+    private static Supplier<Object> floyd(Generador g, boolean conMatrices) {
+        GrafoPonderado grafo = g.ponderado(false);
+        String destino = Generador.nombre(g.masLejano(false));
+        return () -> Floyd.calcular(grafo, Generador.nombre(0), destino, conMatrices);
+    }
+}
@@ -0,0 +1,120 @@
+package com.appciencias.bench;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Las cuatro mediciones comunes a todas las estructuras de busqueda:
+ *
+ *   - buscarExitosa / buscarFallida: tiempo promedio por consulta sobre una
+ *     estructura cargada una sola vez con n claves.
+ *   - insertar / eliminar: LOTE operaciones por iteracion (SingleShotTime con
+ *     batchSize, el puntaje es el tiempo del lote completo), y antes de cada
+ *     iteracion se vuelve a cargar la estructura para que todas midan sobre
+ *     n claves.
+ *
+ * Las subclases fijan los parametros (estructura, n, distribucion).
+ */
+@State(Scope.Thread)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public abstract class BaseBusquedaBench {
+
+    // Operaciones de insertar/eliminar por iteracion; menor que el n minimo
+    static final int LOTE = 500;
+
+    // Consultas precalculadas, potencia de 2 para recorrerlas con una mascara
+    static final int CONSULTAS = 1 << 16;
+
+    private Estructura.Operaciones ops;
+    private String[] presentes;
+    private String[] ausentes;
+    private String[] reserva;
+    private int[] orden;
+    private int cursor;
+    private int cursorLote;
+    private boolean sucia;
+
+    protected abstract Estructura estructura();
+
+    protected abstract int n();
+
+    protected abstract Claves.Distribucion distribucion();
+
+    @Setup(Level.Trial)
+    public void generar() {
+        int n = n();
+        int numAusentes = Math.min(n, CONSULTAS);
+        String[] todas = Claves.generar(n + LOTE + numAusentes, distribucion());
+        presentes = Arrays.copyOfRange(todas, 0, n);
+        reserva = Arrays.copyOfRange(todas, n, n + LOTE);
+        ausentes = Arrays.copyOfRange(todas, n + LOTE, todas.length);
+        orden = Claves.ordenConsultas(n, CONSULTAS, distribucion());
+        cargar();
+    }
+
+    @Setup(Level.Iteration)
+    public void recargar() {
+        if (sucia) {
+            cargar();
+        }
+        cursorLote = 0;
+    }
+
+    private void cargar() {
+        Estructura e = estructura();
+        ops = e.crear(presentes.length + LOTE);
+        String[] carga = presentes;
+        if (e.cargaOrdenada()) {
+            carga = presentes.clone();
+            Arrays.sort(carga);
+        }
+        for (String clave : carga) {
+            ops.insertar(clave);
+        }
+        if (!ops.buscar(presentes[0]) || ops.buscar(ausentes[0])) {
+            throw new IllegalStateException("La estructura " + e + " no quedo bien cargada.");
+        }
+        sucia = false;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public boolean buscarExitosa() {
+        return ops.buscar(presentes[orden[cursor++ & (CONSULTAS - 1)]]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public boolean buscarFallida() {
+        int i = orden[cursor++ & (CONSULTAS - 1)];
+        return ops.buscar(ausentes[i % ausentes.length]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(batchSize = LOTE)
+    @Measurement(batchSize = LOTE)
+    public void insertar() {
+        sucia = true;
+        ops.insertar(reserva[cursorLote++]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(batchSize = LOTE)
+    @Measurement(batchSize = LOTE)
+    public void eliminar() {
+        sucia = true;
+        ops.eliminar(presentes[cursorLote++]);
+    }
+}
@@ -0,0 +1,44 @@
+package com.appciencias.bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Tiempo promedio de una ejecucion completa del algoritmo sobre el grafo
+ * generado. El grafo se genera una vez por combinacion de parametros; el
+ * algoritmo devuelve su Resultado para que JMH no lo descarte.
+ *
+ * Las subclases fijan los parametros (algoritmo, topologia, n) segun lo que
+ * cada grupo de algoritmos aguanta en un tiempo razonable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public abstract class BaseGrafosBench {
+
+    private Supplier<Object> llamada;
+
+    protected abstract Algoritmo algoritmo();
+
+    protected abstract Generador.Topologia topologia();
+
+    protected abstract int n();
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        llamada = algoritmo().preparar(Generador.generar(topologia(), n()));
+    }
+
+    @Benchmark
+    public Object ejecutar() {
+        return llamada.get();
+    }
+}
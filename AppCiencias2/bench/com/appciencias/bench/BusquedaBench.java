@@ -0,0 +1,44 @@
+package com.appciencias.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Estructuras con carga O(n log n) o mejor, de 1k a 10M claves.
+ *
+ * Ejemplo: -p estructura=TABLA_LINEAL,DINAMICAS -p n=1000000
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx8g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class BusquedaBench extends BaseBusquedaBench {
+
+    @Param({"BINARIO", "BINARIO_INTERPOLACION", "BINARIO_EXPONENCIAL", "BINARIO_BLOQUES",
+        "TABLA_LINEAL", "TABLA_CUADRATICA", "TABLA_DOBLE_HASH", "LISTAS_ENLAZADAS",
+        "ARREGLOS_ANIDADOS", "DINAMICAS", "DINAMICAS_LINEAL",
+        "ARBOL_B_MAS", "HASH_EXTERNO", "HASH_EXTERNO_EXTENSIBLE"})
+    public Estructura estructura;
+
+    @Param({"1000", "10000", "100000", "1000000", "10000000"})
+    public int n;
+
+    @Param({"UNIFORME", "SESGADA"})
+    public Claves.Distribucion distribucion;
+
+    @Override
+    protected Estructura estructura() {
+        return estructura;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected Claves.Distribucion distribucion() {
+        return distribucion;
+    }
+}
@@ -0,0 +1,42 @@
+package com.appciencias.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Estructuras que pagan O(n) por insercion (Estructura.isConstruccionCuadratica):
+ * cargar n claves es O(n^2), por eso el rango por defecto llega a 100k. Para
+ * medir mas arriba pasar -p n=1000000 (la carga tarda minutos).
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx4g"})
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class BusquedaLinealBench extends BaseBusquedaBench {
+
+    @Param({"SECUENCIAL", "SECUENCIAL_EXTERNO", "BINARIO_EXTERNO", "BINARIO_EXTERNO_DIVISION",
+        "BINARIO_EXTERNO_INDICE"})
+    public Estructura estructura;
+
+    @Param({"1000", "10000", "100000"})
+    public int n;
+
+    @Param({"UNIFORME", "SESGADA"})
+    public Claves.Distribucion distribucion;
+
+    @Override
+    protected Estructura estructura() {
+        return estructura;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+
+    @Override
+    protected Claves.Distribucion distribucion() {
+        return distribucion;
+    }
+}
@@ -0,0 +1,98 @@
+package com.appciencias.bench;
+
+import java.util.Random;
+
+/**
+ * Generador determinista de claves numericas de LONGITUD digitos para los
+ * benchmarks.
+ *
+ * Distribuciones:
+ *   - UNIFORME: claves dispersas por todo el rango 0 .. 10^LONGITUD - 1 y
+ *     consultas con la misma probabilidad para cada clave.
+ *   - SESGADA: claves consecutivas a partir de un prefijo fijo (como codigos
+ *     asignados en orden) y consultas con distribucion Zipf (s = 1): pocas
+ *     claves concentran la mayoria de los accesos.
+ *
+ * Con la misma semilla siempre salen las mismas claves, asi dos corridas son
+ * comparables.
+ */
+public final class Claves {
+
+    public enum Distribucion {
+        UNIFORME, SESGADA
+    }
+
+    public static final int LONGITUD = 8;
+
+    private static final long RANGO = 100_000_000L; // 10^LONGITUD
+
+    // Multiplicador impar y no multiplo de 5: biyeccion sobre 0 .. RANGO - 1
+    private static final long MULTIPLICADOR = 48_271_129L;
+
+    private static final long INICIO_SESGADA = 40_000_000L;
+
+    private static final long SEMILLA = 20_240_601L;
+
+    private Claves() {
+    }
+
+    /**
+     * Genera total claves distintas. Las primeras n se usan como presentes y
+     * el resto como ausentes o de reserva para insertar.
+     */
+    public static String[] generar(int total, Distribucion distribucion) {
+        if (total <= 0 || total > RANGO - INICIO_SESGADA) {
+            throw new IllegalArgumentException("Cantidad de claves fuera de rango: " + total + ".");
+        }
+        String[] claves = new String[total];
+        for (int i = 0; i < total; i++) {
+            long valor = distribucion == Distribucion.UNIFORME
+                    ? (MULTIPLICADOR * i + SEMILLA) % RANGO
+                    : INICIO_SESGADA + i;
+            claves[i] = formatear(valor);
+        }
+        if (distribucion == Distribucion.UNIFORME) {
+            barajar(claves);
+        }
+        return claves;
+    }
+
+    /**
+     * Secuencia de indices en 0 .. n - 1 para recorrer las consultas.
+     * UNIFORME: todos igual de probables. SESGADA: Zipf aproximado por la
+     * inversa de la acumulada continua, P(rango <= r) ~ ln(r) / ln(n).
+     */
+    public static int[] ordenConsultas(int n, int cantidad, Distribucion distribucion) {
+        Random r = new Random(SEMILLA ^ n);
+        int[] orden = new int[cantidad];
+        double logN = Math.log(n + 1.0);
+        for (int i = 0; i < cantidad; i++) {
+            if (distribucion == Distribucion.UNIFORME) {
+                orden[i] = r.nextInt(n);
+            } else {
+                int rango = (int) Math.exp(r.nextDouble() * logN) - 1;
+                orden[i] = Math.min(n - 1, Math.max(0, rango));
+            }
+        }
+        return orden;
+    }
+
+    private static String formatear(long valor) {
+        char[] c = new char[LONGITUD];
+        for (int i = LONGITUD - 1; i >= 0; i--) {
+            c[i] = (char) ('0' + valor % 10);
+            valor /= 10;
+        }
+        return new String(c);
+    }
+
+    private static void barajar(String[] claves) {
+        Random r = new Random(SEMILLA);
+        for (int i = claves.length - 1; i > 0; i--) {
+            int j = r.nextInt(i + 1);
+            String t = claves[i];
+            claves[i] = claves[j];
+            claves[j] = t;
+        }
+    }
+}
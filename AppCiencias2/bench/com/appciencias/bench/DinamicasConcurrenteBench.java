@@ -0,0 +1,144 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.Dinamicas;
+import com.appciencias.algorithms.DinamicasConcurrente;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.ThreadParams;
+
+/**
+ * Dinamicas compartida entre varios hilos: SINCRONIZADA (Dinamicas detras de
+ * un solo candado, como hoy en la carga) contra DinamicasConcurrente.
+ *
+ * Grupo mixto: ESCRITORES hilos insertan y eliminan claves propias (alternando,
+ * asi el tamaño se mantiene cerca de n) mientras LECTORES hilos buscan claves
+ * precargadas. Puntaje = operaciones por microsegundo de cada rol.
+ *
+ * La prueba de esfuerzo con verificacion de resultados es EstresDinamicas.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class DinamicasConcurrenteBench {
+
+    static final int ESCRITORES = 4;
+    static final int LECTORES = 4;
+
+    // Claves propias de cada escritor
+    static final int POR_ESCRITOR = 4096;
+
+    public enum Variante {
+        SINCRONIZADA, CONCURRENTE
+    }
+
+    @Param({"SINCRONIZADA", "CONCURRENTE"})
+    public Variante variante;
+
+    @Param({"10000", "1000000"})
+    public int n;
+
+    private Estructura.Operaciones ops;
+    private String[] precargadas;
+    private String[] propias;
+
+    @Setup(Level.Trial)
+    public void cargar() {
+        String[] todas = Claves.generar(n + ESCRITORES * POR_ESCRITOR, Claves.Distribucion.UNIFORME);
+        precargadas = Arrays.copyOfRange(todas, 0, n);
+        propias = Arrays.copyOfRange(todas, n, todas.length);
+        ops = variante == Variante.CONCURRENTE ? concurrente() : sincronizada();
+        for (String clave : precargadas) {
+            ops.insertar(clave);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Hilo {
+
+        int desde;
+        int cursor;
+        boolean[] presente = new boolean[POR_ESCRITOR];
+
+        @Setup(Level.Trial)
+        public void asignar(ThreadParams p) {
+            // Indice del hilo dentro de su rol
+            desde = p.getSubgroupThreadIndex() * POR_ESCRITOR;
+        }
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(ESCRITORES)
+    public void escribir(Hilo h) {
+        int j = h.cursor;
+        h.cursor = (j + 1) & (POR_ESCRITOR - 1);
+        String clave = propias[h.desde + j];
+        if (h.presente[j]) {
+            ops.eliminar(clave);
+        } else {
+            ops.insertar(clave);
+        }
+        h.presente[j] = !h.presente[j];
+    }
+
+    @Benchmark
+    @Group("mixto")
+    @GroupThreads(LECTORES)
+    public boolean leer(Hilo h) {
+        int j = h.cursor;
+        h.cursor = j + 1 == n ? 0 : j + 1;
+        return ops.buscar(precargadas[j]);
+    }
+
+    private static Estructura.Operaciones concurrente() {
+        DinamicasConcurrente d = new DinamicasConcurrente(16, 4, Claves.LONGITUD,
+                Dinamicas.Tipo.TOTAL);
+        return new Estructura.Operaciones() {
+            public void insertar(String clave) {
+                d.insertar(clave);
+            }
+
+            public boolean buscar(String clave) {
+                return d.buscar(clave) != -1;
+            }
+
+            public void eliminar(String clave) {
+                d.eliminar(clave);
+            }
+        };
+    }
+
+    private static Estructura.Operaciones sincronizada() {
+        Dinamicas d = new Dinamicas(16, 4, Claves.LONGITUD, Dinamicas.Tipo.TOTAL);
+        return new Estructura.Operaciones() {
+            public synchronized void insertar(String clave) {
+                d.insertar(clave);
+            }
+
+            public synchronized boolean buscar(String clave) {
+                return d.buscar(clave) != -1;
+            }
+
+            public synchronized void eliminar(String clave) {
+                d.eliminar(clave);
+            }
+        };
+    }
+}
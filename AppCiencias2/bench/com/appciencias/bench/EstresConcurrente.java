@@ -0,0 +1,261 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.ArreglosAnidados;
+import com.appciencias.algorithms.Binario;
+import com.appciencias.algorithms.BinarioExterno;
+import com.appciencias.algorithms.Dinamicas;
+import com.appciencias.algorithms.EstructuraConcurrente;
+import com.appciencias.algorithms.FuncionHash;
+import com.appciencias.algorithms.HashExterno;
+import com.appciencias.algorithms.ListasEnlazadas;
+import com.appciencias.algorithms.PoliticaCrecimiento;
+import com.appciencias.algorithms.Secuencial;
+import com.appciencias.algorithms.SecuencialExterno;
+import com.appciencias.algorithms.TablaHash;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.BiPredicate;
+import java.util.function.Supplier;
+
+/**
+ * Prueba de esfuerzo de EstructuraConcurrente con verificacion, un escritor
+ * y varios lectores sobre cada estructura.
+ *
+ *   EstresConcurrente [lectores] [rondas]
+ *
+ * Con ESTABLES claves ya cargadas, el escritor inserta una a una EFIMERAS
+ * claves y despues las elimina en el mismo orden, rondas veces, publicando
+ * cuantos pasos completo. Mientras tanto cada lector consulta al azar:
+ *   - una estable: siempre tiene que estar;
+ *   - una de AUSENTES (nunca insertada): nunca tiene que estar;
+ *   - una efimera: si el escritor no la toco durante la consulta, tiene que
+ *     estar o no segun el paso publicado.
+ * Al terminar, con la estructura quieta, se comprueba que queden exactamente
+ * las estables. Las hash empiezan chicas con crecimiento incremental, asi
+ * los lectores las consultan en medio de la migracion.
+ *
+ * Termina con codigo 1 si encontro algun error.
+ */
+public final class EstresConcurrente {
+
+    private static final int ESTABLES = 1_000;
+    private static final int EFIMERAS = 3_000;
+    private static final int AUSENTES = 1_000;
+    private static final int CAPACIDAD = ESTABLES + EFIMERAS;
+
+    /**
+     * Una estructura con sus operaciones; contiene es la lectura pura.
+     */
+    private static final class Caso<E> {
+
+        final String nombre;
+        final Supplier<E> crear;
+        final BiConsumer<E, String> insertar;
+        final BiConsumer<E, String> eliminar;
+        final BiPredicate<E, String> contiene;
+        final boolean lecturasParalelas;
+
+        Caso(String nombre, Supplier<E> crear, BiConsumer<E, String> insertar,
+                BiConsumer<E, String> eliminar, BiPredicate<E, String> contiene,
+                boolean lecturasParalelas) {
+            this.nombre = nombre;
+            this.crear = crear;
+            this.insertar = insertar;
+            this.eliminar = eliminar;
+            this.contiene = contiene;
+            this.lecturasParalelas = lecturasParalelas;
+        }
+    }
+
+    private EstresConcurrente() {
+    }
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        int lectores = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(3, Runtime.getRuntime().availableProcessors() - 1);
+        int rondas = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        String[] todas = Claves.generar(ESTABLES + EFIMERAS + AUSENTES, Claves.Distribucion.UNIFORME);
+        Path directorio = Files.createTempDirectory("concurrente");
+        int errores = 0;
+        try {
+            for (Caso<?> caso : casos(directorio)) {
+                errores += probar(caso, todas, lectores, rondas);
+            }
+        } finally {
+            Files.deleteIfExists(directorio.resolve("binario.pag"));
+            Files.deleteIfExists(directorio);
+        }
+        System.out.println(errores == 0 ? "OK" : errores + " errores");
+        System.exit(errores == 0 ? 0 : 1);
+    }
+
+    private static ArrayList<Caso<?>> casos(Path directorio) {
+        PoliticaCrecimiento incremental = new PoliticaCrecimiento(0.5, PoliticaCrecimiento.Capacidad.PRIMO, 4);
+        ArrayList<Caso<?>> casos = new ArrayList<>();
+        casos.add(new Caso<>("SECUENCIAL", () -> new Secuencial(CAPACIDAD, Claves.LONGITUD, false),
+                Secuencial::insertar, Secuencial::eliminar, Secuencial::contiene, true));
+        casos.add(new Caso<>("SECUENCIAL_ORDENADO", () -> new Secuencial(CAPACIDAD, Claves.LONGITUD, true),
+                Secuencial::insertar, Secuencial::eliminar, Secuencial::contiene, true));
+        casos.add(new Caso<>("BINARIO", () -> new Binario(CAPACIDAD, Claves.LONGITUD),
+                Binario::insertar, Binario::eliminar, Binario::contiene, true));
+        casos.add(new Caso<>("BINARIO_BLOQUES",
+                () -> new Binario(CAPACIDAD, Claves.LONGITUD, Binario.Almacenamiento.BLOQUES),
+                Binario::insertar, Binario::eliminar, Binario::contiene, true));
+        casos.add(new Caso<>("TABLA_HASH", () -> {
+            TablaHash t = new TablaHash(11, Claves.LONGITUD, new FuncionHash(FuncionHash.Tipo.MOD, 11),
+                    TablaHash.TipoColision.DOBLE_HASH);
+            t.setModoProduccion(true);
+            t.setPoliticaCrecimiento(incremental);
+            return t;
+        }, TablaHash::insertar, TablaHash::eliminar, (t, c) -> t.buscar(c) != -1, true));
+        casos.add(new Caso<>("LISTAS_ENLAZADAS", () -> {
+            ListasEnlazadas l = new ListasEnlazadas(11, Claves.LONGITUD);
+            l.setPoliticaCrecimiento(incremental);
+            return l;
+        }, ListasEnlazadas::insertar, ListasEnlazadas::eliminar, (l, c) -> l.buscar(c) != null, true));
+        casos.add(new Caso<>("ARREGLOS_ANIDADOS", () -> {
+            ArreglosAnidados a = new ArreglosAnidados(11, Claves.LONGITUD);
+            a.setPoliticaCrecimiento(incremental);
+            return a;
+        }, ArreglosAnidados::insertar, ArreglosAnidados::eliminar, (a, c) -> a.buscar(c) != null, true));
+        casos.add(new Caso<>("DINAMICAS_LINEAL",
+                () -> new Dinamicas(2, 4, Claves.LONGITUD, Dinamicas.Tipo.TOTAL, Dinamicas.Modo.LINEAL),
+                Dinamicas::insertar, Dinamicas::eliminar, (d, c) -> d.buscar(c) != -1, true));
+        casos.add(new Caso<>("SECUENCIAL_EXTERNO", () -> new SecuencialExterno(CAPACIDAD, Claves.LONGITUD),
+                SecuencialExterno::insertar, SecuencialExterno::eliminar,
+                (s, c) -> s.buscar(c).encontrada, true));
+        casos.add(new Caso<>("BINARIO_EXTERNO_DIVISION", () -> new BinarioExterno(CAPACIDAD, Claves.LONGITUD,
+                BinarioExterno.Organizacion.DIVISION, 0.5),
+                BinarioExterno::insertar, BinarioExterno::eliminar, (b, c) -> b.buscar(c).encontrada, true));
+        casos.add(new Caso<>("HASH_EXTERNO", () -> new HashExterno(CAPACIDAD, 16, Claves.LONGITUD,
+                HashExterno.Tipo.MOD, HashExterno.Organizacion.EXTENSIBLE),
+                HashExterno::insertar, HashExterno::eliminar, (h, c) -> h.buscar(c).encontrada, true));
+        casos.add(new Caso<>("BINARIO_EXTERNO_ARCHIVO", () -> new BinarioExterno(CAPACIDAD, Claves.LONGITUD,
+                BinarioExterno.Organizacion.DIVISION, 0.5, directorio.resolve("binario.pag")),
+                BinarioExterno::insertar, BinarioExterno::eliminar, (b, c) -> b.buscar(c).encontrada, false));
+        return casos;
+    }
+
+    /**
+     * Si la efimera j esta despues de paso pasos del escritor.
+     */
+    private static boolean presente(long paso, int j) {
+        int k = (int) (paso % (2 * EFIMERAS));
+        return k <= EFIMERAS ? j < k : j >= k - EFIMERAS;
+    }
+
+    private static <E> int probar(Caso<E> caso, String[] todas, int lectores, int rondas)
+            throws InterruptedException {
+        E estructura = caso.crear.get();
+        for (int i = 0; i < ESTABLES; i++) {
+            caso.insertar.accept(estructura, todas[i]);
+        }
+        EstructuraConcurrente<E> c = new EstructuraConcurrente<>(estructura, caso.lecturasParalelas);
+
+        AtomicLong paso = new AtomicLong();
+        AtomicBoolean terminado = new AtomicBoolean();
+        AtomicInteger errores = new AtomicInteger();
+        AtomicLong consultas = new AtomicLong();
+        AtomicLong verificadas = new AtomicLong();
+
+        ArrayList<Thread> hilos = new ArrayList<>();
+        for (int h = 0; h < lectores; h++) {
+            int semilla = h;
+            Thread t = new Thread(() -> {
+                Random azar = new Random(semilla);
+                try {
+                    while (!terminado.get()) {
+                        int i = azar.nextInt(ESTABLES + EFIMERAS + AUSENTES);
+                        long antes = paso.get();
+                        boolean esta = c.leer(e -> caso.contiene.test(e, todas[i]));
+                        long despues = paso.get();
+                        consultas.incrementAndGet();
+                        if (i < ESTABLES || i >= ESTABLES + EFIMERAS) {
+                            verificadas.incrementAndGet();
+                            if (esta != (i < ESTABLES)) {
+                                errores.incrementAndGet();
+                            }
+                            continue;
+                        }
+                        // Efimera: solo si no cambio entre antes y el paso en curso
+                        int j = i - ESTABLES;
+                        boolean esperada = presente(antes, j);
+                        if (despues - antes > 2 * EFIMERAS || presente(despues + 1, j) != esperada) {
+                            continue;
+                        }
+                        boolean estable = true;
+                        for (long p = antes + 1; p <= despues && estable; p++) {
+                            estable = presente(p, j) == esperada;
+                        }
+                        if (estable) {
+                            verificadas.incrementAndGet();
+                            if (esta != esperada) {
+                                errores.incrementAndGet();
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    errores.incrementAndGet();
+                }
+            });
+            hilos.add(t);
+            t.start();
+        }
+
+        long inicio = System.nanoTime();
+        try {
+            long total = (long) rondas * 2 * EFIMERAS;
+            for (long p = 0; p < total; p++) {
+                int k = (int) (p % (2 * EFIMERAS));
+                String clave = todas[ESTABLES + (k < EFIMERAS ? k : k - EFIMERAS)];
+                if (k < EFIMERAS) {
+                    c.escribir(e -> caso.insertar.accept(e, clave));
+                } else {
+                    c.escribir(e -> caso.eliminar.accept(e, clave));
+                }
+                paso.set(p + 1);
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            errores.incrementAndGet();
+        } finally {
+            terminado.set(true);
+            for (Thread t : hilos) {
+                t.join();
+            }
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        for (int i = 0; i < todas.length; i++) {
+            if (caso.contiene.test(estructura, todas[i]) != (i < ESTABLES)) {
+                System.out.println("  al final la clave '" + todas[i] + "' esta mal");
+                errores.incrementAndGet();
+                break;
+            }
+        }
+        if (estructura instanceof Closeable) {
+            try {
+                ((Closeable) estructura).close();
+            } catch (IOException e) {
+                errores.incrementAndGet();
+            }
+        }
+
+        System.out.printf("%-26s %d lectores  %8d consultas (%d verificadas)  optimistas %5.1f%%  %.0f ms%s%n",
+                caso.nombre, lectores, consultas.get(), verificadas.get(),
+                100.0 * c.getLecturasOptimistas()
+                / Math.max(1, c.getLecturasOptimistas() + c.getLecturasBloqueadas()),
+                nanos / 1e6, errores.get() == 0 ? "" : "  ERRORES=" + errores.get());
+        return errores.get();
+    }
+}
@@ -0,0 +1,180 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.Dinamicas;
+import com.appciencias.algorithms.DinamicasConcurrente;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de esfuerzo de DinamicasConcurrente con verificacion.
+ *
+ *   EstresDinamicas [hilos] [clavesPorHilo] [rondas]
+ *
+ * En cada ronda (alternando TOTAL y PARCIAL, empezando con una cubeta para
+ * forzar muchas expansiones y reducciones):
+ *   1. Cada hilo inserta sus claves y ademas intenta insertar claves
+ *      compartidas con los demas; de cada compartida debe ganar un solo hilo.
+ *   2. Cada hilo elimina la mitad de sus claves y comprueba con buscar que
+ *      las suyas esten o no segun corresponda, mientras los demas escriben.
+ *   3. Con la estructura quieta se comprueba el contenido completo y que cada
+ *      clave este en su cubeta H(k).
+ *   4. Todos los hilos vacian la estructura a la vez (las reducciones se
+ *      encadenan); de cada compartida debe eliminarla un solo hilo.
+ *
+ * Termina con codigo 1 si encontro algun error.
+ */
+public final class EstresDinamicas {
+
+    private EstresDinamicas() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int porHilo = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int rondas = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+
+        int errores = 0;
+        for (int r = 0; r < rondas; r++) {
+            Dinamicas.Tipo tipo = r % 2 == 0 ? Dinamicas.Tipo.TOTAL : Dinamicas.Tipo.PARCIAL;
+            errores += ronda(hilos, porHilo, tipo, r);
+        }
+        System.out.println(errores == 0 ? "OK" : errores + " errores");
+        System.exit(errores == 0 ? 0 : 1);
+    }
+
+    private static int ronda(int hilos, int porHilo, Dinamicas.Tipo tipo, int semilla)
+            throws InterruptedException {
+        DinamicasConcurrente d = new DinamicasConcurrente(1, 4, Claves.LONGITUD, tipo);
+        int compartidas = porHilo / 4;
+        String[] todas = Claves.generar(hilos * porHilo + compartidas, Claves.Distribucion.UNIFORME);
+        AtomicInteger errores = new AtomicInteger();
+        AtomicInteger ganadas = new AtomicInteger();
+        AtomicLong nanos = new AtomicLong();
+        CountDownLatch largada = new CountDownLatch(1);
+
+        ArrayList<Thread> lista = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int desde = h * porHilo;
+            int desplazamiento = h + semilla;
+            Thread t = new Thread(() -> {
+                try {
+                    largada.await();
+                    long inicio = System.nanoTime();
+                    for (int i = 0; i < porHilo; i++) {
+                        d.insertar(todas[desde + i]);
+                        // Las compartidas se intentan en distinto orden por hilo
+                        if (i < compartidas) {
+                            String comun = todas[hilos * porHilo + (i + desplazamiento) % compartidas];
+                            try {
+                                d.insertar(comun);
+                                ganadas.incrementAndGet();
+                            } catch (IllegalStateException e) {
+                                // ya la inserto otro hilo
+                            }
+                        }
+                    }
+                    for (int i = 0; i < porHilo; i += 2) {
+                        d.eliminar(todas[desde + i]);
+                    }
+                    for (int i = 0; i < porHilo; i++) {
+                        boolean esta = d.buscar(todas[desde + i]) != -1;
+                        if (esta != (i % 2 == 1)) {
+                            errores.incrementAndGet();
+                        }
+                    }
+                    nanos.addAndGet(System.nanoTime() - inicio);
+                } catch (RuntimeException | InterruptedException e) {
+                    e.printStackTrace();
+                    errores.incrementAndGet();
+                }
+            });
+            lista.add(t);
+            t.start();
+        }
+        largada.countDown();
+        for (Thread t : lista) {
+            t.join();
+        }
+
+        if (ganadas.get() != compartidas) {
+            System.out.println("Compartidas insertadas " + ganadas.get() + " veces, se esperaban "
+                    + compartidas);
+            errores.incrementAndGet();
+        }
+
+        d.completarRedimension();
+        HashSet<String> esperadas = new HashSet<>();
+        for (int h = 0; h < hilos; h++) {
+            for (int i = 1; i < porHilo; i += 2) {
+                esperadas.add(todas[h * porHilo + i]);
+            }
+        }
+        for (int i = 0; i < compartidas; i++) {
+            esperadas.add(todas[hilos * porHilo + i]);
+        }
+        ArrayList<String> claves = d.obtenerClaves();
+        if (claves.size() != esperadas.size() || !esperadas.containsAll(claves)
+                || d.getContador() != esperadas.size()) {
+            System.out.println("Contenido incorrecto: " + claves.size() + " claves, contador "
+                    + d.getContador() + ", se esperaban " + esperadas.size());
+            errores.incrementAndGet();
+        }
+        ArrayList<ArrayList<String>> cubetas = d.obtenerCubetas();
+        for (int i = 0; i < cubetas.size(); i++) {
+            for (String clave : cubetas.get(i)) {
+                if (d.buscar(clave) != i) {
+                    System.out.println("Clave '" + clave + "' fuera de su cubeta " + i);
+                    errores.incrementAndGet();
+                }
+            }
+        }
+
+        String info = d.obtenerInfo();
+
+        AtomicInteger eliminadas = new AtomicInteger();
+        lista.clear();
+        for (int h = 0; h < hilos; h++) {
+            int desde = h * porHilo;
+            Thread t = new Thread(() -> {
+                try {
+                    for (int i = 1; i < porHilo; i += 2) {
+                        d.eliminar(todas[desde + i]);
+                        if (i / 2 < compartidas) {
+                            try {
+                                d.eliminar(todas[hilos * porHilo + i / 2]);
+                                eliminadas.incrementAndGet();
+                            } catch (IllegalArgumentException e) {
+                                // ya la elimino otro hilo
+                            }
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                    errores.incrementAndGet();
+                }
+            });
+            lista.add(t);
+            t.start();
+        }
+        for (Thread t : lista) {
+            t.join();
+        }
+        d.completarRedimension();
+        if (eliminadas.get() != compartidas || d.getContador() != 0
+                || !d.obtenerClaves().isEmpty()) {
+            System.out.println("Al vaciar: compartidas eliminadas " + eliminadas.get()
+                    + " veces, quedan " + d.obtenerClaves().size() + " claves");
+            errores.incrementAndGet();
+        }
+
+        System.out.println(tipo + ": " + hilos + " hilos, " + info
+                + "  vacia: " + d.getNumCubetas() + " cubetas"
+                + String.format("  %.1f ms por hilo", nanos.get() / 1e6 / hilos)
+                + (errores.get() == 0 ? "" : "  ERRORES=" + errores.get()));
+        return errores.get();
+    }
+}
@@ -0,0 +1,375 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.ArbolBMas;
+import com.appciencias.algorithms.ArreglosAnidados;
+import com.appciencias.algorithms.Binario;
+import com.appciencias.algorithms.BinarioExterno;
+import com.appciencias.algorithms.BusquedaOrdenada;
+import com.appciencias.algorithms.Dinamicas;
+import com.appciencias.algorithms.FuncionHash;
+import com.appciencias.algorithms.HashExterno;
+import com.appciencias.algorithms.ListasEnlazadas;
+import com.appciencias.algorithms.PoliticaCrecimiento;
+import com.appciencias.algorithms.Secuencial;
+import com.appciencias.algorithms.SecuencialExterno;
+import com.appciencias.algorithms.TablaHash;
+
+/**
+ * Estructuras de busqueda medidas por los benchmarks, cada una detras de la
+ * misma interfaz Operaciones.
+ *
+ * Tamaños usados:
+ *   - Binario: ARREGLO (una ArenaClaves) o BLOQUES (raiz(n) bloques
+ *     ordenados). BINARIO_INTERPOLACION y BINARIO_EXPONENCIAL son ARREGLO con
+ *     esa estrategia de busqueda.
+ *   - TablaHash: primo >= 2 * capacidad (la cuadratica necesita carga <= 0.5),
+ *     en modo produccion.
+ *   - ListasEnlazadas / ArreglosAnidados: capacidad posiciones.
+ *   - Dinamicas: arranca con pocas cubetas y se expande sola (LINEAL divide
+ *     una cubeta por operacion).
+ *   - BinarioExterno: DIVISION deja medio bloque al dividir (LLENADO_DIVISION);
+ *     INDICE es DIVISION con busqueda binaria sobre el indice de bloques.
+ *   - HashExterno: bloques de REGISTROS_POR_BLOQUE claves.
+ *   - ArbolBMas: nodos de BLOQUE_ARBOL bytes con claves de 2 bytes por
+ *     caracter y punteros de 4 (bfr = 256, bfri = 204 con 8 caracteres).
+ *
+ * construccionCuadratica marca las que pagan O(n) por insercion; con esas
+ * cargar n claves es O(n^2) y se miden en BusquedaLinealBench con n menores.
+ */
+public enum Estructura {
+
+    SECUENCIAL(true) {
+        @Override
+        Operaciones crear(int capacidad) {
+            Secuencial s = new Secuencial(capacidad, Claves.LONGITUD, false);
+            return new Operaciones() {
+                public void insertar(String clave) {
+                    s.insertar(clave);
+                }
+
+                public boolean buscar(String clave) {
+                    return s.buscar(clave) != -1;
+                }
+
+                public void eliminar(String clave) {
+                    s.eliminar(clave);
+                }
+            };
+        }
+    },
+    BINARIO(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return binario(capacidad, Binario.Almacenamiento.ARREGLO, BusquedaOrdenada.Estrategia.BINARIA);
+        }
+
+        @Override
+        boolean cargaOrdenada() {
+            return true;
+        }
+    },
+    BINARIO_INTERPOLACION(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return binario(capacidad, Binario.Almacenamiento.ARREGLO,
+                    BusquedaOrdenada.Estrategia.INTERPOLACION);
+        }
+
+        @Override
+        boolean cargaOrdenada() {
+            return true;
+        }
+    },
+    BINARIO_EXPONENCIAL(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return binario(capacidad, Binario.Almacenamiento.ARREGLO,
+                    BusquedaOrdenada.Estrategia.EXPONENCIAL);
+        }
+
+        @Override
+        boolean cargaOrdenada() {
+            return true;
+        }
+    },
+    BINARIO_BLOQUES(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return binario(capacidad, Binario.Almacenamiento.BLOQUES, BusquedaOrdenada.Estrategia.BINARIA);
+        }
+    },
+    TABLA_LINEAL(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return tabla(capacidad, TablaHash.TipoColision.LINEAL);
+        }
+    },
+    TABLA_CUADRATICA(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return tabla(capacidad, TablaHash.TipoColision.CUADRATICA);
+        }
+    },
+    TABLA_DOBLE_HASH(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return tabla(capacidad, TablaHash.TipoColision.DOBLE_HASH);
+        }
+    },
+    LISTAS_ENLAZADAS(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            ListasEnlazadas l = new ListasEnlazadas(capacidad, Claves.LONGITUD);
+            return new Operaciones() {
+                public void insertar(String clave) {
+                    l.insertar(clave);
+                }
+
+                public boolean buscar(String clave) {
+                    return l.buscar(clave) != null;
+                }
+
+                public void eliminar(String clave) {
+                    l.eliminar(clave);
+                }
+            };
+        }
+    },
+    ARREGLOS_ANIDADOS(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            ArreglosAnidados a = new ArreglosAnidados(capacidad, Claves.LONGITUD);
+            return new Operaciones() {
+                public void insertar(String clave) {
+                    a.insertar(clave);
+                }
+
+                public boolean buscar(String clave) {
+                    return a.buscar(clave) != null;
+                }
+
+                public void eliminar(String clave) {
+                    a.eliminar(clave);
+                }
+            };
+        }
+    },
+    DINAMICAS(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return dinamicas(new Dinamicas(CUBETAS_INICIALES, REGISTROS_POR_CUBETA,
+                    Claves.LONGITUD, Dinamicas.Tipo.TOTAL));
+        }
+    },
+    DINAMICAS_LINEAL(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return dinamicas(new Dinamicas(CUBETAS_INICIALES, REGISTROS_POR_CUBETA,
+                    Claves.LONGITUD, Dinamicas.Tipo.TOTAL, Dinamicas.Modo.LINEAL));
+        }
+    },
+    SECUENCIAL_EXTERNO(true) {
+        @Override
+        Operaciones crear(int capacidad) {
+            SecuencialExterno s = new SecuencialExterno(capacidad, Claves.LONGITUD);
+            return new Operaciones() {
+                public void insertar(String clave) {
+                    s.insertar(clave);
+                }
+
+                public boolean buscar(String clave) {
+                    return s.buscar(clave).encontrada;
+                }
+
+                public void eliminar(String clave) {
+                    s.eliminar(clave);
+                }
+            };
+        }
+    },
+    BINARIO_EXTERNO(true) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return binarioExterno(new BinarioExterno(capacidad, Claves.LONGITUD));
+        }
+    },
+    BINARIO_EXTERNO_DIVISION(true) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return binarioExterno(new BinarioExterno(capacidad, Claves.LONGITUD,
+                    BinarioExterno.Organizacion.DIVISION, LLENADO_DIVISION));
+        }
+    },
+    BINARIO_EXTERNO_INDICE(true) {
+        @Override
+        Operaciones crear(int capacidad) {
+            BinarioExterno b = new BinarioExterno(capacidad, Claves.LONGITUD,
+                    BinarioExterno.Organizacion.DIVISION, LLENADO_DIVISION);
+            b.setBusquedaIndexada(true);
+            return binarioExterno(b);
+        }
+    },
+    ARBOL_B_MAS(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            ArbolBMas a = new ArbolBMas(BLOQUE_ARBOL, 2 * Claves.LONGITUD, 2 * Claves.LONGITUD + 4,
+                    Claves.LONGITUD);
+            return new Operaciones() {
+                public void insertar(String clave) {
+                    a.insertar(clave);
+                }
+
+                public boolean buscar(String clave) {
+                    return a.buscar(clave);
+                }
+
+                public void eliminar(String clave) {
+                    a.eliminar(clave);
+                }
+            };
+        }
+    },
+    HASH_EXTERNO(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return hashExterno(new HashExterno(capacidad, REGISTROS_POR_BLOQUE,
+                    Claves.LONGITUD, HashExterno.Tipo.MOD));
+        }
+    },
+    HASH_EXTERNO_EXTENSIBLE(false) {
+        @Override
+        Operaciones crear(int capacidad) {
+            return hashExterno(new HashExterno(capacidad, REGISTROS_POR_BLOQUE,
+                    Claves.LONGITUD, HashExterno.Tipo.MOD, HashExterno.Organizacion.EXTENSIBLE));
+        }
+    };
+
+    /**
+     * Las cuatro operaciones medidas.
+     */
+    public interface Operaciones {
+
+        void insertar(String clave);
+
+        boolean buscar(String clave);
+
+        void eliminar(String clave);
+    }
+
+    private static final int CUBETAS_INICIALES = 16;
+    private static final int REGISTROS_POR_CUBETA = 4;
+    private static final int REGISTROS_POR_BLOQUE = 64;
+    private static final double LLENADO_DIVISION = 0.5;
+    private static final int BLOQUE_ARBOL = 4096;
+
+    private final boolean construccionCuadratica;
+
+    Estructura(boolean construccionCuadratica) {
+        this.construccionCuadratica = construccionCuadratica;
+    }
+
+    /**
+     * Estructura vacia con espacio para capacidad claves.
+     */
+    abstract Operaciones crear(int capacidad);
+
+    /**
+     * true si conviene cargar las claves ordenadas (asi Binario no corre
+     * elementos en cada insercion).
+     */
+    boolean cargaOrdenada() {
+        return false;
+    }
+
+    public boolean isConstruccionCuadratica() {
+        return construccionCuadratica;
+    }
+
+    private static Operaciones binario(int capacidad, Binario.Almacenamiento almacenamiento,
+            BusquedaOrdenada.Estrategia estrategia) {
+        Binario b = new Binario(capacidad, Claves.LONGITUD, almacenamiento);
+        b.setEstrategia(estrategia);
+        return new Operaciones() {
+            public void insertar(String clave) {
+                b.insertar(clave);
+            }
+
+            public boolean buscar(String clave) {
+                return b.buscar(clave) != -1;
+            }
+
+            public void eliminar(String clave) {
+                b.eliminar(clave);
+            }
+        };
+    }
+
+    private static Operaciones binarioExterno(BinarioExterno b) {
+        return new Operaciones() {
+            public void insertar(String clave) {
+                b.insertar(clave);
+            }
+
+            public boolean buscar(String clave) {
+                return b.buscar(clave).encontrada;
+            }
+
+            public void eliminar(String clave) {
+                b.eliminar(clave);
+            }
+        };
+    }
+
+    private static Operaciones dinamicas(Dinamicas d) {
+        return new Operaciones() {
+            public void insertar(String clave) {
+                d.insertar(clave);
+            }
+
+            public boolean buscar(String clave) {
+                return d.buscar(clave) != -1;
+            }
+
+            public void eliminar(String clave) {
+                d.eliminar(clave);
+            }
+        };
+    }
+
+    private static Operaciones hashExterno(HashExterno h) {
+        return new Operaciones() {
+            public void insertar(String clave) {
+                h.insertar(clave);
+            }
+
+            public boolean buscar(String clave) {
+                return h.buscar(clave).encontrada;
+            }
+
+            public void eliminar(String clave) {
+                h.eliminar(clave);
+            }
+        };
+    }
+
+    private static Operaciones tabla(int capacidad, TablaHash.TipoColision tipo) {
+        int tamaño = new PoliticaCrecimiento(1.0, PoliticaCrecimiento.Capacidad.PRIMO)
+                .siguienteTamaño(capacidad);
+        TablaHash t = new TablaHash(tamaño, Claves.LONGITUD,
+                new FuncionHash(FuncionHash.Tipo.MOD, tamaño), tipo);
+        t.setModoProduccion(true);
+        return new Operaciones() {
+            public void insertar(String clave) {
+                t.insertar(clave);
+            }
+
+            public boolean buscar(String clave) {
+                return t.buscar(clave) != -1;
+            }
+
+            public void eliminar(String clave) {
+                t.eliminar(clave);
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.Grafo;
+import com.appciencias.algorithms.GrafoPonderado;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Grafos generados para los benchmarks. Los vertices se llaman v0 .. v(n-1) y
+ * cada arista (u, v) cumple u < v, asi la version dirigida es aciclica (la
+ * necesitan Bellman y Ordinal). Pesos enteros en 1 .. PESO_MAXIMO.
+ *
+ * Topologias:
+ *   - ALEATORIO: G(n, p) con p = GRADO_MEDIO / (n - 1), generado en O(n + m)
+ *     saltando con distribucion geometrica entre aristas.
+ *   - MALLA: cuadricula de filas x columnas lo mas cuadrada posible.
+ *   - LIBRE_ESCALA: Barabasi-Albert, cada vertice nuevo se une a ENLACES_BA
+ *     existentes con probabilidad proporcional al grado.
+ *   - ARBOL: arbol recursivo aleatorio (el padre de i es uniforme en 0 .. i-1).
+ */
+public final class Generador {
+
+    public enum Topologia {
+        ALEATORIO, MALLA, LIBRE_ESCALA, ARBOL
+    }
+
+    public static final int PESO_MAXIMO = 100;
+
+    private static final double GRADO_MEDIO = 4.0;
+    private static final int ENLACES_BA = 2;
+    private static final long SEMILLA = 20_240_601L;
+
+    public final int n;
+    public final int m;
+    public final int[] origen;
+    public final int[] destino;
+    public final int[] peso;
+
+    private Generador(int n, int[] origen, int[] destino, int m, Random r) {
+        this.n = n;
+        this.m = m;
+        this.origen = origen;
+        this.destino = destino;
+        this.peso = new int[m];
+        for (int e = 0; e < m; e++) {
+            peso[e] = 1 + r.nextInt(PESO_MAXIMO);
+        }
+    }
+
+    /**
+     * Grafo de n vertices con la topologia dada, siempre el mismo para la
+     * misma pareja (topologia, n).
+     */
+    public static Generador generar(Topologia topologia, int n) {
+        if (n < 2) {
+            throw new IllegalArgumentException("Se necesitan al menos 2 vertices.");
+        }
+        Random r = new Random(SEMILLA ^ ((long) topologia.ordinal() << 32) ^ n);
+        Aristas a = new Aristas();
+        switch (topologia) {
+            case ALEATORIO:
+                aleatorio(n, Math.min(1.0, GRADO_MEDIO / (n - 1)), r, a);
+                break;
+            case MALLA:
+                malla(n, a);
+                break;
+            case LIBRE_ESCALA:
+                libreEscala(n, r, a);
+                break;
+            default:
+                arbol(n, r, a);
+        }
+        return new Generador(n, a.origen, a.destino, a.m, r);
+    }
+
+    public static String nombre(int v) {
+        return "v" + v;
+    }
+
+    /**
+     * GrafoPonderado con las aristas generadas. No dirigido: se guardan ambos
+     * sentidos (como lo hace GrafoPonderado).
+     */
+    public GrafoPonderado ponderado(boolean dirigido) {
+        GrafoPonderado g = new GrafoPonderado("G" + n, dirigido);
+        for (int v = 0; v < n; v++) {
+            g.agregarVertice(nombre(v));
+        }
+        for (int e = 0; e < m; e++) {
+            g.agregarArista(nombre(origen[e]), nombre(destino[e]), peso[e]);
+        }
+        return g;
+    }
+
+    /**
+     * Grafo simple sin pesos con las mismas aristas.
+     */
+    public Grafo simple() {
+        Grafo g = new Grafo("G" + n);
+        for (int v = 0; v < n; v++) {
+            g.agregarVertice(nombre(v));
+        }
+        for (int e = 0; e < m; e++) {
+            g.agregarArista(nombre(origen[e]), nombre(destino[e]));
+        }
+        return g;
+    }
+
+    /**
+     * Vertice alcanzable desde v0 (siguiendo u -> v con u < v si dirigido) que
+     * queda mas lejos en saltos; sirve de destino para Dijkstra y Bellman.
+     */
+    public int masLejano(boolean dirigido) {
+        int[] grado = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            grado[origen[e] + 1]++;
+            if (!dirigido) {
+                grado[destino[e] + 1]++;
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            grado[v + 1] += grado[v];
+        }
+        int[] vecinos = new int[grado[n]];
+        int[] pos = grado.clone();
+        for (int e = 0; e < m; e++) {
+            vecinos[pos[origen[e]]++] = destino[e];
+            if (!dirigido) {
+                vecinos[pos[destino[e]]++] = origen[e];
+            }
+        }
+
+        boolean[] visto = new boolean[n];
+        ArrayDeque<Integer> cola = new ArrayDeque<>();
+        cola.add(0);
+        visto[0] = true;
+        int ultimo = 0;
+        while (!cola.isEmpty()) {
+            int u = cola.poll();
+            ultimo = u;
+            for (int i = grado[u]; i < grado[u + 1]; i++) {
+                int v = vecinos[i];
+                if (!visto[v]) {
+                    visto[v] = true;
+                    cola.add(v);
+                }
+            }
+        }
+        return ultimo;
+    }
+
+    private static void aleatorio(int n, double p, Random r, Aristas a) {
+        // Batagelj-Brandes: recorre los pares (v, w) con w < v saltando
+        // floor(log(1 - u) / log(1 - p)) pares entre arista y arista
+        double log1p = Math.log(1.0 - p);
+        int v = 1, w = -1;
+        while (v < n) {
+            w += 1 + (p >= 1.0 ? 0 : (int) Math.floor(Math.log(1.0 - r.nextDouble()) / log1p));
+            while (w >= v && v < n) {
+                w -= v;
+                v++;
+            }
+            if (v < n) {
+                a.agregar(w, v);
+            }
+        }
+    }
+
+    private static void malla(int n, Aristas a) {
+        int columnas = (int) Math.ceil(Math.sqrt(n));
+        for (int v = 0; v < n; v++) {
+            if ((v + 1) % columnas != 0 && v + 1 < n) {
+                a.agregar(v, v + 1);
+            }
+            if (v + columnas < n) {
+                a.agregar(v, v + columnas);
+            }
+        }
+    }
+
+    private static void libreEscala(int n, Random r, Aristas a) {
+        // Cada extremo de arista aparece una vez en extremos: elegir uno al
+        // azar es elegir un vertice con probabilidad proporcional al grado
+        int[] extremos = new int[2 * ENLACES_BA * n];
+        int total = 0;
+        a.agregar(0, 1);
+        extremos[total++] = 0;
+        extremos[total++] = 1;
+        int[] elegidos = new int[ENLACES_BA];
+        for (int v = 2; v < n; v++) {
+            int k = 0;
+            while (k < Math.min(ENLACES_BA, v)) {
+                int u = extremos[r.nextInt(total)];
+                boolean repetido = false;
+                for (int i = 0; i < k; i++) {
+                    repetido |= elegidos[i] == u;
+                }
+                if (!repetido) {
+                    elegidos[k++] = u;
+                }
+            }
+            for (int i = 0; i < k; i++) {
+                a.agregar(elegidos[i], v);
+                extremos[total++] = elegidos[i];
+                extremos[total++] = v;
+            }
+        }
+    }
+
+    private static void arbol(int n, Random r, Aristas a) {
+        for (int v = 1; v < n; v++) {
+            a.agregar(r.nextInt(v), v);
+        }
+    }
+
+    /**
+     * Lista de aristas que crece por duplicacion.
+     */
+    private static final class Aristas {
+
+        int[] origen = new int[16];
+        int[] destino = new int[16];
+        int m;
+
+        void agregar(int u, int v) {
+            if (m == origen.length) {
+                origen = Arrays.copyOf(origen, 2 * m);
+                destino = Arrays.copyOf(destino, 2 * m);
+            }
+            origen[m] = u;
+            destino[m] = v;
+            m++;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.appciencias.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Algoritmos casi lineales en n + m, de 100 a 100k vertices.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx4g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GrafosBench extends BaseGrafosBench {
+
+    @Param({"DIJKSTRA_RAPIDO", "DIJKSTRA_ARBOL", "KRUSKAL", "ORDINAL_DIRIGIDO"})
+    public Algoritmo algoritmo;
+
+    @Param({"ALEATORIO", "MALLA", "LIBRE_ESCALA", "ARBOL"})
+    public Generador.Topologia topologia;
+
+    @Param({"100", "1000", "10000", "100000"})
+    public int n;
+
+    @Override
+    protected Algoritmo algoritmo() {
+        return algoritmo;
+    }
+
+    @Override
+    protected Generador.Topologia topologia() {
+        return topologia;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+}
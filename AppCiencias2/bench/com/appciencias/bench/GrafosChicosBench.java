@@ -0,0 +1,40 @@
+package com.appciencias.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Productos de Grafo, cuyo resultado tiene n^2 vertices. Con n = 20 ya
+ * generan 400 vertices.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GrafosChicosBench extends BaseGrafosBench {
+
+    @Param({"PRODUCTO_CARTESIANO", "PRODUCTO_TENSORIAL", "COMPOSICION"})
+    public Algoritmo algoritmo;
+
+    @Param({"ALEATORIO", "MALLA", "LIBRE_ESCALA", "ARBOL"})
+    public Generador.Topologia topologia;
+
+    @Param({"6", "10", "20"})
+    public int n;
+
+    @Override
+    protected Algoritmo algoritmo() {
+        return algoritmo;
+    }
+
+    @Override
+    protected Generador.Topologia topologia() {
+        return topologia;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+}
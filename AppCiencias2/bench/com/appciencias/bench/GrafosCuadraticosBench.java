@@ -0,0 +1,43 @@
+package com.appciencias.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Algoritmos O(n^2) o peores, o que guardan un snapshot por paso (TRAZADO,
+ * FLOYD_MATRICES guarda n + 1 matrices de n x n). DIJKSTRA_RAPIDO se repite
+ * aqui para compararlo con DIJKSTRA_TRAZADO en los mismos tamaños. Con
+ * -p n=1000 FLOYD_MATRICES necesita unos 8 GB de heap.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx8g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GrafosCuadraticosBench extends BaseGrafosBench {
+
+    @Param({"DIJKSTRA_TRAZADO", "DIJKSTRA_RAPIDO", "BELLMAN", "FLOYD", "FLOYD_MATRICES",
+        "DISTANCIAS_FLOYD", "CENTRO", "ORDINAL_NO_DIRIGIDO"})
+    public Algoritmo algoritmo;
+
+    @Param({"ALEATORIO", "MALLA", "LIBRE_ESCALA", "ARBOL"})
+    public Generador.Topologia topologia;
+
+    @Param({"100", "300"})
+    public int n;
+
+    @Override
+    protected Algoritmo algoritmo() {
+        return algoritmo;
+    }
+
+    @Override
+    protected Generador.Topologia topologia() {
+        return topologia;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+}
@@ -0,0 +1,41 @@
+package com.appciencias.bench;
+
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Matrices de corte y de circuito, que enumeran subconjuntos de aristas
+ * (exponenciales). Con n = 12 el grafo aleatorio ya tarda mas de 15 s por
+ * operacion, asi que se mide hasta n = 10.
+ */
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class GrafosExponencialesBench extends BaseGrafosBench {
+
+    @Param({"MATRIZ_CORTE", "MATRIZ_CIRCUITO"})
+    public Algoritmo algoritmo;
+
+    @Param({"ALEATORIO", "MALLA", "LIBRE_ESCALA", "ARBOL"})
+    public Generador.Topologia topologia;
+
+    @Param({"6", "8", "10"})
+    public int n;
+
+    @Override
+    protected Algoritmo algoritmo() {
+        return algoritmo;
+    }
+
+    @Override
+    protected Generador.Topologia topologia() {
+        return topologia;
+    }
+
+    @Override
+    protected int n() {
+        return n;
+    }
+}
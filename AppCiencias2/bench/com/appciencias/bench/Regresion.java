@@ -0,0 +1,172 @@
+package com.appciencias.bench;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Linea base de rendimiento para detectar regresiones.
+ *
+ *   registrar archivo.csv [patron...]
+ *       Corre los benchmarks que coinciden con los patrones (por defecto los
+ *       de grafos) con el perfilador de GC y guarda el CSV de JMH. Ademas del
+ *       tiempo quedan las metricas gc.alloc.rate (MB/s) y gc.alloc.rate.norm
+ *       (bytes por operacion), que muestran el costo de los snapshots.
+ *
+ *   comparar base.csv nuevo.csv [umbral]
+ *       Compara fila por fila (benchmark + parametros + metrica) y marca las
+ *       que empeoraron mas que umbral (por defecto 0.10 = 10%). Termina con
+ *       codigo 1 si hubo alguna regresion.
+ *
+ * La linea base de los grafos esta en bench/baseline/grafos.csv.
+ */
+public final class Regresion {
+
+    private static final double UMBRAL_POR_DEFECTO = 0.10;
+
+    // Solo estas metricas del perfilador se comparan; el resto (conteo de GC,
+    // tiempo de GC) varia demasiado entre corridas
+    private static final String[] METRICAS_GC = {"gc.alloc.rate.norm"};
+
+    private Regresion() {
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        if (args.length >= 2 && args[0].equals("registrar")) {
+            registrar(args[1], args.length > 2
+                    ? List.of(args).subList(2, args.length)
+                    : List.of("Grafos"));
+        } else if (args.length >= 3 && args[0].equals("comparar")) {
+            double umbral = args.length > 3 ? Double.parseDouble(args[3]) : UMBRAL_POR_DEFECTO;
+            int regresiones = comparar(Paths.get(args[1]), Paths.get(args[2]), umbral);
+            System.exit(regresiones > 0 ? 1 : 0);
+        } else {
+            System.out.println("Uso: Regresion registrar archivo.csv [patron...]");
+            System.out.println("     Regresion comparar base.csv nuevo.csv [umbral]");
+        }
+    }
+
+    /**
+     * Corre los benchmarks con -prof gc y escribe el resultado en CSV.
+     */
+    public static void registrar(String archivo, List<String> patrones) throws RunnerException {
+        ChainedOptionsBuilder opciones = new OptionsBuilder()
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(archivo);
+        for (String patron : patrones) {
+            opciones.include(patron);
+        }
+        new Runner(opciones.build()).run();
+    }
+
+    /**
+     * Imprime la variacion de cada fila comun a los dos archivos.
+     *
+     * @return cantidad de filas que empeoraron mas que el umbral
+     */
+    public static int comparar(Path base, Path nuevo, double umbral) throws IOException {
+        Map<String, Double> antes = leer(base);
+        Map<String, Double> despues = leer(nuevo);
+
+        int regresiones = 0;
+        for (Map.Entry<String, Double> fila : despues.entrySet()) {
+            Double anterior = antes.get(fila.getKey());
+            if (anterior == null || anterior == 0) {
+                continue;
+            }
+            // Todas las metricas comparadas son "menor es mejor"
+            double cambio = (fila.getValue() - anterior) / anterior;
+            boolean empeoro = cambio > umbral;
+            if (empeoro) {
+                regresiones++;
+            }
+            System.out.printf(Locale.ROOT, "%s %+7.1f%%  %s%n",
+                    empeoro ? "REGRESION" : "         ", cambio * 100, fila.getKey());
+        }
+        for (String clave : antes.keySet()) {
+            if (!despues.containsKey(clave)) {
+                System.out.println("FALTA      " + clave);
+            }
+        }
+        System.out.println(regresiones + " regresion(es) con umbral " + umbral + ".");
+        return regresiones;
+    }
+
+    /**
+     * Lee un CSV de JMH: clave = benchmark + parametros, valor = Score.
+     */
+    private static Map<String, Double> leer(Path archivo) throws IOException {
+        List<String> lineas = Files.readAllLines(archivo, StandardCharsets.UTF_8);
+        if (lineas.isEmpty()) {
+            throw new IllegalArgumentException("El archivo " + archivo + " esta vacio.");
+        }
+        List<String> encabezado = columnas(lineas.get(0));
+        int colBenchmark = encabezado.indexOf("Benchmark");
+        int colScore = encabezado.indexOf("Score");
+        if (colBenchmark < 0 || colScore < 0) {
+            throw new IllegalArgumentException("El archivo " + archivo + " no es un CSV de JMH.");
+        }
+
+        Map<String, Double> filas = new LinkedHashMap<>();
+        for (String linea : lineas.subList(1, lineas.size())) {
+            List<String> c = columnas(linea);
+            String benchmark = c.get(colBenchmark);
+            if (benchmark.contains(":") && !esMetricaComparada(benchmark)) {
+                continue;
+            }
+            StringBuilder clave = new StringBuilder(benchmark);
+            for (int i = 0; i < encabezado.size(); i++) {
+                if (encabezado.get(i).startsWith("Param: ") && i < c.size() && !c.get(i).isEmpty()) {
+                    clave.append(' ').append(encabezado.get(i).substring(7)).append('=').append(c.get(i));
+                }
+            }
+            filas.put(clave.toString(), Double.parseDouble(c.get(colScore)));
+        }
+        return filas;
+    }
+
+    private static boolean esMetricaComparada(String benchmark) {
+        for (String metrica : METRICAS_GC) {
+            if (benchmark.endsWith(":" + metrica)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Separa una linea CSV respetando las comillas dobles.
+     */
+    private static List<String> columnas(String linea) {
+        List<String> c = new ArrayList<>();
+        StringBuilder actual = new StringBuilder();
+        boolean entreComillas = false;
+        for (int i = 0; i < linea.length(); i++) {
+            char ch = linea.charAt(i);
+            if (ch == '"') {
+                entreComillas = !entreComillas;
+            } else if (ch == ',' && !entreComillas) {
+                c.add(actual.toString());
+                actual.setLength(0);
+            } else {
+                actual.append(ch);
+            }
+        }
+        c.add(actual.toString());
+        return c;
+    }
+}
@@ -0,0 +1,122 @@
+package com.appciencias.bench;
+
+import com.appciencias.algorithms.Indices;
+import com.appciencias.algorithms.MotorIndices;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compara los accesos de MotorIndices con los de Indices.calcular.
+ *
+ *   ValidarIndices [r...]
+ *
+ * Para cada r (por defecto 10k, 100k y 1M) y cada tipo de indice carga r
+ * claves de Claves con B = 4096, R = 128 y Ri = 20 (8 caracteres de 2 bytes
+ * + puntero de 4), busca CONSULTAS claves presentes y otras tantas ausentes y
+ * verifica:
+ *   - que los bloques por nivel coincidan con los calculados;
+ *   - multinivel: que toda busqueda exitosa lea exactamente niveles + 1
+ *     bloques;
+ *   - un nivel: que ninguna pase de floor(log2(bi)) + 2, el peor caso de la
+ *     busqueda binaria sobre bi bloques mas el de datos (la formula
+ *     ceil(log2(bi)) + 1 lo subestima en uno cuando bi es potencia de 2).
+ *
+ * Termina con codigo 1 si algo no coincide.
+ */
+public final class ValidarIndices {
+
+    private static final int B = 4096;
+    private static final int R = 128;
+    private static final int RI = 20;
+    private static final int CONSULTAS = 20_000;
+
+    private ValidarIndices() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int[] tamaños = args.length == 0 ? new int[]{10_000, 100_000, 1_000_000}
+                : Arrays.stream(args).mapToInt(Integer::parseInt).toArray();
+        Path directorio = Files.createTempDirectory("indices");
+        int errores = 0;
+        try {
+            for (int r : tamaños) {
+                String[] todas = Claves.generar(r + CONSULTAS, Claves.Distribucion.UNIFORME);
+                List<String> presentes = Arrays.asList(todas).subList(0, r);
+                List<String> ausentes = Arrays.asList(todas).subList(r, todas.length);
+                Random azar = new Random(r);
+                String[] consultas = new String[CONSULTAS];
+                for (int i = 0; i < CONSULTAS; i++) {
+                    consultas[i] = presentes.get(azar.nextInt(r));
+                }
+                for (MotorIndices.Tipo tipo : MotorIndices.Tipo.values()) {
+                    errores += validar(tipo, r, presentes, Arrays.asList(consultas), ausentes, directorio);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(directorio.resolve("datos.pag"));
+            Files.deleteIfExists(directorio.resolve("indice.pag"));
+            Files.deleteIfExists(directorio);
+        }
+        System.out.println(errores == 0 ? "OK" : errores + " errores");
+        System.exit(errores == 0 ? 0 : 1);
+    }
+
+    private static int validar(MotorIndices.Tipo tipo, int r, List<String> presentes,
+            List<String> consultas, List<String> ausentes, Path directorio) {
+        int errores = 0;
+        try (MotorIndices m = new MotorIndices(tipo, B, R, RI, Claves.LONGITUD,
+                directorio.resolve("datos.pag"), directorio.resolve("indice.pag"))) {
+            m.cargar(presentes);
+            Indices.Resultado p = m.prediccion();
+            boolean multinivel = tipo == MotorIndices.Tipo.MULTINIVEL_PRIMARIO
+                    || tipo == MotorIndices.Tipo.MULTINIVEL_SECUNDARIO;
+            boolean primario = tipo == MotorIndices.Tipo.PRIMARIO
+                    || tipo == MotorIndices.Tipo.MULTINIVEL_PRIMARIO;
+
+            long[] esperados = multinivel
+                    ? (primario ? p.bloquesPorNivel_primario : p.bloquesPorNivel_secundario)
+                    : new long[]{primario ? p.bi_primario : p.bi_secundario};
+            if (!Arrays.equals(esperados, m.getBloquesPorNivel()) || m.getBloquesDatos() != p.b) {
+                System.out.println("  bloques: medidos " + Arrays.toString(m.getBloquesPorNivel())
+                        + " b=" + m.getBloquesDatos() + ", calculados " + Arrays.toString(esperados)
+                        + " b=" + p.b);
+                errores++;
+            }
+
+            for (String clave : consultas) {
+                if (!m.buscar(clave).encontrada) {
+                    System.out.println("  no encontro la clave presente '" + clave + "'");
+                    errores++;
+                    break;
+                }
+            }
+            for (String clave : ausentes) {
+                if (m.buscar(clave).encontrada) {
+                    System.out.println("  encontro la clave ausente '" + clave + "'");
+                    errores++;
+                    break;
+                }
+            }
+            MotorIndices.Medicion exitosas = m.medir(consultas);
+            MotorIndices.Medicion fallidas = m.medir(ausentes);
+
+            long bi = esperados[0];
+            int cota = multinivel ? m.getAccesosPredichos()
+                    : 63 - Long.numberOfLeadingZeros(bi) + 2;
+            boolean ok = multinivel
+                    ? exitosas.maximo == cota && exitosas.promedio == cota
+                    : exitosas.maximo <= cota;
+            if (!ok) {
+                errores++;
+            }
+            System.out.printf("r=%-8d %-22s niveles=%d %s | exitosas: %s | fallidas: promedio %.2f%s%n",
+                    r, tipo, m.getNiveles(), Arrays.toString(m.getBloquesPorNivel()), exitosas,
+                    fallidas.promedio, ok ? "" : "  ERROR (cota " + cota + ")");
+        }
+        return errores;
+    }
+}
@@ -0,0 +1,203 @@
+package com.appciencias.algorithms;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Bloques de SecuencialExterno y BinarioExterno, en memoria o en un
+ * ArchivoPaginado.
+ *
+ * Los bloques se numeran 0 .. cantidad()-1 en orden logico. leer devuelve las
+ * claves del bloque y escribir las guarda:
+ * - En memoria leer devuelve la lista misma, asi que escribir no hace nada.
+ * - En archivo cada leer/escribir es una pagina leida/escrita. Un directorio
+ *   en memoria traduce bloque logico -> pagina, y guarda cuantas claves tiene
+ *   cada pagina y su ultima clave (la cabecera del archivo), asi usados y
+ *   ultima no leen el bloque.
+ */
+abstract class AlmacenBloques implements Closeable {
+
+    abstract int cantidad();
+
+    abstract int usados(int b);
+
+    /**
+     * Ultima clave del bloque, null si esta vacio.
+     */
+    abstract String ultima(int b);
+
+    abstract ArrayList<String> leer(int b);
+
+    abstract void escribir(int b, ArrayList<String> claves);
+
+    /**
+     * Agrega un bloque vacio en la posicion b (los siguientes se corren).
+     */
+    abstract void insertarBloque(int b);
+
+    abstract void quitarBloque(int b);
+
+    long getLecturas() {
+        return 0;
+    }
+
+    long getEscrituras() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    static AlmacenBloques enMemoria(int bloques) {
+        return new EnMemoria(bloques);
+    }
+
+    /**
+     * @param capacidad registros por pagina (TB)
+     * @param pool pool de paginas, o null
+     */
+    static AlmacenBloques enArchivo(Path ruta, int bloques, int capacidad, int longClave,
+            PoolPaginas pool) {
+        return new EnArchivo(ruta, bloques, capacidad, longClave, pool);
+    }
+
+    private static final class EnMemoria extends AlmacenBloques {
+
+        private final ArrayList<ArrayList<String>> bloques = new ArrayList<>();
+
+        EnMemoria(int cantidad) {
+            for (int i = 0; i < cantidad; i++) {
+                bloques.add(new ArrayList<>());
+            }
+        }
+
+        @Override
+        int cantidad() {
+            return bloques.size();
+        }
+
+        @Override
+        int usados(int b) {
+            return bloques.get(b).size();
+        }
+
+        @Override
+        String ultima(int b) {
+            ArrayList<String> bloque = bloques.get(b);
+            return bloque.isEmpty() ? null : bloque.get(bloque.size() - 1);
+        }
+
+        @Override
+        ArrayList<String> leer(int b) {
+            return bloques.get(b);
+        }
+
+        @Override
+        void escribir(int b, ArrayList<String> claves) {
+            if (bloques.get(b) != claves) {
+                bloques.set(b, claves);
+            }
+        }
+
+        @Override
+        void insertarBloque(int b) {
+            bloques.add(b, new ArrayList<>());
+        }
+
+        @Override
+        void quitarBloque(int b) {
+            bloques.remove(b);
+        }
+    }
+
+    private static final class EnArchivo extends AlmacenBloques {
+
+        private final ArchivoPaginado archivo;
+        private int[] paginas;
+        private int[] usados;
+        private String[] ultimas;
+        private int cantidad;
+
+        EnArchivo(Path ruta, int cantidad, int capacidad, int longClave, PoolPaginas pool) {
+            this.archivo = new ArchivoPaginado(ruta, capacidad, longClave, pool);
+            int inicial = Math.max(1, cantidad);
+            this.paginas = new int[inicial];
+            this.usados = new int[inicial];
+            this.ultimas = new String[inicial];
+            for (int i = 0; i < cantidad; i++) {
+                insertarBloque(i);
+            }
+        }
+
+        @Override
+        int cantidad() {
+            return cantidad;
+        }
+
+        @Override
+        int usados(int b) {
+            return usados[b];
+        }
+
+        @Override
+        String ultima(int b) {
+            return ultimas[b];
+        }
+
+        @Override
+        ArrayList<String> leer(int b) {
+            return archivo.leer(paginas[b]).claves;
+        }
+
+        @Override
+        void escribir(int b, ArrayList<String> claves) {
+            archivo.escribir(paginas[b], claves, ArchivoPaginado.SIN_SIGUIENTE);
+            usados[b] = claves.size();
+            ultimas[b] = claves.isEmpty() ? null : claves.get(claves.size() - 1);
+        }
+
+        @Override
+        void insertarBloque(int b) {
+            if (cantidad == paginas.length) {
+                paginas = Arrays.copyOf(paginas, 2 * cantidad);
+                usados = Arrays.copyOf(usados, 2 * cantidad);
+                ultimas = Arrays.copyOf(ultimas, 2 * cantidad);
+            }
+            System.arraycopy(paginas, b, paginas, b + 1, cantidad - b);
+            System.arraycopy(usados, b, usados, b + 1, cantidad - b);
+            System.arraycopy(ultimas, b, ultimas, b + 1, cantidad - b);
+            paginas[b] = archivo.agregarPagina();
+            usados[b] = 0;
+            ultimas[b] = null;
+            cantidad++;
+        }
+
+        @Override
+        void quitarBloque(int b) {
+            archivo.liberarPagina(paginas[b]);
+            System.arraycopy(paginas, b + 1, paginas, b, cantidad - b - 1);
+            System.arraycopy(usados, b + 1, usados, b, cantidad - b - 1);
+            System.arraycopy(ultimas, b + 1, ultimas, b, cantidad - b - 1);
+            cantidad--;
+            ultimas[cantidad] = null;
+        }
+
+        @Override
+        long getLecturas() {
+            return archivo.getLecturas();
+        }
+
+        @Override
+        long getEscrituras() {
+            return archivo.getEscrituras();
+        }
+
+        @Override
+        public void close() {
+            archivo.close();
+        }
+    }
+}
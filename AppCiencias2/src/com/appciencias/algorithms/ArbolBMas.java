@@ -0,0 +1,636 @@
+package com.appciencias.algorithms;
+
+import com.appciencias.models.ClaveUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arbol B+ con la capacidad de los nodos sacada de los mismos parametros que
+ * Indices:
+ *   hojas:    bfr  = floor(B / R)  claves
+ *   internos: bfri = floor(B / Ri) hijos (fanout), bfri - 1 separadores
+ *
+ * Las claves viven solo en las hojas, enlazadas en orden en las dos
+ * direcciones. En un interno separadores[i] es <= toda clave de hijos[i + 1]
+ * y > toda clave de hijos[i].
+ *
+ * Salvo la raiz, cada hoja tiene al menos ceil(bfr/2) claves y cada interno
+ * al menos ceil(bfri/2) hijos. Insertar divide el nodo que se pasa de
+ * capacidad y sube el separador; eliminar le pide una clave (o un hijo) a un
+ * hermano con sobrante o lo une con uno, y si la raiz queda con un solo hijo
+ * se quita. cargarOrdenado arma el arbol de abajo hacia arriba a partir de
+ * claves ordenadas, O(n).
+ *
+ * Cada nodo tocado por una operacion cuenta como un acceso (un bloque leido o
+ * escrito): getAccesos da los de la ultima operacion. Buscar cuesta altura
+ * accesos y rango suma las hojas que recorre.
+ */
+public class ArbolBMas {
+
+    private abstract static class Nodo {
+
+        final String[] claves;
+        int n; // claves en una hoja, hijos en un interno
+
+        Nodo(int capacidad) {
+            this.claves = new String[capacidad];
+        }
+    }
+
+    private static final class Hoja extends Nodo {
+
+        Hoja anterior;
+        Hoja siguiente;
+
+        Hoja(int bfr) {
+            super(bfr + 1); // una de mas para el desborde antes de dividir
+        }
+    }
+
+    private static final class Interno extends Nodo {
+
+        final Nodo[] hijos;
+
+        Interno(int bfri) {
+            super(bfri);
+            this.hijos = new Nodo[bfri + 1];
+        }
+    }
+
+    private final int B;
+    private final int R;
+    private final int Ri;
+    private final int bfr;
+    private final int bfri;
+    private final int minHoja;
+    private final int minHijos;
+    private final int longClave;
+
+    private Nodo raiz;
+    private Hoja primera;
+    private int contador;
+    private int altura;
+
+    private int accesos;          // de la ultima operacion
+    private long accesosTotales;
+    private String separadorSubido; // lo deja la division para el padre
+
+    /**
+     * @param B Tamaño del bloque (nodo) en bytes.
+     * @param R Longitud del registro dato en bytes.
+     * @param Ri Longitud del registro indice (separador + puntero) en bytes.
+     * @param longClave Caracteres por clave.
+     */
+    public ArbolBMas(int B, int R, int Ri, int longClave) {
+        if (longClave <= 0) {
+            throw new IllegalArgumentException("La longitud de clave debe ser mayor que 0.");
+        }
+        // Mismas validaciones y factores que el calculo teorico
+        Indices.Resultado base = Indices.calcular(1, B, R, Ri);
+        if (base.bfri < 3) {
+            throw new IllegalArgumentException("bfri = floor(B/Ri) debe ser al menos 3.");
+        }
+        this.B = B;
+        this.R = R;
+        this.Ri = Ri;
+        this.bfr = base.bfr;
+        this.bfri = base.bfri;
+        this.minHoja = (bfr + 1) / 2;
+        this.minHijos = (bfri + 1) / 2;
+        this.longClave = longClave;
+        vaciar();
+    }
+
+    private void vaciar() {
+        primera = new Hoja(bfr);
+        raiz = primera;
+        contador = 0;
+        altura = 1;
+    }
+
+    // =====================================================================
+    //  BUSQUEDA
+    // =====================================================================
+
+    public boolean buscar(String clave) {
+        accesos = 0;
+        if (clave == null) {
+            return false;
+        }
+        Hoja h = hojaDe(clave);
+        int p = posicion(h, clave);
+        accesosTotales += accesos;
+        return p < h.n && h.claves[p].equals(clave);
+    }
+
+    /**
+     * Claves en [desde, hasta], en orden. Baja una vez hasta la hoja de desde
+     * y sigue la lista de hojas.
+     */
+    public ArrayList<String> rango(String desde, String hasta) {
+        if (desde == null || hasta == null) {
+            throw new IllegalArgumentException("Los extremos del rango son obligatorios.");
+        }
+        accesos = 0;
+        ArrayList<String> lista = new ArrayList<>();
+        if (desde.compareTo(hasta) <= 0) {
+            Hoja h = hojaDe(desde);
+            int p = posicion(h, desde);
+            recorrer:
+            while (true) {
+                for (; p < h.n; p++) {
+                    if (h.claves[p].compareTo(hasta) > 0) {
+                        break recorrer;
+                    }
+                    lista.add(h.claves[p]);
+                }
+                h = h.siguiente;
+                if (h == null) {
+                    break;
+                }
+                accesos++;
+                p = 0;
+            }
+        }
+        accesosTotales += accesos;
+        return lista;
+    }
+
+    /**
+     * Hoja donde esta (o iria) la clave; cuenta un acceso por nivel.
+     */
+    private Hoja hojaDe(String clave) {
+        Nodo nodo = raiz;
+        accesos++;
+        while (nodo instanceof Interno) {
+            Interno in = (Interno) nodo;
+            nodo = in.hijos[hijoPara(in, clave)];
+            accesos++;
+        }
+        return (Hoja) nodo;
+    }
+
+    /**
+     * Hijo que cubre la clave: el primer separador mayor que ella.
+     */
+    private static int hijoPara(Interno in, String clave) {
+        int izq = 0, der = in.n - 1;
+        while (izq < der) {
+            int mid = (izq + der) >>> 1;
+            if (in.claves[mid].compareTo(clave) <= 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        return izq;
+    }
+
+    /**
+     * Primera posicion de la hoja con clave >= la dada.
+     */
+    private static int posicion(Hoja h, String clave) {
+        int izq = 0, der = h.n;
+        while (izq < der) {
+            int mid = (izq + der) >>> 1;
+            if (h.claves[mid].compareTo(clave) < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        return izq;
+    }
+
+    // =====================================================================
+    //  INSERCION
+    // =====================================================================
+
+    /**
+     * @throws IllegalStateException si la clave ya existe
+     * @throws IllegalArgumentException si la clave tiene longitud incorrecta
+     */
+    public void insertar(String clave) {
+        ClaveUtil.validar(clave, longClave);
+        accesos = 0;
+        Nodo nuevo = insertarEn(raiz, clave);
+        if (nuevo != null) {
+            Interno r = new Interno(bfri);
+            r.hijos[0] = raiz;
+            r.hijos[1] = nuevo;
+            r.claves[0] = separadorSubido;
+            r.n = 2;
+            raiz = r;
+            altura++;
+            accesos++;
+        }
+        contador++;
+        accesosTotales += accesos;
+    }
+
+    /**
+     * Inserta en el subarbol. Si el nodo se divide devuelve el nuevo hermano
+     * derecho y deja su primera clave en separadorSubido.
+     */
+    private Nodo insertarEn(Nodo nodo, String clave) {
+        accesos++;
+        if (nodo instanceof Hoja) {
+            Hoja h = (Hoja) nodo;
+            int p = posicion(h, clave);
+            if (p < h.n && h.claves[p].equals(clave)) {
+                throw new IllegalStateException("La clave '" + clave + "' ya existe.");
+            }
+            System.arraycopy(h.claves, p, h.claves, p + 1, h.n - p);
+            h.claves[p] = clave;
+            h.n++;
+            return h.n > bfr ? dividirHoja(h) : null;
+        }
+        Interno in = (Interno) nodo;
+        int i = hijoPara(in, clave);
+        Nodo nuevo = insertarEn(in.hijos[i], clave);
+        if (nuevo == null) {
+            return null;
+        }
+        System.arraycopy(in.claves, i, in.claves, i + 1, in.n - 1 - i);
+        in.claves[i] = separadorSubido;
+        System.arraycopy(in.hijos, i + 1, in.hijos, i + 2, in.n - 1 - i);
+        in.hijos[i + 1] = nuevo;
+        in.n++;
+        return in.n > bfri ? dividirInterno(in) : null;
+    }
+
+    private Hoja dividirHoja(Hoja h) {
+        int quedan = (h.n + 1) / 2;
+        Hoja d = new Hoja(bfr);
+        d.n = h.n - quedan;
+        System.arraycopy(h.claves, quedan, d.claves, 0, d.n);
+        Arrays.fill(h.claves, quedan, h.n, null);
+        h.n = quedan;
+
+        d.siguiente = h.siguiente;
+        if (d.siguiente != null) {
+            d.siguiente.anterior = d;
+        }
+        d.anterior = h;
+        h.siguiente = d;
+        separadorSubido = d.claves[0];
+        accesos++;
+        return d;
+    }
+
+    private Interno dividirInterno(Interno in) {
+        int quedan = (in.n + 1) / 2; // hijos que quedan a la izquierda
+        Interno d = new Interno(bfri);
+        d.n = in.n - quedan;
+        System.arraycopy(in.hijos, quedan, d.hijos, 0, d.n);
+        System.arraycopy(in.claves, quedan, d.claves, 0, d.n - 1);
+        separadorSubido = in.claves[quedan - 1];
+        Arrays.fill(in.hijos, quedan, in.n, null);
+        Arrays.fill(in.claves, quedan - 1, in.n - 1, null);
+        in.n = quedan;
+        accesos++;
+        return d;
+    }
+
+    // =====================================================================
+    //  ELIMINACION
+    // =====================================================================
+
+    /**
+     * @throws IllegalArgumentException si la clave no existe o tiene longitud
+     * incorrecta
+     */
+    public void eliminar(String clave) {
+        ClaveUtil.validar(clave, longClave);
+        accesos = 0;
+        eliminarDe(raiz, clave);
+        if (raiz instanceof Interno && raiz.n == 1) {
+            raiz = ((Interno) raiz).hijos[0];
+            altura--;
+        }
+        contador--;
+        accesosTotales += accesos;
+    }
+
+    /**
+     * @return true si el nodo quedo por debajo del minimo
+     */
+    private boolean eliminarDe(Nodo nodo, String clave) {
+        accesos++;
+        if (nodo instanceof Hoja) {
+            Hoja h = (Hoja) nodo;
+            int p = posicion(h, clave);
+            if (p == h.n || !h.claves[p].equals(clave)) {
+                throw new IllegalArgumentException("La clave '" + clave + "' no existe.");
+            }
+            System.arraycopy(h.claves, p + 1, h.claves, p, h.n - p - 1);
+            h.claves[--h.n] = null;
+            return h.n < minHoja;
+        }
+        Interno in = (Interno) nodo;
+        int i = hijoPara(in, clave);
+        if (!eliminarDe(in.hijos[i], clave)) {
+            return false;
+        }
+        rebalancear(in, i);
+        return in.n < minHijos;
+    }
+
+    /**
+     * El hijo i quedo por debajo del minimo: le pide a un hermano con
+     * sobrante o lo une con uno.
+     */
+    private void rebalancear(Interno padre, int i) {
+        int minimo = padre.hijos[i] instanceof Hoja ? minHoja : minHijos;
+        if (i > 0) {
+            accesos++;
+            if (padre.hijos[i - 1].n > minimo) {
+                prestarDeIzquierda(padre, i);
+                return;
+            }
+        }
+        if (i + 1 < padre.n) {
+            accesos++;
+            if (padre.hijos[i + 1].n > minimo) {
+                prestarDeDerecha(padre, i);
+                return;
+            }
+        }
+        unir(padre, i > 0 ? i - 1 : i);
+    }
+
+    private void prestarDeIzquierda(Interno padre, int i) {
+        Nodo h = padre.hijos[i];
+        Nodo izq = padre.hijos[i - 1];
+        if (h instanceof Hoja) {
+            System.arraycopy(h.claves, 0, h.claves, 1, h.n);
+            h.claves[0] = izq.claves[izq.n - 1];
+            izq.claves[--izq.n] = null;
+            h.n++;
+            padre.claves[i - 1] = h.claves[0];
+            return;
+        }
+        Interno hi = (Interno) h;
+        Interno ii = (Interno) izq;
+        System.arraycopy(hi.claves, 0, hi.claves, 1, hi.n - 1);
+        System.arraycopy(hi.hijos, 0, hi.hijos, 1, hi.n);
+        hi.hijos[0] = ii.hijos[ii.n - 1];
+        hi.claves[0] = padre.claves[i - 1];
+        padre.claves[i - 1] = ii.claves[ii.n - 2];
+        ii.hijos[ii.n - 1] = null;
+        ii.claves[ii.n - 2] = null;
+        ii.n--;
+        hi.n++;
+    }
+
+    private void prestarDeDerecha(Interno padre, int i) {
+        Nodo h = padre.hijos[i];
+        Nodo der = padre.hijos[i + 1];
+        if (h instanceof Hoja) {
+            h.claves[h.n++] = der.claves[0];
+            System.arraycopy(der.claves, 1, der.claves, 0, der.n - 1);
+            der.claves[--der.n] = null;
+            padre.claves[i] = der.claves[0];
+            return;
+        }
+        Interno hi = (Interno) h;
+        Interno di = (Interno) der;
+        hi.claves[hi.n - 1] = padre.claves[i];
+        hi.hijos[hi.n] = di.hijos[0];
+        hi.n++;
+        padre.claves[i] = di.claves[0];
+        System.arraycopy(di.claves, 1, di.claves, 0, di.n - 2);
+        System.arraycopy(di.hijos, 1, di.hijos, 0, di.n - 1);
+        di.claves[di.n - 2] = null;
+        di.hijos[di.n - 1] = null;
+        di.n--;
+    }
+
+    /**
+     * Une hijos[j + 1] dentro de hijos[j] y quita el separador entre ellos.
+     */
+    private void unir(Interno padre, int j) {
+        Nodo a = padre.hijos[j];
+        Nodo c = padre.hijos[j + 1];
+        if (a instanceof Hoja) {
+            Hoja ha = (Hoja) a;
+            Hoja hc = (Hoja) c;
+            System.arraycopy(hc.claves, 0, ha.claves, ha.n, hc.n);
+            ha.n += hc.n;
+            ha.siguiente = hc.siguiente;
+            if (ha.siguiente != null) {
+                ha.siguiente.anterior = ha;
+            }
+        } else {
+            Interno ia = (Interno) a;
+            Interno ic = (Interno) c;
+            ia.claves[ia.n - 1] = padre.claves[j];
+            System.arraycopy(ic.claves, 0, ia.claves, ia.n, ic.n - 1);
+            System.arraycopy(ic.hijos, 0, ia.hijos, ia.n, ic.n);
+            ia.n += ic.n;
+        }
+        System.arraycopy(padre.claves, j + 1, padre.claves, j, padre.n - 2 - j);
+        padre.claves[padre.n - 2] = null;
+        System.arraycopy(padre.hijos, j + 2, padre.hijos, j + 1, padre.n - 2 - j);
+        padre.hijos[padre.n - 1] = null;
+        padre.n--;
+    }
+
+    // =====================================================================
+    //  CARGA MASIVA
+    // =====================================================================
+
+    /**
+     * Arma el arbol desde claves ordenadas, de abajo hacia arriba: llena las
+     * hojas hasta llenado * bfr, y cada nivel de internos hasta llenado *
+     * bfri hijos (nunca por debajo del minimo), sin divisiones. Con llenado <
+     * 1 las siguientes inserciones tienen lugar sin dividir enseguida.
+     *
+     * @param llenado Fraccion de cada nodo a ocupar, en (0, 1].
+     * @throws IllegalStateException si el arbol no esta vacio
+     * @throws IllegalArgumentException si las claves no vienen ordenadas y
+     * sin repetir o alguna tiene longitud incorrecta
+     */
+    public void cargarOrdenado(List<String> claves, double llenado) {
+        if (contador > 0) {
+            throw new IllegalStateException("El arbol no esta vacio.");
+        }
+        if (llenado <= 0 || llenado > 1) {
+            throw new IllegalArgumentException("El factor de llenado debe estar en (0, 1].");
+        }
+        for (int i = 0; i < claves.size(); i++) {
+            ClaveUtil.validar(claves.get(i), longClave);
+            if (i > 0 && claves.get(i - 1).compareTo(claves.get(i)) >= 0) {
+                throw new IllegalArgumentException("Las claves deben venir ordenadas y sin repetir.");
+            }
+        }
+        accesos = 0;
+        if (claves.isEmpty()) {
+            return;
+        }
+
+        ArrayList<Nodo> nivel = new ArrayList<>();
+        ArrayList<String> primeras = new ArrayList<>(); // menor clave de cada nodo
+        Hoja anterior = null;
+        for (int[] t : tramos(claves.size(), porNodo(llenado, bfr, minHoja), minHoja, bfr)) {
+            Hoja h = new Hoja(bfr);
+            for (int k = t[0]; k < t[1]; k++) {
+                h.claves[h.n++] = claves.get(k);
+            }
+            h.anterior = anterior;
+            if (anterior != null) {
+                anterior.siguiente = h;
+            }
+            anterior = h;
+            nivel.add(h);
+            primeras.add(h.claves[0]);
+            accesos++;
+        }
+        primera = (Hoja) nivel.get(0);
+        altura = 1;
+
+        while (nivel.size() > 1) {
+            ArrayList<Nodo> arriba = new ArrayList<>();
+            ArrayList<String> primerasArriba = new ArrayList<>();
+            for (int[] t : tramos(nivel.size(), porNodo(llenado, bfri, minHijos), minHijos, bfri)) {
+                Interno in = new Interno(bfri);
+                for (int k = t[0]; k < t[1]; k++) {
+                    if (k > t[0]) {
+                        in.claves[in.n - 1] = primeras.get(k);
+                    }
+                    in.hijos[in.n++] = nivel.get(k);
+                }
+                arriba.add(in);
+                primerasArriba.add(primeras.get(t[0]));
+                accesos++;
+            }
+            nivel = arriba;
+            primeras = primerasArriba;
+            altura++;
+        }
+        raiz = nivel.get(0);
+        contador = claves.size();
+        accesosTotales += accesos;
+    }
+
+    private static int porNodo(double llenado, int capacidad, int minimo) {
+        return Math.max(minimo, Math.min(capacidad, (int) (llenado * capacidad)));
+    }
+
+    /**
+     * Parte 0..total en tramos [desde, hasta) de porNodo elementos. Si el
+     * ultimo queda por debajo del minimo se junta con el anterior (o se
+     * reparten los dos a medias si no entran en uno).
+     */
+    private static ArrayList<int[]> tramos(int total, int porNodo, int minimo, int capacidad) {
+        ArrayList<int[]> lista = new ArrayList<>();
+        for (int desde = 0; desde < total; desde += porNodo) {
+            lista.add(new int[]{desde, Math.min(desde + porNodo, total)});
+        }
+        int u = lista.size() - 1;
+        if (u > 0 && lista.get(u)[1] - lista.get(u)[0] < minimo) {
+            int desde = lista.get(u - 1)[0];
+            int juntos = total - desde;
+            lista.remove(u);
+            lista.remove(u - 1);
+            if (juntos <= capacidad) {
+                lista.add(new int[]{desde, total});
+            } else {
+                lista.add(new int[]{desde, desde + juntos / 2});
+                lista.add(new int[]{desde + juntos / 2, total});
+            }
+        }
+        return lista;
+    }
+
+    // =====================================================================
+    //  DATOS
+    // =====================================================================
+
+    /**
+     * Todas las claves en orden (recorre la lista de hojas).
+     */
+    public ArrayList<String> obtenerClaves() {
+        ArrayList<String> lista = new ArrayList<>(contador);
+        for (Hoja h = primera; h != null; h = h.siguiente) {
+            for (int i = 0; i < h.n; i++) {
+                lista.add(h.claves[i]);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Nodos por nivel desde la raiz: de cada nodo, sus claves (hojas) o
+     * separadores (internos).
+     */
+    public ArrayList<ArrayList<ArrayList<String>>> obtenerNiveles() {
+        ArrayList<ArrayList<ArrayList<String>>> niveles = new ArrayList<>();
+        ArrayList<Nodo> nivel = new ArrayList<>();
+        nivel.add(raiz);
+        while (!nivel.isEmpty()) {
+            ArrayList<ArrayList<String>> fila = new ArrayList<>();
+            ArrayList<Nodo> abajo = new ArrayList<>();
+            for (Nodo nodo : nivel) {
+                int cantidad = nodo instanceof Hoja ? nodo.n : nodo.n - 1;
+                ArrayList<String> claves = new ArrayList<>();
+                for (int i = 0; i < cantidad; i++) {
+                    claves.add(nodo.claves[i]);
+                }
+                fila.add(claves);
+                if (nodo instanceof Interno) {
+                    for (int i = 0; i < nodo.n; i++) {
+                        abajo.add(((Interno) nodo).hijos[i]);
+                    }
+                }
+            }
+            niveles.add(fila);
+            nivel = abajo;
+        }
+        return niveles;
+    }
+
+    public String obtenerInfo() {
+        StringBuilder nodos = new StringBuilder();
+        for (ArrayList<ArrayList<String>> fila : obtenerNiveles()) {
+            nodos.append(nodos.length() == 0 ? "" : ", ").append(fila.size());
+        }
+        return "B=" + B + "  R=" + R + "  Ri=" + Ri + "  bfr=" + bfr + "  bfri=" + bfri
+                + "  Claves=" + contador + "  Altura=" + altura + "  Nodos por nivel=[" + nodos + "]";
+    }
+
+    public int getBfr() {
+        return bfr;
+    }
+
+    public int getBfri() {
+        return bfri;
+    }
+
+    public int getLongClave() {
+        return longClave;
+    }
+
+    public int getContador() {
+        return contador;
+    }
+
+    /**
+     * Niveles del arbol (1 = solo la raiz hoja).
+     */
+    public int getAltura() {
+        return altura;
+    }
+
+    /**
+     * Nodos tocados por la ultima operacion.
+     */
+    public int getAccesos() {
+        return accesos;
+    }
+
+    public long getAccesosTotales() {
+        return accesosTotales;
+    }
+}
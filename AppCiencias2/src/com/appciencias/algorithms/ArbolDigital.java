@@ -2,6 +2,8 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveArbol;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 
 /**
  * Arbol Digital
@@ -10,6 +12,11 @@ import java.util.ArrayList;
  * - Se convierte a su valor ASCII (8 bits binarios).
  * - Bit '1' = rama derecha, Bit '0' = rama izquierda.
  * - El arbol tiene hasta 8 niveles.
+ *
+ * Cada nodo se inserto despues que todos sus ancestros (orden). Al eliminar,
+ * la clave mas antigua de los dos hijos sube a ocupar el lugar y se repite
+ * hacia abajo hasta quitar una hoja: queda el mismo arbol que reinsertando
+ * las demas claves en su orden original, en O(bits).
  */
 public class ArbolDigital {
 
@@ -18,6 +25,7 @@ public class ArbolDigital {
             public String clave;
         public Nodo izquierda;
         public Nodo derecha;
+        int orden; // numero de insercion
 
         public Nodo(String clave) {
             this.clave = clave;
@@ -27,12 +35,13 @@ public class ArbolDigital {
     }
 
     private Nodo raiz;
-    private ArrayList<String> historial; // orden original de insercion
+    private LinkedHashSet<String> historial; // orden original de insercion
     private int contador;
+    private int siguienteOrden;
 
     public ArbolDigital() {
         this.raiz = null;
-        this.historial = new ArrayList<>();
+        this.historial = new LinkedHashSet<>();
         this.contador = 0;
     }
 
@@ -55,32 +64,52 @@ public class ArbolDigital {
         contador++;
     }
 
+    /**
+     * Inserta varias claves en el orden dado (el orden define la forma del
+     * arbol). Valida todas y busca repetidos con un HashSet antes de tocar el
+     * arbol, en lugar de recorrerlo por cada clave. Si alguna es invalida o
+     * repetida, no se inserta ninguna.
+     *
+     * @throws IllegalArgumentException si alguna clave no es valida
+     * @throws IllegalStateException si alguna clave ya existe
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        for (String clave : claves) {
+            ClaveArbol.validarASCII(clave);
+        }
+        CargaMasiva.sinRepetidos(historial, claves, " en el arbol");
+        for (String clave : claves) {
+            insertarEnArbol(clave);
+        }
+        historial.addAll(claves);
+        contador += claves.size();
+    }
+
     /**
      * Inserta fisicamente en el arbol sin tocar el historial. Usado tanto por
-     * insertar() como por reconstruir().
+     * insertar() como por cargarMasivo().
      */
     private void insertarEnArbol(String clave) {
-        String bits = ClaveArbol.claveABinarioASCII(clave);
+        char codigo = clave.charAt(0);
 
         // Arbol vacio, la clave va en la raiz
         if (raiz == null) {
-            raiz = new Nodo(clave);
+            raiz = nuevoNodo(clave);
             return;
         }
 
         // Recorrer bit a bit para insertar
         Nodo actual = raiz;
-        for (int i = 0; i < bits.length(); i++) {
-            char bit = bits.charAt(i);
-            if (bit == '1') {
+        for (int i = 0; i < ClaveArbol.BITS_ASCII; i++) {
+            if (ClaveArbol.bit(codigo, ClaveArbol.BITS_ASCII, i) == 1) {
                 if (actual.derecha == null) {
-                    actual.derecha = new Nodo(clave);
+                    actual.derecha = nuevoNodo(clave);
                     return;
                 }
                 actual = actual.derecha;
             } else {
                 if (actual.izquierda == null) {
-                    actual.izquierda = new Nodo(clave);
+                    actual.izquierda = nuevoNodo(clave);
                     return;
                 }
                 actual = actual.izquierda;
@@ -90,6 +119,12 @@ public class ArbolDigital {
                 "No se encontro posicion para '" + clave + "' (arbol lleno en esa rama).");
     }
 
+    private Nodo nuevoNodo(String clave) {
+        Nodo nodo = new Nodo(clave);
+        nodo.orden = siguienteOrden++;
+        return nodo;
+    }
+
     /**
      * Busca una letra en el arbol siguiendo sus bits.
      *
@@ -108,12 +143,12 @@ public class ArbolDigital {
             return true;
         }
 
-        String bits = ClaveArbol.claveABinarioASCII(clave);
+        char codigo = clave.charAt(0);
         Nodo actual = raiz;
 
-        for (int i = 0; i < bits.length(); i++) {
-            char bit = bits.charAt(i);
-            actual = (bit == '1') ? actual.derecha : actual.izquierda;
+        for (int i = 0; i < ClaveArbol.BITS_ASCII; i++) {
+            actual = ClaveArbol.bit(codigo, ClaveArbol.BITS_ASCII, i) == 1
+                    ? actual.derecha : actual.izquierda;
             if (actual == null) {
                 return false;
             }
@@ -125,11 +160,10 @@ public class ArbolDigital {
     }
 
     /**
-     * Elimina una clave y reestructura el arbol completo.
-     *
-     * Proceso: 1. Verificar que la clave existe. 2. Quitarla del historial de
-     * insercion. 3. Reconstruir el arbol desde cero con las claves restantes en
-     * el mismo orden original.
+     * Elimina una clave en su lugar: sube a su nodo la clave mas antigua de
+     * sus hijos y repite con el nodo de donde salio, hasta quitar una hoja.
+     * El arbol queda igual que reinsertando las claves restantes en el orden
+     * original.
      *
      * @throws IllegalArgumentException si la clave no existe
      */
@@ -142,16 +176,39 @@ public class ArbolDigital {
 
         historial.remove(clave);
         contador--;
-        reconstruir();
-    }
 
-    /**
-     * Reconstruye el arbol desde cero usando el historial actual.
-     */
-    private void reconstruir() {
-        raiz = null;
-        for (String c : historial) {
-            insertarEnArbol(c);
+        char codigo = clave.charAt(0);
+        Nodo padre = null;
+        Nodo actual = raiz;
+        for (int i = 0; !clave.equals(actual.clave); i++) {
+            padre = actual;
+            actual = ClaveArbol.bit(codigo, ClaveArbol.BITS_ASCII, i) == 1
+                    ? actual.derecha : actual.izquierda;
+        }
+
+        // Cada descendiente es mas nuevo que su ancestro: el mas antiguo del
+        // subarbol es uno de los dos hijos
+        while (actual.izquierda != null || actual.derecha != null) {
+            Nodo hijo;
+            if (actual.izquierda == null) {
+                hijo = actual.derecha;
+            } else if (actual.derecha == null) {
+                hijo = actual.izquierda;
+            } else {
+                hijo = actual.izquierda.orden < actual.derecha.orden ? actual.izquierda : actual.derecha;
+            }
+            actual.clave = hijo.clave;
+            actual.orden = hijo.orden;
+            padre = actual;
+            actual = hijo;
+        }
+
+        if (padre == null) {
+            raiz = null;
+        } else if (padre.izquierda == actual) {
+            padre.izquierda = null;
+        } else {
+            padre.derecha = null;
         }
     }
 
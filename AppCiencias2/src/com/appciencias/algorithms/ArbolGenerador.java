@@ -3,6 +3,7 @@ package com.appciencias.algorithms;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Arbol de Expansion Minima y Maxima usando el algoritmo de Kruskal.
@@ -108,7 +109,7 @@ public class ArbolGenerador {
     private static class UnionFind {
         private final HashMap<String, String> padre;
 
-        public UnionFind(ArrayList<String> vertices) {
+        public UnionFind(List<String> vertices) {
             padre = new HashMap<>();
             for (String v : vertices) {
                 padre.put(v, v); // cada vertice es su propio padre
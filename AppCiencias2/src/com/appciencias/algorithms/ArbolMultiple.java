@@ -2,6 +2,8 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveArbol;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 
 /**
  * Arbol multiple
@@ -9,6 +11,9 @@ import java.util.ArrayList;
  * Definicion de un m. Cada nodo tiene M = 2^m hijos. Los 5 bits de la clave se
  * agrupan de izquierda a derecha en grupos de m bits. Todos los datos quedan en
  * las hojas
+ *
+ * Un nodo (salvo la raiz) existe solo si debajo queda alguna clave: eliminar
+ * quita la hoja y los nodos que quedaron vacios en su camino, en O(niveles).
  */
 public class ArbolMultiple {
 
@@ -32,7 +37,7 @@ public class ArbolMultiple {
     private int M;          // 2^m
     private int niveles;
     private int[] bitsNivel;
-    private ArrayList<String> historial;  // orden original de insercion
+    private LinkedHashSet<String> historial;  // orden original de insercion
     private int contador;
 
     /**
@@ -45,14 +50,14 @@ public class ArbolMultiple {
         }
         this.m = m;
         this.M = (int) Math.pow(2, m);
-        this.historial = new ArrayList<>();
+        this.historial = new LinkedHashSet<>();
         this.contador = 0;
         calcularNiveles();
         this.raiz = crearNodo(0);
     }
 
     private void calcularNiveles() {
-        int totalBits = 5;
+        int totalBits = ClaveArbol.BITS_LETRA;
         int niv = (int) Math.ceil((double) totalBits / m);
         this.niveles = niv;
         this.bitsNivel = new int[niv];
@@ -86,19 +91,41 @@ public class ArbolMultiple {
         contador++;
     }
 
+    /**
+     * Inserta varias claves en el orden dado (el orden define la forma del
+     * arbol). Valida todas y busca repetidos con un HashSet antes de tocar el
+     * arbol, en lugar de recorrerlo por cada clave. Si alguna es invalida o
+     * repetida, no se inserta ninguna.
+     *
+     * @throws IllegalArgumentException si alguna clave no es valida
+     * @throws IllegalStateException si alguna clave ya existe
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        ArrayList<String> nuevas = new ArrayList<>(claves.size());
+        for (String clave : claves) {
+            ClaveArbol.validar(clave);
+            nuevas.add(clave.toUpperCase());
+        }
+        CargaMasiva.sinRepetidos(historial, nuevas, " en el arbol");
+        for (String clave : nuevas) {
+            insertarEnArbol(clave);
+        }
+        historial.addAll(nuevas);
+        contador += nuevas.size();
+    }
+
     /**
      * Inserta en el arbol sin tocar el historial
      */
     private void insertarEnArbol(String clave) {
-        String bits = ClaveArbol.claveABinario(clave);
+        int codigo = ClaveArbol.letraAPosicion(clave.charAt(0));
         Nodo actual = raiz;
         int bitPos = 0;
 
         for (int nivel = 0; nivel < niveles; nivel++) {
             int b = bitsNivel[nivel];
-            String grupo = bits.substring(bitPos, bitPos + b);
+            int indice = ClaveArbol.grupo(codigo, ClaveArbol.BITS_LETRA, bitPos, b);
             bitPos += b;
-            int indice = Integer.parseInt(grupo, 2);
 
             if (nivel == niveles - 1) {
                 if (actual.hijos[indice] == null) {
@@ -126,15 +153,14 @@ public class ArbolMultiple {
         ClaveArbol.validar(clave);
         clave = clave.toUpperCase();
 
-        String bits = ClaveArbol.claveABinario(clave);
+        int codigo = ClaveArbol.letraAPosicion(clave.charAt(0));
         Nodo actual = raiz;
         int bitPos = 0;
 
         for (int nivel = 0; nivel < niveles; nivel++) {
             int b = bitsNivel[nivel];
-            String grupo = bits.substring(bitPos, bitPos + b);
+            int indice = ClaveArbol.grupo(codigo, ClaveArbol.BITS_LETRA, bitPos, b);
             bitPos += b;
-            int indice = Integer.parseInt(grupo, 2);
 
             if (actual.hijos[indice] == null) {
                 return false;
@@ -149,11 +175,9 @@ public class ArbolMultiple {
     }
 
     /**
-     * Elimina una clave y rehace el arbol completo
-     *
-     * Proceso: 1. Verificar que la clave existe. 2. Quitarla del historial. 3.
-     * Reconstruir el arbol desde cero con las claves restantes en el mismo
-     * orden original.
+     * Elimina una clave en su lugar: quita su hoja y, hacia arriba, cada nodo
+     * que quedo sin hijos (nunca la raiz). El arbol queda igual que
+     * reinsertando las claves restantes.
      *
      * @throws IllegalArgumentException si la clave no existe
      */
@@ -167,17 +191,33 @@ public class ArbolMultiple {
 
         historial.remove(clave);
         contador--;
-        reconstruir();
+
+        int codigo = ClaveArbol.letraAPosicion(clave.charAt(0));
+        Nodo[] camino = new Nodo[niveles];
+        int[] indices = new int[niveles];
+        Nodo actual = raiz;
+        int bitPos = 0;
+        for (int nivel = 0; nivel < niveles; nivel++) {
+            int b = bitsNivel[nivel];
+            camino[nivel] = actual;
+            indices[nivel] = ClaveArbol.grupo(codigo, ClaveArbol.BITS_LETRA, bitPos, b);
+            bitPos += b;
+            actual = actual.hijos[indices[nivel]];
+        }
+
+        camino[niveles - 1].hijos[indices[niveles - 1]] = null;
+        for (int nivel = niveles - 1; nivel > 0 && vacio(camino[nivel]); nivel--) {
+            camino[nivel - 1].hijos[indices[nivel - 1]] = null;
+        }
     }
 
-    /**
-     * Reconstruye el arbol desde cero usando el historial actual
-     */
-    private void reconstruir() {
-        raiz = crearNodo(0);
-        for (String c : historial) {
-            insertarEnArbol(c);
+    private static boolean vacio(Nodo nodo) {
+        for (Nodo hijo : nodo.hijos) {
+            if (hijo != null) {
+                return false;
+            }
         }
+        return true;
     }
 
     /**
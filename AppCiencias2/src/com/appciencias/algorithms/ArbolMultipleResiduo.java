@@ -2,6 +2,8 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveArbol;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -13,6 +15,10 @@ import java.util.List;
  * como nodo de enlace, y cuando dos claves colisionan ambas se empujan al
  * siguiente nivel.
  *
+ * Un enlace (salvo la raíz) existe solo si debajo quedan dos claves o más,
+ * así la forma depende solo del conjunto de claves y eliminar trabaja en su
+ * lugar, en O(niveles).
+ *
  * Valores válidos de n: 1, 2, 4, 8 (divisores de 8 para simetría).
  */
 public class ArbolMultipleResiduo {
@@ -36,7 +42,7 @@ public class ArbolMultipleResiduo {
     private int n;           // bits por nivel
     private int M;           // 2^n hijos por nodo
     private int niveles;     // 8 / n
-    private ArrayList<String> historial;
+    private LinkedHashSet<String> historial;
     private int contador;
 
     /**
@@ -51,7 +57,7 @@ public class ArbolMultipleResiduo {
         this.M = (int) Math.pow(2, n);
         this.niveles = 8 / n;
         this.raiz = new Nodo(M);
-        this.historial = new ArrayList<>();
+        this.historial = new LinkedHashSet<>();
         this.contador = 0;
     }
 
@@ -78,20 +84,16 @@ public class ArbolMultipleResiduo {
      * Inserta físicamente en el árbol sin tocar el historial.
      */
     private void insertarEnArbol(String clave) {
-        String bits = ClaveArbol.claveABinario8Bits(clave);
-        insertarRecursivo(raiz, clave, bits, 0);
+        insertarRecursivo(raiz, clave, 0);
     }
 
-    private void insertarRecursivo(Nodo actual, String clave,
-            String bits, int nivel) {
+    private void insertarRecursivo(Nodo actual, String clave, int nivel) {
         if (nivel >= niveles) {
             throw new IllegalStateException(
                     "No se pudo insertar '" + clave + "': se agotaron los niveles.");
         }
 
-        int inicio = nivel * n;
-        String grupo = bits.substring(inicio, inicio + n);
-        int indice = Integer.parseInt(grupo, 2);
+        int indice = ClaveArbol.grupo(clave.charAt(0), ClaveArbol.BITS_8, nivel * n, n);
 
         if (actual.hijos[indice] == null) {
             // Posición vacía: crear nodo con dato
@@ -99,10 +101,10 @@ public class ArbolMultipleResiduo {
             actual.hijos[indice].clave = clave;
         } else if (actual.hijos[indice].esEnlace()) {
             // Nodo de enlace: seguir bajando
-            insertarRecursivo(actual.hijos[indice], clave, bits, nivel + 1);
+            insertarRecursivo(actual.hijos[indice], clave, nivel + 1);
         } else {
             // Colisión: convertir en enlace y bajar ambas claves
-            resolverColision(actual.hijos[indice], clave, bits, nivel);
+            resolverColision(actual.hijos[indice], clave, nivel);
         }
     }
 
@@ -110,15 +112,13 @@ public class ArbolMultipleResiduo {
      * Resuelve colisión convirtiendo el nodo existente en enlace y bajando
      * ambas claves al siguiente nivel.
      */
-    private void resolverColision(Nodo colisionado, String nuevaClave,
-            String nuevosBits, int nivel) {
+    private void resolverColision(Nodo colisionado, String nuevaClave, int nivel) {
         String claveVieja = colisionado.clave;
-        String bitsViejos = ClaveArbol.claveABinario8Bits(claveVieja);
 
         colisionado.clave = null; // convertir en nodo de enlace
 
-        insertarRecursivo(colisionado, claveVieja, bitsViejos, nivel + 1);
-        insertarRecursivo(colisionado, nuevaClave, nuevosBits, nivel + 1);
+        insertarRecursivo(colisionado, claveVieja, nivel + 1);
+        insertarRecursivo(colisionado, nuevaClave, nivel + 1);
     }
 
     /**
@@ -131,19 +131,15 @@ public class ArbolMultipleResiduo {
             return false;
         }
         ClaveArbol.validar8Bits(clave);
-        String bits = ClaveArbol.claveABinario8Bits(clave);
-        return buscarRecursivo(raiz, clave, bits, 0);
+        return buscarRecursivo(raiz, clave, 0);
     }
 
-    private boolean buscarRecursivo(Nodo actual, String clave,
-            String bits, int nivel) {
+    private boolean buscarRecursivo(Nodo actual, String clave, int nivel) {
         if (actual == null || nivel >= niveles) {
             return false;
         }
 
-        int inicio = nivel * n;
-        String grupo = bits.substring(inicio, inicio + n);
-        int indice = Integer.parseInt(grupo, 2);
+        int indice = ClaveArbol.grupo(clave.charAt(0), ClaveArbol.BITS_8, nivel * n, n);
 
         Nodo siguiente = actual.hijos[indice];
         if (siguiente == null) {
@@ -153,13 +149,16 @@ public class ArbolMultipleResiduo {
             return true;
         }
         if (siguiente.esEnlace()) {
-            return buscarRecursivo(siguiente, clave, bits, nivel + 1);
+            return buscarRecursivo(siguiente, clave, nivel + 1);
         }
         return false;
     }
 
     /**
-     * Elimina una clave y reconstruye el árbol completo.
+     * Elimina una clave en su lugar: quita su hoja y, mientras el enlace de
+     * arriba (que no sea la raíz) quede con un solo hijo y ese hijo sea una
+     * hoja, sube la hoja a ocupar el enlace. El árbol queda igual que
+     * reinsertando las claves restantes.
      *
      * @throws IllegalArgumentException si la clave no existe
      */
@@ -173,16 +172,38 @@ public class ArbolMultipleResiduo {
 
         historial.remove(clave);
         contador--;
-        reconstruir();
-    }
 
-    /**
-     * Reconstruye el árbol desde cero usando el historial actual.
-     */
-    private void reconstruir() {
-        raiz = new Nodo(M);
-        for (String c : historial) {
-            insertarEnArbol(c);
+        // Camino de enlaces desde la raíz hasta el padre de la hoja
+        Nodo[] camino = new Nodo[niveles];
+        Nodo actual = raiz;
+        int nivel = 0;
+        int indice;
+        while (true) {
+            camino[nivel] = actual;
+            indice = ClaveArbol.grupo(clave.charAt(0), ClaveArbol.BITS_8, nivel * n, n);
+            if (!actual.hijos[indice].esEnlace()) {
+                break;
+            }
+            actual = actual.hijos[indice];
+            nivel++;
+        }
+        actual.hijos[indice] = null;
+
+        for (int i = nivel; i > 0; i--) {
+            Nodo enlace = camino[i];
+            Nodo unico = null;
+            int hijos = 0;
+            for (Nodo hijo : enlace.hijos) {
+                if (hijo != null) {
+                    unico = hijo;
+                    hijos++;
+                }
+            }
+            if (hijos != 1 || unico.esEnlace()) {
+                break;
+            }
+            enlace.clave = unico.clave;
+            Arrays.fill(enlace.hijos, null);
         }
     }
 
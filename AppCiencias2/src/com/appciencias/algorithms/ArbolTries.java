@@ -2,6 +2,8 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveArbol;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 
 /**
  * Arbol simple
@@ -9,6 +11,10 @@ import java.util.ArrayList;
  * - La raiz siempre esta vacia (nodo de enlace, nunca guarda dato). - Cuando
  * dos claves comparten bits iniciales, los nodos del camino compartido son Nodo
  * Enlace (clave = null), solo sirven para navegar.
+ *
+ * Un enlace existe solo si debajo quedan dos claves o mas, asi la forma del
+ * arbol depende solo del conjunto de claves: eliminar quita la hoja y colapsa
+ * hacia arriba los enlaces que quedaron con una sola hoja, en O(bits).
  */
 public class ArbolTries {
 
@@ -30,12 +36,12 @@ public class ArbolTries {
     }
 
     private Nodo raiz;
-    private ArrayList<String> historial; // orden original de insercion
+    private LinkedHashSet<String> historial; // orden original de insercion
     private int contador;
 
     public ArbolTries() {
         this.raiz = new Nodo(null); // raiz siempre vacia
-        this.historial = new ArrayList<>();
+        this.historial = new LinkedHashSet<>();
         this.contador = 0;
     }
 
@@ -57,38 +63,56 @@ public class ArbolTries {
         contador++;
     }
 
+    /**
+     * Inserta varias claves en el orden dado (el orden define la forma del
+     * arbol). Valida todas y busca repetidos con un HashSet antes de tocar el
+     * arbol, en lugar de recorrerlo por cada clave. Si alguna es invalida o
+     * repetida, no se inserta ninguna.
+     *
+     * @throws IllegalArgumentException si alguna clave no es valida
+     * @throws IllegalStateException si alguna clave ya existe
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        for (String clave : claves) {
+            ClaveArbol.validarASCII(clave);
+        }
+        CargaMasiva.sinRepetidos(historial, claves, " en el arbol");
+        for (String clave : claves) {
+            insertarEnArbol(clave);
+        }
+        historial.addAll(claves);
+        contador += claves.size();
+    }
+
     /**
      * Inserta fisicamente en el arbol sin tocar el historial. Usado tanto por
-     * insertar() como por reconstruir().
+     * insertar() como por cargarMasivo().
      */
     private void insertarEnArbol(String clave) {
-        String bits = ClaveArbol.claveABinarioASCII(clave);
-        insertarRecursivo(raiz, clave, bits, 0);
+        insertarRecursivo(raiz, clave, 0);
     }
 
-    private void insertarRecursivo(Nodo actual, String clave, String bits, int nivel) {
-        if (nivel >= bits.length()) {
+    private void insertarRecursivo(Nodo actual, String clave, int nivel) {
+        if (nivel >= ClaveArbol.BITS_ASCII) {
             throw new IllegalStateException(
                     "No se pudo insertar '" + clave + "': se agotaron los bits.");
         }
 
-        char bit = bits.charAt(nivel);
-
-        if (bit == '1') {
+        if (ClaveArbol.bit(clave.charAt(0), ClaveArbol.BITS_ASCII, nivel) == 1) {
             if (actual.derecha == null) {
                 actual.derecha = new Nodo(clave);
             } else if (actual.derecha.esEnlace()) {
-                insertarRecursivo(actual.derecha, clave, bits, nivel + 1);
+                insertarRecursivo(actual.derecha, clave, nivel + 1);
             } else {
-                resolverColision(actual, true, clave, bits, nivel);
+                resolverColision(actual, true, clave, nivel);
             }
         } else {
             if (actual.izquierda == null) {
                 actual.izquierda = new Nodo(clave);
             } else if (actual.izquierda.esEnlace()) {
-                insertarRecursivo(actual.izquierda, clave, bits, nivel + 1);
+                insertarRecursivo(actual.izquierda, clave, nivel + 1);
             } else {
-                resolverColision(actual, false, clave, bits, nivel);
+                resolverColision(actual, false, clave, nivel);
             }
         }
     }
@@ -98,15 +122,14 @@ public class ArbolTries {
      * ambas claves al siguiente nivel.
      */
     private void resolverColision(Nodo padre, boolean esDerecha,
-            String nuevaClave, String nuevosBits, int nivel) {
+            String nuevaClave, int nivel) {
         Nodo colisionado = esDerecha ? padre.derecha : padre.izquierda;
         String claveVieja = colisionado.clave;
-        String bitsViejos = ClaveArbol.claveABinarioASCII(claveVieja);
 
         colisionado.clave = null; // convertir en nodo de enlace
 
-        insertarRecursivo(colisionado, claveVieja, bitsViejos, nivel + 1);
-        insertarRecursivo(colisionado, nuevaClave, nuevosBits, nivel + 1);
+        insertarRecursivo(colisionado, claveVieja, nivel + 1);
+        insertarRecursivo(colisionado, nuevaClave, nivel + 1);
     }
 
     /**
@@ -119,17 +142,16 @@ public class ArbolTries {
             return false;
         }
         ClaveArbol.validarASCII(clave);
-        String bits = ClaveArbol.claveABinarioASCII(clave);
-        return buscarRecursivo(raiz, clave, bits, 0);
+        return buscarRecursivo(raiz, clave, 0);
     }
 
-    private boolean buscarRecursivo(Nodo actual, String clave, String bits, int nivel) {
-        if (actual == null || nivel >= bits.length()) {
+    private boolean buscarRecursivo(Nodo actual, String clave, int nivel) {
+        if (actual == null || nivel >= ClaveArbol.BITS_ASCII) {
             return false;
         }
 
-        char bit = bits.charAt(nivel);
-        Nodo siguiente = (bit == '1') ? actual.derecha : actual.izquierda;
+        Nodo siguiente = ClaveArbol.bit(clave.charAt(0), ClaveArbol.BITS_ASCII, nivel) == 1
+                ? actual.derecha : actual.izquierda;
 
         if (siguiente == null) {
             return false;
@@ -138,17 +160,16 @@ public class ArbolTries {
             return true;
         }
         if (siguiente.esEnlace()) {
-            return buscarRecursivo(siguiente, clave, bits, nivel + 1);
+            return buscarRecursivo(siguiente, clave, nivel + 1);
         }
         return false;
     }
 
     /**
-     * Elimina una clave y reestructura el arbol completo.
-     *
-     * Proceso: 1. Verificar que la clave existe. 2. Quita del historial. 3.
-     * Reconstruir el arbol desde cero con las claves restantes en el mismo
-     * orden original.
+     * Elimina una clave en su lugar: quita su hoja y, mientras el enlace de
+     * arriba (que no sea la raiz) quede con una sola hoja y ningun otro hijo,
+     * sube esa hoja a ocupar el enlace. El arbol queda igual que
+     * reinsertando las claves restantes.
      *
      * @throws IllegalArgumentException si la clave no existe
      */
@@ -161,16 +182,38 @@ public class ArbolTries {
 
         historial.remove(clave);
         contador--;
-        reconstruir();
-    }
 
-    /**
-     * Reconstruye el arbol desde cero usando el historial actual.
-     */
-    private void reconstruir() {
-        raiz = new Nodo(null); // raiz siempre vacia
-        for (String c : historial) {
-            insertarEnArbol(c);
+        // Camino de enlaces desde la raiz hasta el padre de la hoja
+        char codigo = clave.charAt(0);
+        Nodo[] camino = new Nodo[ClaveArbol.BITS_ASCII];
+        Nodo actual = raiz;
+        int nivel = 0;
+        while (true) {
+            camino[nivel] = actual;
+            Nodo siguiente = ClaveArbol.bit(codigo, ClaveArbol.BITS_ASCII, nivel) == 1
+                    ? actual.derecha : actual.izquierda;
+            if (!siguiente.esEnlace()) {
+                break;
+            }
+            actual = siguiente;
+            nivel++;
+        }
+        if (ClaveArbol.bit(codigo, ClaveArbol.BITS_ASCII, nivel) == 1) {
+            actual.derecha = null;
+        } else {
+            actual.izquierda = null;
+        }
+
+        for (int i = nivel; i > 0; i--) {
+            Nodo enlace = camino[i];
+            Nodo unico = enlace.izquierda == null ? enlace.derecha
+                    : enlace.derecha == null ? enlace.izquierda : null;
+            if (unico == null || unico.esEnlace()) {
+                break;
+            }
+            enlace.clave = unico.clave;
+            enlace.izquierda = null;
+            enlace.derecha = null;
         }
     }
 
@@ -0,0 +1,274 @@
+package com.appciencias.algorithms;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Archivo de paginas de tamaño fijo para las busquedas externas
+ * (SecuencialExterno, BinarioExterno, HashExterno).
+ *
+ * Cada pagina guarda un bloque:
+ *   [usados: int][siguiente: int][capacidad registros de longClave chars]
+ * Los registros son de ancho fijo (2 bytes por caracter) y siguiente es el
+ * numero de pagina encadenada (-1 si no hay), que usa HashExterno para los
+ * bloques de desbordamiento.
+ *
+ * Se accede con FileChannel por posicion (pagina * tamañoPagina) usando un
+ * buffer directo de una pagina; cada leer/escribir es una lectura/escritura
+ * real del archivo y se cuenta en getLecturas/getEscrituras. Solo la lista de
+ * paginas libres vive en memoria. El archivo se crea vacio (si existia se
+ * trunca) y no guarda metadatos para reabrirlo en otra sesion.
+ *
+ * Con un PoolPaginas, leer y escribir pasan por el pool: solo los fallos
+ * leen el archivo y las paginas sucias se escriben al desalojarlas o al
+ * cerrar. getLecturas/getEscrituras siguen contando accesos reales.
+ */
+public final class ArchivoPaginado implements Closeable {
+
+    public static final int SIN_SIGUIENTE = -1;
+
+    /**
+     * Contenido de una pagina leida.
+     */
+    public static final class Pagina {
+
+        public final ArrayList<String> claves;
+        public final int siguiente;
+
+        Pagina(ArrayList<String> claves, int siguiente) {
+            this.claves = claves;
+            this.siguiente = siguiente;
+        }
+    }
+
+    private static final int CABECERA = 2 * Integer.BYTES;
+
+    private final FileChannel canal;
+    private final int capacidad;
+    private final int longClave;
+    private final int tamañoPagina;
+    private final ByteBuffer buffer;
+
+    private final PoolPaginas pool;
+    private final int idPool;
+
+    private final ArrayDeque<Integer> libres;
+    private int numPaginas;
+    private long lecturas;
+    private long escrituras;
+
+    /**
+     * @param ruta archivo a crear (se trunca si existe)
+     * @param capacidad registros por pagina
+     * @param longClave caracteres por registro
+     */
+    public ArchivoPaginado(Path ruta, int capacidad, int longClave) {
+        this(ruta, capacidad, longClave, null);
+    }
+
+    /**
+     * @param ruta archivo a crear (se trunca si existe)
+     * @param capacidad registros por pagina
+     * @param longClave caracteres por registro
+     * @param pool pool de paginas compartido, o null para ir siempre al
+     * archivo
+     */
+    public ArchivoPaginado(Path ruta, int capacidad, int longClave, PoolPaginas pool) {
+        if (capacidad <= 0) {
+            throw new IllegalArgumentException("La capacidad por pagina debe ser mayor que 0.");
+        }
+        if (longClave <= 0) {
+            throw new IllegalArgumentException("La longitud de clave debe ser mayor que 0.");
+        }
+        this.capacidad = capacidad;
+        this.longClave = longClave;
+        this.tamañoPagina = CABECERA + capacidad * longClave * Character.BYTES;
+        this.buffer = ByteBuffer.allocateDirect(tamañoPagina);
+        this.libres = new ArrayDeque<>();
+        this.pool = pool;
+        this.idPool = pool == null ? 0 : pool.registrar();
+        try {
+            this.canal = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el archivo " + ruta + ".", e);
+        }
+    }
+
+    /**
+     * Reserva una pagina vacia (reutiliza una liberada si hay) y la escribe.
+     *
+     * @return numero de pagina (0-based)
+     */
+    public int agregarPagina() {
+        int pagina = libres.isEmpty() ? numPaginas++ : libres.poll();
+        escribir(pagina, List.of(), SIN_SIGUIENTE);
+        return pagina;
+    }
+
+    /**
+     * Marca la pagina como libre para que agregarPagina la reutilice.
+     */
+    public void liberarPagina(int pagina) {
+        verificar(pagina);
+        if (pool != null) {
+            pool.descartar(this, pagina);
+        }
+        libres.add(pagina);
+    }
+
+    /**
+     * Lee la pagina completa. Sin pool es una lectura del archivo; con pool
+     * devuelve una copia del marco.
+     */
+    public Pagina leer(int pagina) {
+        verificar(pagina);
+        if (pool == null) {
+            return leerDisco(pagina);
+        }
+        PoolPaginas.Marco m = pool.fijar(this, pagina);
+        Pagina copia = new Pagina(new ArrayList<>(m.claves), m.siguiente);
+        pool.soltar(m, false);
+        return copia;
+    }
+
+    Pagina leerDisco(int pagina) {
+        cargar(pagina);
+        int usados = buffer.getInt(0);
+        ArrayList<String> claves = new ArrayList<>(usados);
+        char[] c = new char[longClave];
+        int pos = CABECERA;
+        for (int r = 0; r < usados; r++) {
+            for (int i = 0; i < longClave; i++) {
+                c[i] = buffer.getChar(pos);
+                pos += Character.BYTES;
+            }
+            claves.add(new String(c));
+        }
+        return new Pagina(claves, buffer.getInt(Integer.BYTES));
+    }
+
+    /**
+     * Escribe la pagina completa. Con pool solo actualiza el marco y lo marca
+     * como sucio.
+     *
+     * @throws IllegalArgumentException si hay mas registros que la capacidad
+     * o alguno no mide longClave
+     */
+    public void escribir(int pagina, List<String> claves, int siguiente) {
+        verificar(pagina);
+        if (claves.size() > capacidad) {
+            throw new IllegalArgumentException("La pagina admite " + capacidad + " registros.");
+        }
+        for (String clave : claves) {
+            if (clave.length() != longClave) {
+                throw new IllegalArgumentException(
+                        "El registro '" + clave + "' no mide " + longClave + " caracteres.");
+            }
+        }
+        if (pool == null) {
+            escribirDisco(pagina, claves, siguiente);
+            return;
+        }
+        PoolPaginas.Marco m = pool.fijar(this, pagina, false);
+        m.claves = new ArrayList<>(claves);
+        m.siguiente = siguiente;
+        pool.soltar(m, true);
+    }
+
+    void escribirDisco(int pagina, List<String> claves, int siguiente) {
+        buffer.clear();
+        buffer.putInt(claves.size());
+        buffer.putInt(siguiente);
+        for (String clave : claves) {
+            for (int i = 0; i < longClave; i++) {
+                buffer.putChar(clave.charAt(i));
+            }
+        }
+        buffer.position(0).limit(tamañoPagina);
+        try {
+            long posicion = (long) pagina * tamañoPagina;
+            while (buffer.hasRemaining()) {
+                posicion += canal.write(buffer, posicion);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al escribir la pagina " + pagina + ".", e);
+        }
+        escrituras++;
+    }
+
+    private void cargar(int pagina) {
+        buffer.clear();
+        try {
+            long posicion = (long) pagina * tamañoPagina;
+            while (buffer.hasRemaining()) {
+                int leidos = canal.read(buffer, posicion);
+                if (leidos < 0) {
+                    throw new IllegalStateException("La pagina " + pagina + " esta incompleta.");
+                }
+                posicion += leidos;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al leer la pagina " + pagina + ".", e);
+        }
+        lecturas++;
+    }
+
+    private void verificar(int pagina) {
+        if (pagina < 0 || pagina >= numPaginas) {
+            throw new IllegalArgumentException("La pagina " + pagina + " no existe.");
+        }
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int getTamañoPagina() {
+        return tamañoPagina;
+    }
+
+    public int getNumPaginas() {
+        return numPaginas;
+    }
+
+    public long getLecturas() {
+        return lecturas;
+    }
+
+    public long getEscrituras() {
+        return escrituras;
+    }
+
+    public PoolPaginas getPool() {
+        return pool;
+    }
+
+    int getIdPool() {
+        return idPool;
+    }
+
+    /**
+     * Escribe las paginas sucias que tenga en el pool y cierra el archivo.
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.desconectar(this);
+        }
+        try {
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al cerrar el archivo.", e);
+        }
+    }
+}
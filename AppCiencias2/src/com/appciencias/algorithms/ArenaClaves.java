@@ -0,0 +1,254 @@
+package com.appciencias.algorithms;
+
+import com.appciencias.models.ClaveUtil;
+import java.util.Arrays;
+
+/**
+ * Claves de longitud fija guardadas juntas en un solo long[].
+ *
+ * Cada posicion ocupa palabrasPorClave longs: los caracteres se empaquetan de
+ * a 8 bits (o de a 16 si alguna clave tiene un caracter mayor que 255; la
+ * arena se ensancha sola la primera vez) con el primer caracter en los bits
+ * altos. Asi comparar dos claves palabra por palabra sin signo da el mismo
+ * orden que String.compareTo, y una clave de 8 caracteres es un solo long.
+ * Al lado se guarda k = ClaveUtil.aNumero(clave) para no recalcularlo (-1 si
+ * la clave es numerica pero no entra en un long).
+ *
+ * Las busquedas codifican la clave una vez (codificar) y comparan contra las
+ * posiciones sin crear Strings; obtener arma el String solo para mostrar.
+ * La arena no sabe que posiciones estan ocupadas: eso lo lleva la estructura.
+ */
+public final class ArenaClaves {
+
+    private final int capacidad;
+    private final int longClave;
+
+    private int bitsCaracter;     // 8 o 16
+    private int porPalabra;       // caracteres por long
+    private int palabrasPorClave;
+    private long[] palabras;
+    private final long[] numeros; // k de cada posicion
+
+    /**
+     * @param capacidad Posiciones de la arena.
+     * @param longClave Caracteres de cada clave.
+     */
+    public ArenaClaves(int capacidad, int longClave) {
+        if (capacidad < 0) {
+            throw new IllegalArgumentException("La capacidad no puede ser negativa.");
+        }
+        if (longClave <= 0) {
+            throw new IllegalArgumentException("La longitud de clave debe ser mayor que 0.");
+        }
+        this.capacidad = capacidad;
+        this.longClave = longClave;
+        this.numeros = new long[capacidad];
+        configurar(8);
+        this.palabras = new long[capacidad * palabrasPorClave];
+    }
+
+    private void configurar(int bits) {
+        bitsCaracter = bits;
+        porPalabra = 64 / bits;
+        palabrasPorClave = (longClave + porPalabra - 1) / porPalabra;
+    }
+
+    /**
+     * Guarda la clave (de longClave caracteres) en la posicion i.
+     */
+    public void poner(int i, String clave) {
+        if (clave.length() != longClave) {
+            ClaveUtil.validar(clave, longClave);
+        }
+        admitir(clave);
+        empaquetar(clave, palabras, i * palabrasPorClave);
+        numeros[i] = numero(clave);
+    }
+
+    /**
+     * ClaveUtil.aNumero, o -1 si la clave es numerica y no entra en un long.
+     */
+    static long numero(String clave) {
+        try {
+            return ClaveUtil.aNumero(clave);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Ensancha la arena si la clave necesita 16 bits por caracter, para que
+     * codificar no devuelva null antes de insertarla.
+     */
+    public void admitir(String clave) {
+        if (bitsCaracter == 8 && !entraEn8Bits(clave)) {
+            ensanchar();
+        }
+    }
+
+    /**
+     * Clave de la posicion i (crea el String).
+     */
+    public String obtener(int i) {
+        char[] cs = new char[longClave];
+        int base = i * palabrasPorClave;
+        long mascara = (1L << bitsCaracter) - 1;
+        for (int c = 0; c < longClave; c++) {
+            long palabra = palabras[base + c / porPalabra];
+            int desplazamiento = (porPalabra - 1 - c % porPalabra) * bitsCaracter;
+            cs[c] = (char) ((palabra >>> desplazamiento) & mascara);
+        }
+        return new String(cs);
+    }
+
+    /**
+     * ClaveUtil.aNumero de la clave en la posicion i (-1 si no tiene).
+     */
+    public long numero(int i) {
+        return numeros[i];
+    }
+
+    /**
+     * Clave empaquetada para comparar con comparar/igual. null si no puede
+     * estar en la arena (longitud distinta o caracteres que no entran en el
+     * ancho actual).
+     */
+    public long[] codificar(String clave) {
+        if (clave == null || clave.length() != longClave) {
+            return null;
+        }
+        long[] codigo = new long[palabrasPorClave];
+        int c = 0;
+        for (int p = 0; p < palabrasPorClave; p++) {
+            long palabra = 0;
+            for (int fin = c + porPalabra; c < fin; c++) {
+                char ch = c < longClave ? clave.charAt(c) : 0;
+                if (ch >>> bitsCaracter != 0) {
+                    return null;
+                }
+                palabra = (palabra << bitsCaracter) | ch;
+            }
+            codigo[p] = palabra;
+        }
+        return codigo;
+    }
+
+    /**
+     * Compara la posicion i con una clave codificada, como compareTo
+     * (negativo si la de la posicion es menor).
+     */
+    public int comparar(int i, long[] codigo) {
+        int base = i * palabrasPorClave;
+        for (int p = 0; p < palabrasPorClave; p++) {
+            long a = palabras[base + p];
+            if (a != codigo[p]) {
+                return Long.compareUnsigned(a, codigo[p]);
+            }
+        }
+        return 0;
+    }
+
+    public boolean igual(int i, long[] codigo) {
+        int base = i * palabrasPorClave;
+        for (int p = 0; p < palabrasPorClave; p++) {
+            if (palabras[base + p] != codigo[p]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compara las posiciones i y j.
+     */
+    public int comparar(int i, int j) {
+        int a = i * palabrasPorClave;
+        int b = j * palabrasPorClave;
+        for (int p = 0; p < palabrasPorClave; p++) {
+            if (palabras[a + p] != palabras[b + p]) {
+                return Long.compareUnsigned(palabras[a + p], palabras[b + p]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Copia cantidad posiciones de desde a hacia (como System.arraycopy, los
+     * rangos pueden solaparse).
+     */
+    public void mover(int desde, int hacia, int cantidad) {
+        System.arraycopy(palabras, desde * palabrasPorClave, palabras, hacia * palabrasPorClave,
+                cantidad * palabrasPorClave);
+        System.arraycopy(numeros, desde, numeros, hacia, cantidad);
+    }
+
+    public void intercambiar(int i, int j) {
+        int a = i * palabrasPorClave;
+        int b = j * palabrasPorClave;
+        for (int p = 0; p < palabrasPorClave; p++) {
+            long t = palabras[a + p];
+            palabras[a + p] = palabras[b + p];
+            palabras[b + p] = t;
+        }
+        long t = numeros[i];
+        numeros[i] = numeros[j];
+        numeros[j] = t;
+    }
+
+    /**
+     * Deja la posicion en ceros.
+     */
+    public void limpiar(int i) {
+        Arrays.fill(palabras, i * palabrasPorClave, (i + 1) * palabrasPorClave, 0L);
+        numeros[i] = 0;
+    }
+
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    public int getLongClave() {
+        return longClave;
+    }
+
+    /**
+     * Bytes que ocupa cada posicion (palabras de la clave + k).
+     */
+    public int getBytesPorClave() {
+        return 8 * palabrasPorClave + 8;
+    }
+
+    private void empaquetar(String clave, long[] destino, int base) {
+        for (int p = 0; p < palabrasPorClave; p++) {
+            long palabra = 0;
+            for (int c = p * porPalabra; c < (p + 1) * porPalabra; c++) {
+                palabra = (palabra << bitsCaracter) | (c < longClave ? clave.charAt(c) : 0);
+            }
+            destino[base + p] = palabra;
+        }
+    }
+
+    private static boolean entraEn8Bits(String clave) {
+        for (int c = 0; c < clave.length(); c++) {
+            if (clave.charAt(c) > 0xFF) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Pasa a 16 bits por caracter reempaquetando todas las posiciones.
+     */
+    private void ensanchar() {
+        String[] claves = new String[capacidad];
+        for (int i = 0; i < capacidad; i++) {
+            claves[i] = obtener(i);
+        }
+        configurar(16);
+        palabras = new long[capacidad * palabrasPorClave];
+        for (int i = 0; i < capacidad; i++) {
+            empaquetar(claves[i], palabras, i * palabrasPorClave);
+        }
+    }
+}
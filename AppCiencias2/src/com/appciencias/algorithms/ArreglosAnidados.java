@@ -10,6 +10,13 @@ import java.util.ArrayList;
  * en la posición X de ese nuevo arreglo.
  * 
  * Ahora soporta cualquier función hash (MOD, CUADRADO, TRUNCAMIENTO, PLEGAMIENTO).
+ *
+ * Con una PoliticaCrecimiento, cuando contador / n supera el factor de carga
+ * se pasa a arreglos de mayor tamaño en vez de seguir apilando desbordamientos.
+ * En modo incremental cada insercion/eliminacion migra algunas columnas (la
+ * posicion X en todos los arreglos viejos); buscar y eliminar consultan
+ * tambien la columna vieja si aun no se migro, y buscar nunca escribe (se
+ * puede usar con EstructuraConcurrente).
  */
 public class ArreglosAnidados {
 
@@ -19,6 +26,12 @@ public class ArreglosAnidados {
     private int contador;
     private FuncionHash funcionHashObj; // Función hash configurable
 
+    private PoliticaCrecimiento politica; // null = tamaño fijo
+    // Rehash incremental: columnas [0, cursor) de los arreglos viejos ya migradas
+    private ArrayList<String[]> arreglosViejos;
+    private FuncionHash funcionVieja;
+    private int cursorMigracion;
+
     /**
      * Constructor principal con función hash configurable.
      * Permite usar cualquier tipo de función hash.
@@ -36,7 +49,7 @@ public class ArreglosAnidados {
         }
         this.n = tamaño;
         this.longClave = longClave;
-        this.funcionHashObj = funcionHash;
+        this.funcionHashObj = funcionHash.copiar(); // crecer le cambia el tamaño
         this.contador = 0;
         this.arreglos = new ArrayList<>();
         arreglos.add(new String[n]); // arreglo principal
@@ -67,16 +80,30 @@ public class ArreglosAnidados {
      */
     public void insertar(String clave) {
         ClaveUtil.validar(clave, longClave);
+        if (politica != null) {
+            migrarPasos();
+            if (politica.debeCrecer(contador + 1, n)) {
+                crecer();
+            }
+        }
         if (buscar(clave) != null) {
             throw new IllegalStateException("La clave '" + clave + "' ya existe.");
         }
 
+        colocar(clave);
+        contador++;
+    }
+
+    /**
+     * Ubica la clave en el primer arreglo con su posicion libre, creando uno
+     * nuevo si todos la tienen ocupada. No cambia contador.
+     */
+    private void colocar(String clave) {
         int pos = hash(clave);
 
         for (String[] arreglo : arreglos) {
             if (arreglo[pos] == null) {
                 arreglo[pos] = clave;
-                contador++;
                 return;
             }
         }
@@ -85,13 +112,14 @@ public class ArreglosAnidados {
         String[] nuevo = new String[n];
         nuevo[pos] = clave;
         arreglos.add(nuevo);
-        contador++;
     }
 
     /**
      * Busca revisando la posicion X en cada arreglo, de arriba hacia abajo. Se
      * detiene si encuentra una posicion vacia (la clave no puede estar mas
-     * abajo).
+     * abajo). No modifica la estructura: durante un rehash incremental, si la
+     * columna vieja de la clave aun no se migro, la busca ahi (el resultado se
+     * refiere entonces a los arreglos viejos).
      *
      * @return ResultadoBusqueda con número de arreglo y posicion, o null si no
      * existe
@@ -101,10 +129,21 @@ public class ArreglosAnidados {
             return null;
         }
 
-        int pos = hash(clave);
+        if (arreglosViejos != null) {
+            int vieja = funcionVieja.calcular(clave) - 1;
+            if (vieja >= cursorMigracion) {
+                ResultadoBusqueda r = buscarEn(arreglosViejos, vieja, clave);
+                if (r != null) {
+                    return r;
+                }
+            }
+        }
+        return buscarEn(arreglos, hash(clave), clave);
+    }
 
-        for (int i = 0; i < arreglos.size(); i++) {
-            String[] arreglo = arreglos.get(i);
+    private static ResultadoBusqueda buscarEn(ArrayList<String[]> pila, int pos, String clave) {
+        for (int i = 0; i < pila.size(); i++) {
+            String[] arreglo = pila.get(i);
             if (arreglo[pos] == null) {
                 return null; // vacio, no existe más abajo
 
@@ -143,24 +182,43 @@ public class ArreglosAnidados {
      */
     public void eliminar(String clave) {
         ClaveUtil.validar(clave, longClave);
-        ResultadoBusqueda r = buscar(clave);
+        if (politica != null) {
+            migrarPasos();
+        }
+        if (arreglosViejos != null) {
+            int vieja = funcionVieja.calcular(clave) - 1;
+            if (vieja >= cursorMigracion) {
+                ResultadoBusqueda r = buscarEn(arreglosViejos, vieja, clave);
+                if (r != null) {
+                    quitar(arreglosViejos, vieja, r.numeroArreglo);
+                    contador--;
+                    return;
+                }
+            }
+        }
+        int pos = hash(clave);
+        ResultadoBusqueda r = buscarEn(arreglos, pos, clave);
         if (r == null) {
             throw new IllegalArgumentException("La clave '" + clave + "' no existe.");
         }
+        quitar(arreglos, pos, r.numeroArreglo);
+        contador--;
+    }
 
-        int pos = hash(clave);
-        int desde = r.numeroArreglo;
-
+    /**
+     * Vacia la posicion pos del arreglo desde, sube todo lo de abajo y quita
+     * los arreglos del final que quedaron vacios.
+     */
+    private static void quitar(ArrayList<String[]> pila, int pos, int desde) {
         // Vaciar la posicion y subir todo lo de abajo
-        for (int i = desde; i < arreglos.size() - 1; i++) {
-            arreglos.get(i)[pos] = arreglos.get(i + 1)[pos];
+        for (int i = desde; i < pila.size() - 1; i++) {
+            pila.get(i)[pos] = pila.get(i + 1)[pos];
         }
-        arreglos.get(arreglos.size() - 1)[pos] = null;
-        contador--;
+        pila.get(pila.size() - 1)[pos] = null;
 
         // Limpiar arreglos del final que quedaron completamente vacios
-        while (arreglos.size() > 1) {
-            String[] ultimo = arreglos.get(arreglos.size() - 1);
+        while (pila.size() > 1) {
+            String[] ultimo = pila.get(pila.size() - 1);
             boolean vacio = true;
             for (String s : ultimo) {
                 if (s != null) {
@@ -169,13 +227,75 @@ public class ArreglosAnidados {
                 }
             }
             if (vacio) {
-                arreglos.remove(arreglos.size() - 1);
+                pila.remove(pila.size() - 1);
             } else {
                 break;
             }
         }
     }
 
+    // =====================================================================
+    //  CRECIMIENTO
+    // =====================================================================
+
+    /**
+     * Pasa al siguiente tamaño de la politica con FuncionHash.setTamaño. Si
+     * habia una migracion en curso se termina primero.
+     */
+    private void crecer() {
+        completarMigracion();
+        arreglosViejos = arreglos;
+        funcionVieja = funcionHashObj.copiar();
+        cursorMigracion = 0;
+
+        n = politica.siguienteTamaño(n);
+        funcionHashObj.setTamaño(n);
+        arreglos = new ArrayList<>();
+        arreglos.add(new String[n]);
+
+        if (!politica.esIncremental()) {
+            completarMigracion();
+        }
+    }
+
+    private void migrarPasos() {
+        for (int k = 0; k < politica.getPasosIncrementales() && arreglosViejos != null; k++) {
+            migrarColumna(cursorMigracion);
+            avanzarCursor();
+        }
+    }
+
+    /**
+     * Termina de migrar los arreglos viejos de una vez, si hay migracion en curso.
+     */
+    public void completarMigracion() {
+        while (arreglosViejos != null) {
+            migrarColumna(cursorMigracion);
+            avanzarCursor();
+        }
+    }
+
+    private void avanzarCursor() {
+        cursorMigracion++;
+        if (cursorMigracion >= arreglosViejos.get(0).length) {
+            arreglosViejos = null;
+            funcionVieja = null;
+        }
+    }
+
+    /**
+     * Pasa la posicion pos de todos los arreglos viejos a la estructura nueva.
+     */
+    private void migrarColumna(int pos) {
+        for (String[] arreglo : arreglosViejos) {
+            if (arreglo[pos] == null) {
+                break; // no hay nada mas abajo
+            }
+            colocar(arreglo[pos]);
+            arreglo[pos] = null;
+        }
+    }
+
     /**
      * Retorna todos los arreglos para que el front los muestre apilados. índice
      * 0 = arreglo principal, 1,2... = desbordamientos.
@@ -207,6 +327,15 @@ public class ArreglosAnidados {
                 }
             }
         }
+        if (arreglosViejos != null) {
+            for (String[] arr : arreglosViejos) {
+                for (int i = cursorMigracion; i < arr.length; i++) {
+                    if (arr[i] != null) {
+                        lista.add(arr[i]);
+                    }
+                }
+            }
+        }
         return lista;
     }
 
@@ -232,4 +361,23 @@ public class ArreglosAnidados {
     public FuncionHash getFuncionHash() {
         return funcionHashObj;
     }
+
+    public PoliticaCrecimiento getPoliticaCrecimiento() {
+        return politica;
+    }
+
+    /**
+     * Define la politica de crecimiento (null = tamaño fijo, como antes).
+     */
+    public void setPoliticaCrecimiento(PoliticaCrecimiento politica) {
+        completarMigracion();
+        this.politica = politica;
+    }
+
+    /**
+     * true mientras quedan columnas de los arreglos viejos por migrar.
+     */
+    public boolean isMigrando() {
+        return arreglosViejos != null;
+    }
 }
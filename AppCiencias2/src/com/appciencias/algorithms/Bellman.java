@@ -1,6 +1,7 @@
 package com.appciencias.algorithms;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 
@@ -209,7 +210,7 @@ public class Bellman {
             porOrdinal.put(numeracion.get(v), v);
         }
 
-        ArrayList<GrafoPonderado.AristaPonderada> aristas = grafo.getAristas();
+        Collection<GrafoPonderado.AristaPonderada> aristas = grafo.getAristas();
 
         // Paso 2: inicializar estructuras solo para nodos en rango [origen..destino]
         LinkedHashMap<String, Double> lambdas = new LinkedHashMap<>();
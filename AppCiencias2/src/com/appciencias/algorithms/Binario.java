@@ -2,32 +2,100 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * Búsqueda Binaria con claves alfanuméricas.
+ *
+ * Almacenamiento:
+ * - ARREGLO: una sola ArenaClaves ordenada (claves empaquetadas en un long[],
+ *   se comparan por palabras); insertar y eliminar corren todos los
+ *   elementos posteriores, O(n).
+ * - BLOQUES: la secuencia ordenada se parte en bloques de a lo sumo
+ *   capacidadBloque (~2 raiz(tamaño)) claves. Se ubica el bloque por busqueda
+ *   binaria sobre la ultima clave de cada uno y solo se corre ese bloque; si
+ *   se llena se divide en dos y si queda muy vacio se une con el siguiente,
+ *   asi insertar/eliminar cuestan O(raiz(n)).
+ *
+ * En los dos modos buscar devuelve la misma posicion (base 0) dentro de la
+ * secuencia ordenada.
+ *
+ * En ARREGLO la busqueda puede ser BINARIA (por defecto), INTERPOLACION o
+ * EXPONENCIAL (setEstrategia, ver BusquedaOrdenada) y getComparaciones da
+ * las comparaciones de claves de la ultima busqueda.
  */
 public class Binario {
 
-    private String[] tabla;
+    public enum Almacenamiento {
+        ARREGLO, BLOQUES
+    }
+
+    /**
+     * Tramo contiguo de la secuencia ordenada (modo BLOQUES).
+     */
+    private static final class Bloque {
+
+        final String[] claves;
+        int usados;
+        int inicio; // posicion global de claves[0]
+
+        Bloque(int capacidad) {
+            this.claves = new String[capacidad];
+        }
+
+        String ultima() {
+            return claves[usados - 1];
+        }
+    }
+
+    private ArenaClaves tabla;
     private int tamaño;
     private int longClave;
     private int contador;
 
+    private final Almacenamiento almacenamiento;
+    private final ArrayList<Bloque> bloques;
+    private final int capacidadBloque;
+
+    private final BusquedaOrdenada busqueda = new BusquedaOrdenada(BusquedaOrdenada.Estrategia.BINARIA);
+    private int comparaciones; // de la ultima busqueda (ARREGLO)
+
     /**
      * @param tamaño Tamaño máximo del arreglo
      * @param longClave Cantidad de caracteres por clave
      */
     public Binario(int tamaño, int longClave) {
+        this(tamaño, longClave, Almacenamiento.ARREGLO);
+    }
+
+    /**
+     * @param tamaño Tamaño máximo del arreglo
+     * @param longClave Cantidad de caracteres por clave
+     * @param almacenamiento ARREGLO o BLOQUES
+     */
+    public Binario(int tamaño, int longClave, Almacenamiento almacenamiento) {
         if (tamaño <= 0) {
             throw new IllegalArgumentException("El tamaño debe ser mayor que 0.");
         }
         if (longClave <= 0) {
             throw new IllegalArgumentException("La longitud de clave debe ser mayor que 0.");
         }
+        if (almacenamiento == null) {
+            throw new IllegalArgumentException("El almacenamiento es obligatorio.");
+        }
         this.tamaño = tamaño;
         this.longClave = longClave;
-        this.tabla = new String[tamaño];
+        this.almacenamiento = almacenamiento;
         this.contador = 0;
+        if (almacenamiento == Almacenamiento.ARREGLO) {
+            this.tabla = new ArenaClaves(tamaño, longClave);
+            this.bloques = null;
+            this.capacidadBloque = 0;
+        } else {
+            this.bloques = new ArrayList<>();
+            this.capacidadBloque = Math.max(8, 2 * (int) Math.ceil(Math.sqrt(tamaño)));
+        }
     }
 
     /**
@@ -47,14 +115,19 @@ public class Binario {
             throw new IllegalStateException("La clave '" + clave + "' ya existe en el arreglo.");
         }
 
+        if (bloques != null) {
+            insertarEnBloque(clave);
+            contador++;
+            return;
+        }
+
         // Encontrar posición correcta con búsqueda binaria
-        int pos = posicionDeInsercion(clave);
+        tabla.admitir(clave);
+        int pos = posicionDeInsercion(tabla.codificar(clave));
 
         // Correr elementos a la derecha para hacer espacio
-        for (int i = contador; i > pos; i--) {
-            tabla[i] = tabla[i - 1];
-        }
-        tabla[pos] = clave;
+        tabla.mover(pos, pos + 1, contador - pos);
+        tabla.poner(pos, clave);
         contador++;
     }
 
@@ -62,11 +135,11 @@ public class Binario {
      * Encuentra el indice donde debe insertarse la clave para mantener el
      * orden.
      */
-    private int posicionDeInsercion(String clave) {
+    private int posicionDeInsercion(long[] codigo) {
         int izq = 0, der = contador;
         while (izq < der) {
             int mid = (izq + der) / 2;
-            if (tabla[mid].compareTo(clave) < 0) {
+            if (tabla.comparar(mid, codigo) < 0) {
                 izq = mid + 1;
             } else {
                 der = mid;
@@ -76,7 +149,8 @@ public class Binario {
     }
 
     /**
-     * Búsqueda binaria en el arreglo ordenado.
+     * Búsqueda en el arreglo ordenado con la estrategia configurada (binaria
+     * por defecto).
      *
      * @return Índice (base 0) donde está, o -1 si no existe
      */
@@ -84,19 +158,34 @@ public class Binario {
         if (clave == null) {
             return -1;
         }
-        int izq = 0, der = contador - 1;
-        while (izq <= der) {
-            int mid = (izq + der) / 2;
-            int cmp = tabla[mid].compareTo(clave);
-            if (cmp == 0) {
-                return mid;
-            } else if (cmp < 0) {
-                izq = mid + 1;
-            } else {
-                der = mid - 1;
-            }
+        if (bloques != null) {
+            return buscarEnBloques(clave);
+        }
+        long[] codigo = tabla.codificar(clave);
+        comparaciones = 0;
+        if (codigo == null) {
+            return -1;
+        }
+        int pos = busqueda.buscar(tabla, contador, clave, codigo);
+        comparaciones = busqueda.getComparaciones();
+        return pos;
+    }
+
+    /**
+     * Como buscar != -1 pero sin escribir ningun campo (ni comparaciones ni
+     * pasos): es la lectura a usar con EstructuraConcurrente. En ARREGLO
+     * busca siempre en forma binaria.
+     */
+    public boolean contiene(String clave) {
+        if (clave == null) {
+            return false;
         }
-        return -1;
+        if (bloques != null) {
+            return buscarEnBloques(clave) != -1;
+        }
+        ArenaClaves t = tabla;
+        long[] codigo = t.codificar(clave);
+        return codigo != null && BusquedaOrdenada.binariaSinContar(t, contador, codigo) != -1;
     }
 
     /**
@@ -110,10 +199,13 @@ public class Binario {
         if (pos == -1) {
             throw new IllegalArgumentException("La clave '" + clave + "' no existe en el arreglo.");
         }
-        for (int i = pos; i < contador - 1; i++) {
-            tabla[i] = tabla[i + 1];
+        if (bloques != null) {
+            eliminarDeBloque(clave);
+            contador--;
+            return;
         }
-        tabla[contador - 1] = null;
+        tabla.mover(pos + 1, pos, contador - pos - 1);
+        tabla.limpiar(contador - 1);
         contador--;
     }
 
@@ -122,7 +214,17 @@ public class Binario {
      * front)
      */
     public String[] obtenerTabla() {
-        return tabla.clone();
+        String[] copia = new String[tamaño];
+        if (bloques == null) {
+            for (int i = 0; i < contador; i++) {
+                copia[i] = tabla.obtener(i);
+            }
+            return copia;
+        }
+        for (Bloque b : bloques) {
+            System.arraycopy(b.claves, 0, copia, b.inicio, b.usados);
+        }
+        return copia;
     }
 
     /**
@@ -130,12 +232,158 @@ public class Binario {
      */
     public ArrayList<String> obtenerDatos() {
         ArrayList<String> lista = new ArrayList<>();
+        if (bloques != null) {
+            for (Bloque b : bloques) {
+                lista.addAll(Arrays.asList(b.claves).subList(0, b.usados));
+            }
+            return lista;
+        }
         for (int i = 0; i < contador; i++) {
-            lista.add(tabla[i]);
+            lista.add(tabla.obtener(i));
         }
         return lista;
     }
 
+    /**
+     * Carga varias claves de una vez: las ordena una sola vez y las mezcla con
+     * las que ya estan, O(n log n) en lugar de O(n^2) con insertar una a una.
+     * Si alguna clave es invalida, repetida o no caben todas, no se inserta
+     * ninguna.
+     *
+     * @throws IllegalStateException si no caben o alguna clave ya existe
+     * @throws IllegalArgumentException si alguna clave tiene longitud
+     * incorrecta
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        String[] nuevas = CargaMasiva.validar(claves, longClave, tamaño - contador);
+        String[] todas = CargaMasiva.mezclar(obtenerDatos(), nuevas, " en el arreglo");
+
+        contador = todas.length;
+        if (bloques == null) {
+            tabla = new ArenaClaves(tamaño, longClave);
+            for (int p = 0; p < todas.length; p++) {
+                tabla.poner(p, todas[p]);
+            }
+            return;
+        }
+        // Bloques a media capacidad para que las siguientes inserciones no
+        // los dividan enseguida
+        bloques.clear();
+        int porBloque = Math.max(1, capacidadBloque / 2);
+        for (int desde = 0; desde < todas.length; desde += porBloque) {
+            Bloque b = new Bloque(capacidadBloque);
+            b.usados = Math.min(porBloque, todas.length - desde);
+            System.arraycopy(todas, desde, b.claves, 0, b.usados);
+            bloques.add(b);
+        }
+        actualizarInicios(0);
+    }
+
+    // =====================================================================
+    //  BLOQUES
+    // =====================================================================
+
+    /**
+     * Indice del primer bloque cuya ultima clave es >= clave (bloques.size()
+     * si la clave es mayor que todas).
+     */
+    private int bloqueDe(String clave) {
+        int izq = 0, der = bloques.size();
+        while (izq < der) {
+            int mid = (izq + der) / 2;
+            if (bloques.get(mid).ultima().compareTo(clave) < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        return izq;
+    }
+
+    /**
+     * Primera posicion del bloque con clave >= la dada.
+     */
+    private static int posicionEnBloque(Bloque b, String clave) {
+        int izq = 0, der = b.usados;
+        while (izq < der) {
+            int mid = (izq + der) / 2;
+            if (b.claves[mid].compareTo(clave) < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        return izq;
+    }
+
+    private int buscarEnBloques(String clave) {
+        int i = bloqueDe(clave);
+        if (i == bloques.size()) {
+            return -1;
+        }
+        Bloque b = bloques.get(i);
+        int pos = posicionEnBloque(b, clave);
+        return pos < b.usados && b.claves[pos].equals(clave) ? b.inicio + pos : -1;
+    }
+
+    private void insertarEnBloque(String clave) {
+        if (bloques.isEmpty()) {
+            bloques.add(new Bloque(capacidadBloque));
+        }
+        // El primer bloque recien creado aun no tiene ultima clave
+        int i = bloques.get(0).usados == 0 ? 0 : Math.min(bloqueDe(clave), bloques.size() - 1);
+        Bloque b = bloques.get(i);
+        int pos = posicionEnBloque(b, clave);
+        System.arraycopy(b.claves, pos, b.claves, pos + 1, b.usados - pos);
+        b.claves[pos] = clave;
+        b.usados++;
+
+        if (b.usados == capacidadBloque) {
+            // Bloque lleno: la mitad superior pasa a un bloque nuevo
+            Bloque nuevo = new Bloque(capacidadBloque);
+            int mitad = b.usados / 2;
+            nuevo.usados = b.usados - mitad;
+            System.arraycopy(b.claves, mitad, nuevo.claves, 0, nuevo.usados);
+            Arrays.fill(b.claves, mitad, b.usados, null);
+            b.usados = mitad;
+            bloques.add(i + 1, nuevo);
+        }
+        actualizarInicios(i);
+    }
+
+    private void eliminarDeBloque(String clave) {
+        int i = bloqueDe(clave);
+        Bloque b = bloques.get(i);
+        int pos = posicionEnBloque(b, clave);
+        System.arraycopy(b.claves, pos + 1, b.claves, pos, b.usados - pos - 1);
+        b.claves[--b.usados] = null;
+
+        if (b.usados == 0) {
+            bloques.remove(i);
+        } else if (i + 1 < bloques.size()
+                && b.usados + bloques.get(i + 1).usados <= capacidadBloque / 2) {
+            // Dos bloques vecinos a menos de media capacidad se unen
+            Bloque siguiente = bloques.remove(i + 1);
+            System.arraycopy(siguiente.claves, 0, b.claves, b.usados, siguiente.usados);
+            b.usados += siguiente.usados;
+        } else if (i > 0 && bloques.get(i - 1).usados + b.usados <= capacidadBloque / 2) {
+            Bloque anterior = bloques.get(i - 1);
+            System.arraycopy(b.claves, 0, anterior.claves, anterior.usados, b.usados);
+            anterior.usados += b.usados;
+            bloques.remove(i);
+        }
+        actualizarInicios(Math.max(0, i - 1));
+    }
+
+    private void actualizarInicios(int desde) {
+        int inicio = desde == 0 ? 0 : bloques.get(desde - 1).inicio + bloques.get(desde - 1).usados;
+        for (int i = desde; i < bloques.size(); i++) {
+            Bloque b = bloques.get(i);
+            b.inicio = inicio;
+            inicio += b.usados;
+        }
+    }
+
     public int getTamaño() {
         return tamaño;
     }
@@ -148,7 +396,41 @@ public class Binario {
         return contador;
     }
 
+    public BusquedaOrdenada.Estrategia getEstrategia() {
+        return busqueda.getEstrategia();
+    }
+
+    /**
+     * Cambia la estrategia de busqueda. LINEAL no tiene sentido aca y BLOQUES
+     * solo busca en forma binaria.
+     *
+     * @throws IllegalArgumentException si la estrategia es LINEAL
+     * @throws IllegalStateException si el almacenamiento es BLOQUES y la
+     * estrategia no es BINARIA
+     */
+    public void setEstrategia(BusquedaOrdenada.Estrategia estrategia) {
+        if (estrategia == BusquedaOrdenada.Estrategia.LINEAL) {
+            throw new IllegalArgumentException("Para busqueda lineal use Secuencial.");
+        }
+        if (bloques != null && estrategia != BusquedaOrdenada.Estrategia.BINARIA) {
+            throw new IllegalStateException("El almacenamiento BLOQUES solo admite busqueda BINARIA.");
+        }
+        busqueda.setEstrategia(estrategia);
+    }
+
+    /**
+     * Comparaciones de claves de la ultima busqueda en ARREGLO (insertar y
+     * eliminar tambien buscan). En BLOQUES queda en 0.
+     */
+    public int getComparaciones() {
+        return comparaciones;
+    }
+
     public boolean estaLleno() {
         return contador >= tamaño;
     }
+
+    public Almacenamiento getAlmacenamiento() {
+        return almacenamiento;
+    }
 }
@@ -1,7 +1,11 @@
 package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveUtil;
+import java.io.Closeable;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * Busqueda Externa Binaria (por bloques, CON ordenamiento).
@@ -13,8 +17,32 @@ import java.util.ArrayList;
  * elemento: - Si clave <= ultimo del bloque -> entra al bloque y busca uno a
  * uno. - Si clave > ultimo del bloque -> pasa al siguiente bloque. - Si paso
  * todos los bloques sin entrar -> no existe.
+ *
+ * Organizacion de los bloques al insertar/eliminar:
+ * - REDISTRIBUIR: se arma la lista plana ordenada y se vuelven a llenar todos
+ *   los bloques de a TB (cada escritura reescribe el archivo completo).
+ * - DIVISION: como las hojas de un arbol B+, la clave entra en su bloque y
+ *   solo si este pasa de TB registros se divide en dos (el izquierdo queda con
+ *   factorLlenado * TB). Al eliminar, un bloque que baja de la mitad del
+ *   llenado se une con un vecino o le pide registros prestados. Cada
+ *   operacion toca uno o dos bloques y la cantidad de bloques varia.
+ *
+ * Indice de bloques: se guarda en memoria la ultima clave de cada bloque no
+ * vacio (maximos). Con setBusquedaIndexada(true) buscar ubica el bloque por
+ * busqueda binaria sobre ese indice y dentro del bloque tambien busca en
+ * forma binaria: O(log N) comparaciones y un solo bloque visitado. Insertar y
+ * eliminar siempre usan el indice para ubicar la clave.
+ *
+ * Los bloques viven en memoria o, con el constructor que recibe un Path, en
+ * un archivo de paginas (una pagina por bloque); en ese caso getLecturas y
+ * getEscrituras cuentan las paginas realmente leidas y escritas. El archivo
+ * puede pasar por un PoolPaginas compartido.
  */
-public class BinarioExterno {
+public class BinarioExterno implements Closeable {
+
+    public enum Organizacion {
+        REDISTRIBUIR, DIVISION
+    }
 
     public static class ResultadoBusqueda {
 
@@ -51,36 +79,96 @@ public class BinarioExterno {
     private final int TB;
     private final int numBloques;
     private final int longClave;
+    private final Organizacion organizacion;
+    private final double factorLlenado;
 
     /**
-     * bloques.get(i) = claves del bloque i, siempre ordenadas.
+     * Bloque i = claves del bloque i, siempre ordenadas.
      */
-    private final ArrayList<ArrayList<String>> bloques;
+    private final AlmacenBloques bloques;
 
     private int contador;
 
+    /**
+     * maximos[i] = ultima clave del bloque i. Los bloques no vacios son
+     * siempre los primeros numMaximos.
+     */
+    private String[] maximos;
+    private int numMaximos;
+    private boolean busquedaIndexada;
+
     /**
      * @param N Número máximo de registros.
      * @param longClave Cantidad de caracteres por clave.
      */
     public BinarioExterno(int N, int longClave) {
+        this(N, longClave, Organizacion.REDISTRIBUIR, 1.0);
+    }
+
+    /**
+     * @param N Número máximo de registros.
+     * @param longClave Cantidad de caracteres por clave.
+     * @param organizacion REDISTRIBUIR o DIVISION.
+     * @param factorLlenado Fraccion de TB que conserva el bloque izquierdo al
+     * dividirse, en (0, 1]. Solo se usa con DIVISION.
+     */
+    public BinarioExterno(int N, int longClave, Organizacion organizacion, double factorLlenado) {
+        this(N, longClave, organizacion, factorLlenado, null);
+    }
+
+    /**
+     * @param N Número máximo de registros.
+     * @param longClave Cantidad de caracteres por clave.
+     * @param organizacion REDISTRIBUIR o DIVISION.
+     * @param factorLlenado Fraccion de TB que conserva el bloque izquierdo al
+     * dividirse, en (0, 1]. Solo se usa con DIVISION.
+     * @param archivo Archivo de paginas a crear (se trunca si existe), o null
+     * para guardar los bloques en memoria.
+     */
+    public BinarioExterno(int N, int longClave, Organizacion organizacion, double factorLlenado,
+            Path archivo) {
+        this(N, longClave, organizacion, factorLlenado, archivo, null);
+    }
+
+    /**
+     * @param N Número máximo de registros.
+     * @param longClave Cantidad de caracteres por clave.
+     * @param organizacion REDISTRIBUIR o DIVISION.
+     * @param factorLlenado Fraccion de TB que conserva el bloque izquierdo al
+     * dividirse, en (0, 1]. Solo se usa con DIVISION.
+     * @param archivo Archivo de paginas a crear (se trunca si existe), o null
+     * para guardar los bloques en memoria.
+     * @param pool Pool de paginas por el que pasa el archivo, o null.
+     */
+    public BinarioExterno(int N, int longClave, Organizacion organizacion, double factorLlenado,
+            Path archivo, PoolPaginas pool) {
         if (N <= 0) {
             throw new IllegalArgumentException("N debe ser mayor que 0.");
         }
         if (longClave <= 0) {
             throw new IllegalArgumentException("La longitud de clave debe ser mayor que 0.");
         }
+        if (organizacion == null) {
+            throw new IllegalArgumentException("La organizacion es obligatoria.");
+        }
+        if (factorLlenado <= 0 || factorLlenado > 1) {
+            throw new IllegalArgumentException("El factor de llenado debe estar en (0, 1].");
+        }
 
         this.N = N;
         this.TB = (int) Math.sqrt(N);
         this.numBloques = (int) Math.ceil((double) N / TB);
         this.longClave = longClave;
+        this.organizacion = organizacion;
+        this.factorLlenado = factorLlenado;
         this.contador = 0;
 
-        this.bloques = new ArrayList<>();
-        for (int i = 0; i < numBloques; i++) {
-            bloques.add(new ArrayList<>());
-        }
+        int iniciales = organizacion == Organizacion.REDISTRIBUIR ? numBloques : 1;
+        this.bloques = archivo == null
+                ? AlmacenBloques.enMemoria(iniciales)
+                : AlmacenBloques.enArchivo(archivo, iniciales, TB, longClave, pool);
+        this.maximos = new String[iniciales];
+        this.numMaximos = 0;
     }
 
     /**
@@ -98,11 +186,18 @@ public class BinarioExterno {
             throw new IllegalStateException(
                     "El archivo está lleno. Capacidad máxima: " + N + " registros.");
         }
-        if (buscar(clave).encontrada) {
+        if (buscarEnIndice(clave).encontrada) {
             throw new IllegalStateException(
                     "La clave '" + clave + "' ya existe.");
         }
 
+        if (organizacion == Organizacion.DIVISION) {
+            insertarDividiendo(clave);
+            contador++;
+            actualizarIndice();
+            return;
+        }
+
         // Obtener lista plana ordenada e insertar en posicion correcta
         ArrayList<String> plana = obtenerListaPlana();
         int pos = posicionDeInsercion(plana, clave);
@@ -110,6 +205,43 @@ public class BinarioExterno {
         contador++;
 
         redistribuirEnBloques(plana);
+        actualizarIndice();
+    }
+
+    /**
+     * Carga varias claves de una vez: las ordena una sola vez, las mezcla con
+     * las que ya estan y escribe cada bloque una vez, en lugar de buscar y
+     * reescribir el archivo por cada clave. REDISTRIBUIR llena los bloques de
+     * a TB; DIVISION deja factorLlenado * TB por bloque, como tras dividir.
+     * Si alguna clave es invalida, repetida o no caben todas, no se inserta
+     * ninguna.
+     *
+     * @throws IllegalStateException si no caben o alguna clave ya existe
+     * @throws IllegalArgumentException si alguna clave tiene longitud
+     * incorrecta
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        String[] nuevas = CargaMasiva.validar(claves, longClave, N - contador);
+        String[] todas = CargaMasiva.mezclar(obtenerListaPlana(), nuevas, "");
+        contador = todas.length;
+
+        if (organizacion == Organizacion.REDISTRIBUIR) {
+            redistribuirEnBloques(new ArrayList<>(Arrays.asList(todas)));
+        } else {
+            int porBloque = Math.max(1, Math.min(TB, (int) (factorLlenado * TB)));
+            int b = 0;
+            for (int desde = 0; desde < todas.length; desde += porBloque, b++) {
+                if (b == bloques.cantidad()) {
+                    bloques.insertarBloque(b);
+                }
+                int hasta = Math.min(desde + porBloque, todas.length);
+                bloques.escribir(b, new ArrayList<>(Arrays.asList(todas).subList(desde, hasta)));
+            }
+            while (bloques.cantidad() > Math.max(1, b)) {
+                bloques.quitarBloque(bloques.cantidad() - 1);
+            }
+        }
+        actualizarIndice();
     }
 
     /**
@@ -121,17 +253,19 @@ public class BinarioExterno {
         if (clave == null || clave.isEmpty()) {
             return new ResultadoBusqueda(-1, -1, 0, 0, false);
         }
+        if (busquedaIndexada) {
+            return buscarEnIndice(clave);
+        }
 
         int bloquesVisitados = 0;
         int comparaciones = 0;
 
-        for (int b = 0; b < bloques.size(); b++) {
-            ArrayList<String> bloque = bloques.get(b);
-
-            if (bloque.isEmpty()) {
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            if (bloques.usados(b) == 0) {
                 continue;
             }
 
+            ArrayList<String> bloque = bloques.leer(b);
             bloquesVisitados++;
             String ultimo = bloque.get(bloque.size() - 1);
             comparaciones++;
@@ -162,17 +296,99 @@ public class BinarioExterno {
     public void eliminar(String clave) {
         ClaveUtil.validar(clave, longClave);
 
-        ResultadoBusqueda r = buscar(clave);
+        ResultadoBusqueda r = buscarEnIndice(clave);
         if (!r.encontrada) {
             throw new IllegalArgumentException(
                     "La clave '" + clave + "' no existe.");
         }
 
+        if (organizacion == Organizacion.DIVISION) {
+            eliminarUniendo(r.numBloque - 1, r.posEnBloque - 1);
+            contador--;
+            actualizarIndice();
+            return;
+        }
+
         ArrayList<String> plana = obtenerListaPlana();
         plana.remove(clave);
         contador--;
 
         redistribuirEnBloques(plana);
+        actualizarIndice();
+    }
+
+    // =====================================================================
+    //  INDICE DE BLOQUES
+    // =====================================================================
+
+    /**
+     * Busqueda binaria sobre maximos para elegir el bloque y luego binaria
+     * dentro del bloque. Cada compareTo cuenta como una comparacion.
+     */
+    private ResultadoBusqueda buscarEnIndice(String clave) {
+        int comparaciones = 0;
+        int izq = 0, der = numMaximos;
+        while (izq < der) {
+            int mid = (izq + der) / 2;
+            comparaciones++;
+            if (maximos[mid].compareTo(clave) < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        if (izq == numMaximos) {
+            // Mayor que la ultima clave del archivo: no se lee ningun bloque
+            return new ResultadoBusqueda(-1, -1, 0, comparaciones, false);
+        }
+
+        ArrayList<String> bloque = bloques.leer(izq);
+        int lo = 0, hi = bloque.size() - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) / 2;
+            comparaciones++;
+            int cmp = bloque.get(mid).compareTo(clave);
+            if (cmp == 0) {
+                return new ResultadoBusqueda(izq + 1, mid + 1, 1, comparaciones, true);
+            } else if (cmp < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return new ResultadoBusqueda(-1, -1, 1, comparaciones, false);
+    }
+
+    /**
+     * Primer bloque cuya ultima clave es >= clave (numMaximos si es mayor que
+     * todas).
+     */
+    private int bloqueCandidato(String clave) {
+        int izq = 0, der = numMaximos;
+        while (izq < der) {
+            int mid = (izq + der) / 2;
+            if (maximos[mid].compareTo(clave) < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        return izq;
+    }
+
+    /**
+     * Rearma maximos a partir de los bloques, O(numero de bloques). No lee
+     * los bloques: la ultima clave de cada uno la guarda el almacen.
+     */
+    private void actualizarIndice() {
+        if (maximos.length < bloques.cantidad()) {
+            maximos = new String[Math.max(bloques.cantidad(), 2 * maximos.length)];
+        }
+        numMaximos = 0;
+        for (int b = 0; b < bloques.cantidad() && bloques.usados(b) > 0; b++) {
+            maximos[numMaximos++] = bloques.ultima(b);
+        }
+        Arrays.fill(maximos, numMaximos, maximos.length, null);
     }
 
     /**
@@ -180,8 +396,10 @@ public class BinarioExterno {
      */
     private ArrayList<String> obtenerListaPlana() {
         ArrayList<String> plana = new ArrayList<>();
-        for (ArrayList<String> bloque : bloques) {
-            plana.addAll(bloque);
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            if (bloques.usados(b) > 0) {
+                plana.addAll(bloques.leer(b));
+            }
         }
         return plana;
     }
@@ -206,14 +424,73 @@ public class BinarioExterno {
      * Redistribuye la lista plana ordenada en los bloques de tamaño TB.
      */
     private void redistribuirEnBloques(ArrayList<String> plana) {
-        for (ArrayList<String> bloque : bloques) {
-            bloque.clear();
-        }
         int idx = 0;
-        for (int b = 0; b < numBloques && idx < plana.size(); b++) {
-            for (int j = 0; j < TB && idx < plana.size(); j++) {
-                bloques.get(b).add(plana.get(idx++));
+        for (int b = 0; b < numBloques; b++) {
+            int hasta = Math.min(idx + TB, plana.size());
+            // Los bloques vacios que siguen vacios no se reescriben
+            if (idx < hasta || bloques.usados(b) > 0) {
+                bloques.escribir(b, new ArrayList<>(plana.subList(idx, hasta)));
             }
+            idx = hasta;
+        }
+    }
+
+    // =====================================================================
+    //  DIVISION
+    // =====================================================================
+
+    /**
+     * Inserta en el primer bloque cuya ultima clave es >= clave (o en el
+     * ultimo) y lo divide si pasa de TB registros.
+     */
+    private void insertarDividiendo(String clave) {
+        int b = Math.min(bloqueCandidato(clave), bloques.cantidad() - 1);
+        ArrayList<String> bloque = bloques.leer(b);
+        bloque.add(posicionDeInsercion(bloque, clave), clave);
+
+        if (bloque.size() > TB) {
+            int quedan = Math.max(1, Math.min(TB, (int) (factorLlenado * TB)));
+            ArrayList<String> derecho = new ArrayList<>(bloque.subList(quedan, bloque.size()));
+            bloque.subList(quedan, bloque.size()).clear();
+            bloques.insertarBloque(b + 1);
+            bloques.escribir(b + 1, derecho);
+        }
+        bloques.escribir(b, bloque);
+    }
+
+    /**
+     * Quita la clave del bloque b y, si este queda por debajo del minimo, lo
+     * une con un vecino (si entran juntos en TB) o le pide prestado.
+     */
+    private void eliminarUniendo(int b, int pos) {
+        ArrayList<String> bloque = bloques.leer(b);
+        bloque.remove(pos);
+
+        int minimo = Math.max(1, (int) (factorLlenado * TB) / 2);
+        if (bloque.size() >= minimo || bloques.cantidad() == 1) {
+            bloques.escribir(b, bloque);
+            return;
+        }
+        // Vecino: el siguiente, o el anterior si es el ultimo bloque
+        int izq = b + 1 < bloques.cantidad() ? b : b - 1;
+        ArrayList<String> a = izq == b ? bloque : bloques.leer(izq);
+        ArrayList<String> c = izq == b ? bloques.leer(izq + 1) : bloque;
+
+        if (a.size() + c.size() <= TB) {
+            a.addAll(c);
+            bloques.escribir(izq, a);
+            bloques.quitarBloque(izq + 1);
+        } else {
+            // Prestamo: repartir los registros de los dos por mitades
+            ArrayList<String> ambos = new ArrayList<>(a);
+            ambos.addAll(c);
+            int mitad = ambos.size() / 2;
+            a.clear();
+            a.addAll(ambos.subList(0, mitad));
+            c.clear();
+            c.addAll(ambos.subList(mitad, ambos.size()));
+            bloques.escribir(izq, a);
+            bloques.escribir(izq + 1, c);
         }
     }
 
@@ -222,8 +499,8 @@ public class BinarioExterno {
      */
     public ArrayList<ArrayList<String>> obtenerBloques() {
         ArrayList<ArrayList<String>> copia = new ArrayList<>();
-        for (ArrayList<String> b : bloques) {
-            copia.add(new ArrayList<>(b));
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            copia.add(new ArrayList<>(bloques.leer(b)));
         }
         return copia;
     }
@@ -232,7 +509,7 @@ public class BinarioExterno {
      * Resumen
      */
     public String obtenerInfo() {
-        return "N=" + N + "  TB=" + TB + "  Bloques=" + numBloques
+        return "N=" + N + "  TB=" + TB + "  Bloques=" + getNumBloques()
                 + "  Registros actuales=" + contador;
     }
 
@@ -244,8 +521,31 @@ public class BinarioExterno {
         return TB;
     }
 
+    /**
+     * Con DIVISION la cantidad de bloques cambia con las divisiones y uniones.
+     */
     public int getNumBloques() {
-        return numBloques;
+        return organizacion == Organizacion.DIVISION ? bloques.cantidad() : numBloques;
+    }
+
+    public Organizacion getOrganizacion() {
+        return organizacion;
+    }
+
+    public double getFactorLlenado() {
+        return factorLlenado;
+    }
+
+    public boolean isBusquedaIndexada() {
+        return busquedaIndexada;
+    }
+
+    /**
+     * true: buscar usa el indice de bloques (un bloque visitado, O(log N)
+     * comparaciones). false: recorre los bloques uno a uno.
+     */
+    public void setBusquedaIndexada(boolean busquedaIndexada) {
+        this.busquedaIndexada = busquedaIndexada;
     }
 
     public int getLongClave() {
@@ -259,4 +559,26 @@ public class BinarioExterno {
     public boolean estaLleno() {
         return contador >= N;
     }
+
+    /**
+     * Paginas leidas del archivo (0 en memoria).
+     */
+    public long getLecturas() {
+        return bloques.getLecturas();
+    }
+
+    /**
+     * Paginas escritas en el archivo (0 en memoria).
+     */
+    public long getEscrituras() {
+        return bloques.getEscrituras();
+    }
+
+    /**
+     * Cierra el archivo de paginas, si hay.
+     */
+    @Override
+    public void close() {
+        bloques.close();
+    }
 }
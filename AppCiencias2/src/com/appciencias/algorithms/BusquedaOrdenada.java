@@ -0,0 +1,206 @@
+package com.appciencias.algorithms;
+
+import com.appciencias.models.ClaveUtil;
+import java.util.ArrayList;
+
+/**
+ * Busqueda en las primeras n posiciones de una ArenaClaves ordenada, con la
+ * estrategia elegida y contando las comparaciones de claves.
+ *
+ * Estrategias:
+ * - LINEAL: recorre desde el inicio y corta al pasar la clave. O(n).
+ * - BINARIA: parte el rango a la mitad. O(log n).
+ * - INTERPOLACION: estima la posicion con el k de la clave (ClaveUtil.aNumero)
+ *   entre los k de los extremos del rango. Con claves numericas casi
+ *   uniformes son O(log log n) pasos. Si la clave no es numerica, el rango no
+ *   permite estimar o el paso anterior no descarto al menos la mitad, ese
+ *   paso toma la mitad, asi el peor caso sigue siendo O(log n). La respuesta
+ *   sale siempre de comparar las claves: una mala estimacion solo cuesta
+ *   pasos, nunca da un resultado incorrecto.
+ * - EXPONENCIAL: galopa desde el final (n-1, n-2, n-4, n-8, ...) hasta pasar
+ *   la clave y termina con binaria en el ultimo salto. O(log d) con d la
+ *   distancia al final: conviene cuando se buscan las ultimas insertadas
+ *   (claves crecientes, como codigos asignados en orden).
+ *
+ * Con setRegistrarPasos(true) guarda cada comparacion como {izq, der, pos}
+ * (rango vigente y posicion comparada) para animarla.
+ */
+public final class BusquedaOrdenada {
+
+    public enum Estrategia {
+        LINEAL, BINARIA, INTERPOLACION, EXPONENCIAL
+    }
+
+    private Estrategia estrategia;
+    private int comparaciones;       // de la ultima busqueda
+    private long totalComparaciones; // desde que se creo
+    private ArrayList<int[]> pasos;  // null = no registrar
+
+    public BusquedaOrdenada(Estrategia estrategia) {
+        setEstrategia(estrategia);
+    }
+
+    /**
+     * @param t Arena con las claves ordenadas en [0, n)
+     * @param n Posiciones ocupadas
+     * @param clave Clave buscada (para el k de INTERPOLACION)
+     * @param codigo t.codificar(clave)
+     * @return Posicion (base 0) o -1 si no esta
+     */
+    public int buscar(ArenaClaves t, int n, String clave, long[] codigo) {
+        comparaciones = 0;
+        if (pasos != null) {
+            pasos.clear();
+        }
+        int pos;
+        switch (estrategia) {
+            case LINEAL:
+                pos = lineal(t, n, codigo);
+                break;
+            case INTERPOLACION:
+                pos = interpolacion(t, n, codigo, ClaveUtil.esNumerica(clave) ? ArenaClaves.numero(clave) : -1);
+                break;
+            case EXPONENCIAL:
+                pos = exponencial(t, n, codigo);
+                break;
+            default:
+                pos = binaria(t, 0, n - 1, codigo);
+        }
+        totalComparaciones += comparaciones;
+        return pos;
+    }
+
+    private int lineal(ArenaClaves t, int n, long[] codigo) {
+        for (int i = 0; i < n; i++) {
+            int cmp = comparar(t, i, codigo, i, n - 1);
+            if (cmp == 0) {
+                return i;
+            }
+            if (cmp > 0) {
+                return -1; // ya pasamos el punto donde deberia estar
+            }
+        }
+        return -1;
+    }
+
+    private int binaria(ArenaClaves t, int izq, int der, long[] codigo) {
+        while (izq <= der) {
+            int mid = (izq + der) >>> 1;
+            int cmp = comparar(t, mid, codigo, izq, der);
+            if (cmp == 0) {
+                return mid;
+            } else if (cmp < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int interpolacion(ArenaClaves t, int n, long[] codigo, long k) {
+        int izq = 0, der = n - 1;
+        boolean estimar = k >= 0;
+        while (izq <= der) {
+            int pos = (izq + der) >>> 1;
+            if (estimar) {
+                long kIzq = t.numero(izq), kDer = t.numero(der);
+                if (kIzq >= 0 && kIzq <= k && k <= kDer && kIzq < kDer) {
+                    pos = izq + (int) ((double) (k - kIzq) / (kDer - kIzq) * (der - izq));
+                }
+            }
+            int rango = der - izq;
+            int cmp = comparar(t, pos, codigo, izq, der);
+            if (cmp == 0) {
+                return pos;
+            } else if (cmp < 0) {
+                izq = pos + 1;
+            } else {
+                der = pos - 1;
+            }
+            // Si la estimacion no descarto la mitad, el siguiente paso biseca
+            estimar = k >= 0 && der - izq <= rango / 2;
+        }
+        return -1;
+    }
+
+    private int exponencial(ArenaClaves t, int n, long[] codigo) {
+        int der = n - 1;
+        for (int salto = 1; salto <= n; salto <<= 1) {
+            int pos = n - salto;
+            int cmp = comparar(t, pos, codigo, pos, der);
+            if (cmp == 0) {
+                return pos;
+            }
+            if (cmp < 0) {
+                return binaria(t, pos + 1, der, codigo);
+            }
+            der = pos - 1;
+        }
+        return binaria(t, 0, der, codigo);
+    }
+
+    /**
+     * Busqueda binaria que no cuenta ni registra nada (no escribe ningun
+     * campo), para los contiene que corren en varios hilos a la vez.
+     *
+     * @return Posicion (base 0) o -1 si no esta
+     */
+    static int binariaSinContar(ArenaClaves t, int n, long[] codigo) {
+        int izq = 0, der = n - 1;
+        while (izq <= der) {
+            int mid = (izq + der) >>> 1;
+            int cmp = t.comparar(mid, codigo);
+            if (cmp == 0) {
+                return mid;
+            } else if (cmp < 0) {
+                izq = mid + 1;
+            } else {
+                der = mid - 1;
+            }
+        }
+        return -1;
+    }
+
+    private int comparar(ArenaClaves t, int pos, long[] codigo, int izq, int der) {
+        comparaciones++;
+        if (pasos != null) {
+            pasos.add(new int[]{izq, der, pos});
+        }
+        return t.comparar(pos, codigo);
+    }
+
+    public Estrategia getEstrategia() {
+        return estrategia;
+    }
+
+    public void setEstrategia(Estrategia estrategia) {
+        if (estrategia == null) {
+            throw new IllegalArgumentException("La estrategia es obligatoria.");
+        }
+        this.estrategia = estrategia;
+    }
+
+    /**
+     * Comparaciones de claves de la ultima busqueda.
+     */
+    public int getComparaciones() {
+        return comparaciones;
+    }
+
+    public long getTotalComparaciones() {
+        return totalComparaciones;
+    }
+
+    public void setRegistrarPasos(boolean registrar) {
+        pasos = registrar ? new ArrayList<>() : null;
+    }
+
+    /**
+     * Pasos de la ultima busqueda como {izq, der, pos} (vacia si no se
+     * registran).
+     */
+    public ArrayList<int[]> getPasos() {
+        return pasos == null ? new ArrayList<>() : new ArrayList<>(pasos);
+    }
+}
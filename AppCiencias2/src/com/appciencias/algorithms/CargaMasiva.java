@@ -0,0 +1,77 @@
+package com.appciencias.algorithms;
+
+import com.appciencias.models.ClaveUtil;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Pasos comunes de los cargarMasivo: validar todas las claves antes de tocar
+ * la estructura (si algo falla no se inserta ninguna) y detectar repetidos
+ * sin buscar cada clave en la estructura.
+ */
+final class CargaMasiva {
+
+    private CargaMasiva() {
+    }
+
+    /**
+     * Valida la longitud de cada clave y que entren en el espacio libre.
+     *
+     * @return Las claves en un arreglo nuevo
+     */
+    static String[] validar(Collection<String> claves, int longClave, int disponibles) {
+        String[] nuevas = claves.toArray(new String[0]);
+        for (String clave : nuevas) {
+            ClaveUtil.validar(clave, longClave);
+        }
+        if (nuevas.length > disponibles) {
+            throw new IllegalStateException("No caben " + nuevas.length
+                    + " claves. Espacio disponible: " + disponibles + ".");
+        }
+        return nuevas;
+    }
+
+    /**
+     * Ordena las nuevas (una sola vez) y las mezcla con las actuales, que ya
+     * vienen ordenadas. Los repetidos quedan juntos y se detectan al mezclar.
+     *
+     * @param donde Final del mensaje de error (" en el arreglo", ...)
+     * @throws IllegalStateException si alguna clave se repite
+     */
+    static String[] mezclar(List<String> actuales, String[] nuevas, String donde) {
+        Arrays.sort(nuevas);
+        String[] todas = new String[actuales.size() + nuevas.length];
+        int i = 0, j = 0, k = 0;
+        while (i < actuales.size() || j < nuevas.length) {
+            String siguiente;
+            if (j == nuevas.length || (i < actuales.size() && actuales.get(i).compareTo(nuevas[j]) < 0)) {
+                siguiente = actuales.get(i++);
+            } else {
+                siguiente = nuevas[j++];
+            }
+            if (k > 0 && todas[k - 1].equals(siguiente)) {
+                throw new IllegalStateException("La clave '" + siguiente + "' ya existe" + donde + ".");
+            }
+            todas[k++] = siguiente;
+        }
+        return todas;
+    }
+
+    /**
+     * Verifica con un HashSet que ninguna nueva este entre las actuales ni
+     * repetida entre si, O(n) esperado.
+     *
+     * @param donde Final del mensaje de error (" en el arbol", ...)
+     * @throws IllegalStateException si alguna clave se repite
+     */
+    static void sinRepetidos(Collection<String> actuales, Iterable<String> nuevas, String donde) {
+        HashSet<String> vistas = new HashSet<>(actuales);
+        for (String clave : nuevas) {
+            if (!vistas.add(clave)) {
+                throw new IllegalStateException("La clave '" + clave + "' ya existe" + donde + ".");
+            }
+        }
+    }
+}
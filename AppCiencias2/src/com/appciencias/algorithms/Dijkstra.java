@@ -1,8 +1,10 @@
 package com.appciencias.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * Algoritmo de Dijkstra — Camino Minimo con etiquetas.
@@ -16,9 +18,21 @@ import java.util.LinkedHashMap;
  *   PERMANENTE
  *
  * Solo funciona sobre GrafoPonderado (dirigido con pesos positivos).
+ *
+ * Modos:
+ *   TRAZADO -> numeracion ordinal + snapshot de etiquetas en cada paso (para la UI)
+ *   RAPIDO  -> solo distancias y predecesores, con heap indexado sobre la vista
+ *              compacta del grafo: O((V + E) log V)
  */
 public class Dijkstra {
 
+    /**
+     * Modo de ejecucion.
+     */
+    public enum Modo {
+        TRAZADO, RAPIDO
+    }
+
     /**
      * Estado de una etiqueta.
      */
@@ -100,6 +114,7 @@ public class Dijkstra {
      * Resultado completo de Dijkstra.
      */
     public static class Resultado {
+        public final Modo modo;
         public final LinkedHashMap<String, Integer> ordinal;
         // Etiqueta final de cada nodo (permanente o temporal si no fue alcanzado)
         public final LinkedHashMap<String, Etiqueta> etiquetasFinales;
@@ -109,11 +124,25 @@ public class Dijkstra {
         // Camino minimo reconstruido origen -> destino
         public final ArrayList<String> camino;
         public final double costoTotal;
+        // Distancias y predecesores por id de vertice (GrafoPonderado.Vista).
+        // Double.MAX_VALUE / -1 si el nodo no fue alcanzado.
+        public final String[] nombres;
+        public final double[] distancias;
+        public final int[] predecesores;
 
         public Resultado(LinkedHashMap<String, Integer> ordinal,
                          LinkedHashMap<String, Etiqueta> etiquetasFinales,
                          ArrayList<PasoDijkstra> pasos,
                          String nodoOrigen, String nodoDestino) {
+            this(Modo.TRAZADO, ordinal, etiquetasFinales, pasos, nodoOrigen, nodoDestino);
+        }
+
+        private Resultado(Modo modo,
+                          LinkedHashMap<String, Integer> ordinal,
+                          LinkedHashMap<String, Etiqueta> etiquetasFinales,
+                          ArrayList<PasoDijkstra> pasos,
+                          String nodoOrigen, String nodoDestino) {
+            this.modo            = modo;
             this.ordinal         = new LinkedHashMap<>(ordinal);
             this.etiquetasFinales = new LinkedHashMap<>(etiquetasFinales);
             this.pasos           = new ArrayList<>(pasos);
@@ -122,6 +151,21 @@ public class Dijkstra {
             this.camino          = reconstruirCamino(etiquetasFinales, nodoOrigen, nodoDestino);
             Etiqueta ed          = etiquetasFinales.get(nodoDestino);
             this.costoTotal      = (ed != null) ? ed.distancia : Double.MAX_VALUE;
+
+            // Vista por ids en el orden de las etiquetas (orden de insercion)
+            int n = etiquetasFinales.size();
+            this.nombres      = etiquetasFinales.keySet().toArray(new String[0]);
+            this.distancias   = new double[n];
+            this.predecesores = new int[n];
+            LinkedHashMap<String, Integer> ids = new LinkedHashMap<>();
+            for (int i = 0; i < n; i++) {
+                ids.put(nombres[i], i);
+            }
+            for (int i = 0; i < n; i++) {
+                Etiqueta e = etiquetasFinales.get(nombres[i]);
+                distancias[i]   = (e != null) ? e.distancia : Double.MAX_VALUE;
+                predecesores[i] = (e != null && e.predecesor != null) ? ids.get(e.predecesor) : -1;
+            }
         }
 
         private static ArrayList<String> reconstruirCamino(
@@ -150,15 +194,17 @@ public class Dijkstra {
             StringBuilder sb = new StringBuilder();
             sb.append("=== DIJKSTRA — CAMINO MÍNIMO ===\n\n");
 
-            sb.append("--- Numeración ordinal ---\n");
-            for (String v : ordinal.keySet()) {
-                sb.append("  ").append(v)
-                  .append(" -> ordinal ").append(ordinal.get(v)).append("\n");
-            }
+            if (modo == Modo.TRAZADO) {
+                sb.append("--- Numeración ordinal ---\n");
+                for (String v : ordinal.keySet()) {
+                    sb.append("  ").append(v)
+                      .append(" -> ordinal ").append(ordinal.get(v)).append("\n");
+                }
 
-            sb.append("\n--- Paso a paso ---\n");
-            for (PasoDijkstra p : pasos) {
-                sb.append(p).append("\n");
+                sb.append("\n--- Paso a paso ---\n");
+                for (PasoDijkstra p : pasos) {
+                    sb.append(p).append("\n");
+                }
             }
 
             sb.append("--- Etiquetas finales ---\n");
@@ -181,12 +227,112 @@ public class Dijkstra {
         }
     }
 
+    /**
+     * Arbol de caminos minimos desde un origen hacia todos los vertices.
+     * Distancias y predecesores indexados por id de GrafoPonderado.Vista.
+     */
+    public static class ArbolCaminos {
+        public final String nodoOrigen;
+        public final String[] nombres;
+        public final double[] distancias;  // Double.MAX_VALUE si no se alcanza
+        public final int[] predecesores;   // -1 para el origen y los no alcanzados
+        private final GrafoPonderado.Vista vista;
+
+        private ArbolCaminos(GrafoPonderado.Vista vista, String nodoOrigen,
+                             double[] distancias, int[] predecesores) {
+            this.vista        = vista;
+            this.nodoOrigen   = nodoOrigen;
+            this.nombres      = vista.nombres;
+            this.distancias   = distancias;
+            this.predecesores = predecesores;
+        }
+
+        /** Distancia minima hasta destino, Double.MAX_VALUE si no hay camino. */
+        public double distancia(String destino) {
+            int v = vista.id(destino.trim().toLowerCase());
+            if (v < 0) {
+                throw new IllegalArgumentException(
+                    "El nodo destino '" + destino + "' no existe.");
+            }
+            return distancias[v];
+        }
+
+        /** Camino minimo origen -> destino, vacio si no hay camino. */
+        public ArrayList<String> camino(String destino) {
+            ArrayList<String> camino = new ArrayList<>();
+            if (distancia(destino) == Double.MAX_VALUE) {
+                return camino;
+            }
+            for (int v = vista.id(destino.trim().toLowerCase()); v >= 0; v = predecesores[v]) {
+                camino.add(nombres[v]);
+            }
+            Collections.reverse(camino);
+            return camino;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("=== DIJKSTRA — ÁRBOL DE CAMINOS DESDE '")
+              .append(nodoOrigen).append("' ===\n");
+            for (int v = 0; v < nombres.length; v++) {
+                sb.append("  ").append(nombres[v]).append(": ");
+                if (distancias[v] == Double.MAX_VALUE) {
+                    sb.append("inalcanzable\n");
+                } else {
+                    sb.append("{").append(distancias[v]).append(", ")
+                      .append(predecesores[v] < 0 ? "-" : nombres[predecesores[v]])
+                      .append("}\n");
+                }
+            }
+            return sb.toString();
+        }
+    }
+
+    /**
+     * Consulta origen -> destino para el calculo por lotes.
+     */
+    public static class Consulta {
+        public final String origen;
+        public final String destino;
+
+        public Consulta(String origen, String destino) {
+            this.origen  = origen.trim().toLowerCase();
+            this.destino = destino.trim().toLowerCase();
+        }
+    }
+
+    /**
+     * Respuesta a una Consulta: costo y camino minimo.
+     */
+    public static class Ruta {
+        public final String origen;
+        public final String destino;
+        public final ArrayList<String> camino; // vacio si no hay camino
+        public final double costoTotal;        // Double.MAX_VALUE si no hay camino
+
+        public Ruta(String origen, String destino, ArrayList<String> camino, double costoTotal) {
+            this.origen     = origen;
+            this.destino    = destino;
+            this.camino     = camino;
+            this.costoTotal = costoTotal;
+        }
+
+        @Override
+        public String toString() {
+            if (camino.isEmpty()) {
+                return origen + " -> " + destino + ": sin camino";
+            }
+            return String.join(" -> ", camino) + " (costo: " + costoTotal + ")";
+        }
+    }
+
     // =====================================================================
     //  ALGORITMO
     // =====================================================================
 
     /**
-     * Ejecuta Dijkstra desde nodoOrigen hasta nodoDestino.
+     * Ejecuta Dijkstra en modo TRAZADO desde nodoOrigen hasta nodoDestino.
      *
      * @param grafo       Grafo dirigido ponderado con pesos positivos.
      * @param nodoOrigen  Vertice de inicio.
@@ -195,6 +341,17 @@ public class Dijkstra {
      */
     public static Resultado calcular(GrafoPonderado grafo,
                                      String nodoOrigen, String nodoDestino) {
+        return calcular(grafo, nodoOrigen, nodoDestino, Modo.TRAZADO);
+    }
+
+    /**
+     * Ejecuta Dijkstra desde nodoOrigen hasta nodoDestino en el modo indicado.
+     * En modo RAPIDO el Resultado no trae ordinal ni pasos, solo etiquetas
+     * finales, distancias, predecesores y el camino; los empates se resuelven
+     * igual que en TRAZADO (primer vertice en orden de insercion).
+     */
+    public static Resultado calcular(GrafoPonderado grafo,
+                                     String nodoOrigen, String nodoDestino, Modo modo) {
         if (grafo == null || grafo.getNumVertices() == 0) {
             throw new IllegalArgumentException("El grafo no puede estar vacío.");
         }
@@ -211,12 +368,16 @@ public class Dijkstra {
                 "El nodo destino '" + nodoDestino + "' no existe.");
         }
 
+        if (modo == Modo.RAPIDO) {
+            return calcularRapido(grafo.getVista(), nodoOrigen, nodoDestino);
+        }
+
         // Paso 1: numeracion ordinal
         Ordinal.Resultado ordinalRes = Ordinal.calcularDirigido(grafo);
         LinkedHashMap<String, Integer> numeracion = ordinalRes.numeracion;
 
-        ArrayList<GrafoPonderado.AristaPonderada> aristas = grafo.getAristas();
-        ArrayList<String> vertices = grafo.getVertices();
+        GrafoPonderado.Vista g = grafo.getVista();
+        List<String> vertices = grafo.getVertices();
 
         // Paso 2: inicializar etiquetas — todas sin etiqueta (null = no visitado)
         LinkedHashMap<String, Etiqueta> etiquetas = new LinkedHashMap<>();
@@ -237,16 +398,15 @@ public class Dijkstra {
             Etiqueta etActual = etiquetas.get(nodoActual);
 
             // Explorar aristas que salen del nodo actual
-            for (GrafoPonderado.AristaPonderada arista : aristas) {
-                if (!arista.origen.equals(nodoActual)) continue;
-
-                String vDestino = arista.destino;
+            int u = g.id(nodoActual);
+            for (int i = g.inicioSalida[u]; i < g.inicioSalida[u + 1]; i++) {
+                String vDestino = g.nombres[g.destinoSalida[i]];
                 Etiqueta etDestino = etiquetas.get(vDestino);
 
                 // Si ya es permanente no se toca
                 if (etDestino != null && etDestino.estado == EstadoEtiqueta.PERMANENTE) continue;
 
-                double nuevaDistancia = etActual.distancia + arista.peso;
+                double nuevaDistancia = etActual.distancia + g.pesoSalida[i];
                 Etiqueta nuevaEtiqueta = new Etiqueta(nuevaDistancia, nodoActual,
                                                       EstadoEtiqueta.TEMPORAL);
 
@@ -298,4 +458,192 @@ public class Dijkstra {
 
         return new Resultado(numeracion, etiquetas, pasos, nodoOrigen, nodoDestino);
     }
-}
\ No newline at end of file
+
+    // =====================================================================
+    //  MODO RAPIDO
+    // =====================================================================
+
+    /**
+     * Calcula el arbol de caminos minimos desde nodoOrigen hacia todos los
+     * vertices en una sola pasada (modo RAPIDO, sin ordinal ni pasos).
+     */
+    public static ArbolCaminos calcularDesde(GrafoPonderado grafo, String nodoOrigen) {
+        if (grafo == null || grafo.getNumVertices() == 0) {
+            throw new IllegalArgumentException("El grafo no puede estar vacío.");
+        }
+        nodoOrigen = nodoOrigen.trim().toLowerCase();
+        GrafoPonderado.Vista g = grafo.getVista();
+        int origen = g.id(nodoOrigen);
+        if (origen < 0) {
+            throw new IllegalArgumentException(
+                "El nodo origen '" + nodoOrigen + "' no existe.");
+        }
+
+        double[] dist = new double[g.n];
+        int[] pred = new int[g.n];
+        expandir(g, origen, -1, dist, pred, new boolean[g.n]);
+        return new ArbolCaminos(g, nodoOrigen, dist, pred);
+    }
+
+    /**
+     * Resuelve varias consultas origen -> destino. Las consultas se agrupan por
+     * origen y se hace una sola busqueda por cada origen distinto.
+     *
+     * @return una Ruta por consulta, en el mismo orden recibido.
+     */
+    public static ArrayList<Ruta> calcularLote(GrafoPonderado grafo, List<Consulta> consultas) {
+        if (grafo == null || grafo.getNumVertices() == 0) {
+            throw new IllegalArgumentException("El grafo no puede estar vacío.");
+        }
+        GrafoPonderado.Vista g = grafo.getVista();
+        for (Consulta c : consultas) {
+            if (g.id(c.destino) < 0) {
+                throw new IllegalArgumentException(
+                    "El nodo destino '" + c.destino + "' no existe.");
+            }
+        }
+
+        LinkedHashMap<String, ArbolCaminos> arboles = new LinkedHashMap<>();
+        ArrayList<Ruta> rutas = new ArrayList<>();
+        for (Consulta c : consultas) {
+            ArbolCaminos arbol = arboles.get(c.origen);
+            if (arbol == null) {
+                arbol = calcularDesde(grafo, c.origen);
+                arboles.put(c.origen, arbol);
+            }
+            rutas.add(new Ruta(c.origen, c.destino,
+                    arbol.camino(c.destino), arbol.distancia(c.destino)));
+        }
+        return rutas;
+    }
+
+    private static Resultado calcularRapido(GrafoPonderado.Vista g,
+                                            String nodoOrigen, String nodoDestino) {
+        double[] dist = new double[g.n];
+        int[] pred = new int[g.n];
+        boolean[] permanente = new boolean[g.n];
+        expandir(g, g.id(nodoOrigen), g.id(nodoDestino), dist, pred, permanente);
+
+        LinkedHashMap<String, Etiqueta> etiquetas = new LinkedHashMap<>();
+        for (int v = 0; v < g.n; v++) {
+            Etiqueta e = null;
+            if (dist[v] != Double.MAX_VALUE) {
+                e = new Etiqueta(dist[v], (pred[v] < 0) ? null : g.nombres[pred[v]],
+                        permanente[v] ? EstadoEtiqueta.PERMANENTE : EstadoEtiqueta.TEMPORAL);
+            }
+            etiquetas.put(g.nombres[v], e);
+        }
+
+        return new Resultado(Modo.RAPIDO, new LinkedHashMap<>(), etiquetas,
+                new ArrayList<>(), nodoOrigen, nodoDestino);
+    }
+
+    /**
+     * Nucleo del modo RAPIDO. Llena dist/pred/permanente desde origen; si
+     * destino >= 0 se detiene al hacerlo permanente (tras expandir sus
+     * aristas, igual que TRAZADO), si es -1 recorre todo lo alcanzable.
+     */
+    private static void expandir(GrafoPonderado.Vista g, int origen, int destino,
+                                 double[] dist, int[] pred, boolean[] permanente) {
+        Arrays.fill(dist, Double.MAX_VALUE);
+        Arrays.fill(pred, -1);
+
+        HeapIndexado heap = new HeapIndexado(dist);
+        dist[origen] = 0.0;
+        heap.actualizar(origen);
+
+        while (!heap.vacio()) {
+            int u = heap.extraerMinimo();
+            permanente[u] = true;
+
+            for (int i = g.inicioSalida[u]; i < g.inicioSalida[u + 1]; i++) {
+                int v = g.destinoSalida[i];
+                if (permanente[v]) continue;
+                double nuevaDistancia = dist[u] + g.pesoSalida[i];
+                if (nuevaDistancia < dist[v]) {
+                    dist[v] = nuevaDistancia;
+                    pred[v] = u;
+                    heap.actualizar(v);
+                }
+            }
+            if (u == destino) break;
+        }
+    }
+
+    /**
+     * Min-heap binario indexado por id de vertice sobre un arreglo de
+     * distancias externo. Permite insertar o reducir la clave de un vertice en
+     * O(log V). En empate sale primero el id menor.
+     */
+    private static class HeapIndexado {
+        private final double[] clave;
+        private final int[] heap;     // posicion -> vertice
+        private final int[] posicion; // vertice -> posicion, -1 si no esta
+        private int tamaño;
+
+        public HeapIndexado(double[] clave) {
+            this.clave    = clave;
+            this.heap     = new int[clave.length];
+            this.posicion = new int[clave.length];
+            Arrays.fill(posicion, -1);
+        }
+
+        public boolean vacio() {
+            return tamaño == 0;
+        }
+
+        /** Inserta v o lo reubica tras reducir su clave. */
+        public void actualizar(int v) {
+            if (posicion[v] < 0) {
+                heap[tamaño] = v;
+                posicion[v] = tamaño;
+                tamaño++;
+            }
+            subir(posicion[v]);
+        }
+
+        public int extraerMinimo() {
+            int min = heap[0];
+            tamaño--;
+            posicion[min] = -1;
+            if (tamaño > 0) {
+                heap[0] = heap[tamaño];
+                posicion[heap[0]] = 0;
+                bajar(0);
+            }
+            return min;
+        }
+
+        private boolean menor(int a, int b) {
+            return clave[a] < clave[b] || (clave[a] == clave[b] && a < b);
+        }
+
+        private void subir(int i) {
+            int v = heap[i];
+            while (i > 0) {
+                int padre = (i - 1) >>> 1;
+                if (!menor(v, heap[padre])) break;
+                heap[i] = heap[padre];
+                posicion[heap[i]] = i;
+                i = padre;
+            }
+            heap[i] = v;
+            posicion[v] = i;
+        }
+
+        private void bajar(int i) {
+            int v = heap[i];
+            while (true) {
+                int hijo = 2 * i + 1;
+                if (hijo >= tamaño) break;
+                if (hijo + 1 < tamaño && menor(heap[hijo + 1], heap[hijo])) hijo++;
+                if (!menor(heap[hijo], v)) break;
+                heap[i] = heap[hijo];
+                posicion[heap[i]] = i;
+                i = hijo;
+            }
+            heap[i] = v;
+            posicion[v] = i;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveUtil;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 
 /**
  * DInamicas (expansion y reduccion partiales y totaes)
@@ -17,6 +18,19 @@ import java.util.ArrayList;
  *
  * Expansion total : numCubetas × 2 Expansion parcial : ceil(numCubetas × 1.5)
  * Reduccion total : numCubetas / 2 Reduccion parcial : floor(numCubetas / 1.5)
+ *
+ * Modo REORGANIZAR: al cruzar el umbral se cambia numCubetas de una vez y se
+ * rearman todas las cubetas desde el historial (O(n) en esa operacion).
+ *
+ * Modo LINEAL (hashing lineal): al cruzar el umbral TOTAL/PARCIAL solo fijan
+ * cuantas cubetas se quieren tener; cada insertar o eliminar posterior divide
+ * (o une) UNA cubeta hasta llegar a ese numero. Las cubetas se dividen en
+ * orden con un puntero: con numCubetas = base * 2^nivel + puntero,
+ * H(k) = k mod (base * 2^nivel) y si da menos que puntero se usa
+ * k mod (base * 2^(nivel+1)). Dividir la cubeta puntero solo mueve sus claves
+ * a la cubeta nueva del final; unir devuelve la ultima cubeta a su
+ * compañera. base es la parte impar del numero inicial de cubetas, y no se
+ * reduce por debajo de ella.
  */
 public class Dinamicas {
 
@@ -24,6 +38,10 @@ public class Dinamicas {
         TOTAL, PARCIAL
     }
 
+    public enum Modo {
+        REORGANIZAR, LINEAL
+    }
+
     public static class UltimoEvento {
 
         public final String tipo;           // "EXPANSION" o "REDUCCION"
@@ -57,6 +75,16 @@ public class Dinamicas {
     private final Tipo tipoRed;
     private final double umbralExp;
     private final double umbralRed;
+    private final Modo modo;
+
+    /**
+     * Solo LINEAL: numCubetas = cubetasBase * 2^nivel + puntero. objetivo es
+     * el numero de cubetas al que se esta expandiendo o reduciendo.
+     */
+    private int cubetasBase;
+    private int nivel;
+    private int puntero;
+    private int objetivo;
 
     /**
      * cubetas.get(i) = lista de claves en la cubeta i. Las primeras
@@ -67,7 +95,7 @@ public class Dinamicas {
     /**
      * Orden en que fueron ingresados los datos (para reorganizar).
      */
-    private ArrayList<String> historialIngreso;
+    private LinkedHashSet<String> historialIngreso;
 
     /**
      * Ultimo evento de expansion o reduccion. null si no hubo ninguno aun.
@@ -88,7 +116,21 @@ public class Dinamicas {
     public Dinamicas(int numCubetas, int regPorCubeta,
             int longClave, Tipo tipo) {
         this(numCubetas, regPorCubeta, longClave, tipo, tipo,
-                UMBRAL_EXPANSION, UMBRAL_REDUCCION);
+                UMBRAL_EXPANSION, UMBRAL_REDUCCION, Modo.REORGANIZAR);
+    }
+
+    /**
+     * @param numCubetas Numero inicial de cubetas.
+     * @param regPorCubeta Registros por cubeta (capacidad normal).
+     * @param longClave Caracteres por clave.
+     * @param tipo TOTAL o PARCIAL.
+     * @param modo REORGANIZAR (todo de una vez) o LINEAL (una cubeta por
+     * operacion).
+     */
+    public Dinamicas(int numCubetas, int regPorCubeta,
+            int longClave, Tipo tipo, Modo modo) {
+        this(numCubetas, regPorCubeta, longClave, tipo, tipo,
+                UMBRAL_EXPANSION, UMBRAL_REDUCCION, modo);
     }
 
     /**
@@ -96,12 +138,21 @@ public class Dinamicas {
      */
     public Dinamicas(int numCubetas, int regPorCubeta,
             Tipo tipoExp, Tipo tipoRed, double umbralExp, double umbralRed) {
-        this(numCubetas, regPorCubeta, 0, tipoExp, tipoRed, umbralExp, umbralRed);
+        this(numCubetas, regPorCubeta, 0, tipoExp, tipoRed, umbralExp, umbralRed,
+                Modo.REORGANIZAR);
+    }
+
+    /**
+     * Constructor con tipos y umbrales independientes y modo de reorganizacion.
+     */
+    public Dinamicas(int numCubetas, int regPorCubeta,
+            Tipo tipoExp, Tipo tipoRed, double umbralExp, double umbralRed, Modo modo) {
+        this(numCubetas, regPorCubeta, 0, tipoExp, tipoRed, umbralExp, umbralRed, modo);
     }
 
     private Dinamicas(int numCubetas, int regPorCubeta,
             int longClave, Tipo tipoExp, Tipo tipoRed,
-            double umbralExp, double umbralRed) {
+            double umbralExp, double umbralRed, Modo modo) {
         if (numCubetas <= 0) {
             throw new IllegalArgumentException("Numero deCubetas debe ser mayor que 0.");
         }
@@ -117,6 +168,9 @@ public class Dinamicas {
         if (umbralExp <= 0 || umbralRed <= 0) {
             throw new IllegalArgumentException("Los umbrales deben ser mayores que 0.");
         }
+        if (modo == null) {
+            throw new IllegalArgumentException("El modo es obligatorio.");
+        }
 
         this.numCubetas = numCubetas;
         this.regPorCubeta = regPorCubeta;
@@ -126,10 +180,20 @@ public class Dinamicas {
         this.tipoRed = tipoRed;
         this.umbralExp = umbralExp;
         this.umbralRed = umbralRed;
+        this.modo = modo;
         this.contador = 0;
-        this.historialIngreso = new ArrayList<>();
+        this.historialIngreso = new LinkedHashSet<>();
         this.ultimoEvento = null;
         this.cubetas = crearCubetasVacias(numCubetas);
+
+        this.cubetasBase = numCubetas;
+        this.nivel = 0;
+        while (cubetasBase % 2 == 0) {
+            cubetasBase /= 2;
+            nivel++;
+        }
+        this.puntero = 0;
+        this.objetivo = numCubetas;
     }
 
     /**
@@ -154,7 +218,14 @@ public class Dinamicas {
 
         // Verificar DO de expansion
         double do_ = calcularDOExpansion();
-        if (do_ > umbralExp) {
+        if (modo == Modo.LINEAL) {
+            if (objetivo <= numCubetas && do_ > umbralExp) {
+                objetivo = tipoExp == Tipo.TOTAL
+                        ? numCubetas * 2
+                        : (int) Math.ceil(numCubetas * 1.5);
+            }
+            pasoLineal(clave, do_);
+        } else if (do_ > umbralExp) {
             expandir(clave, do_);
         }
     }
@@ -197,7 +268,16 @@ public class Dinamicas {
         contador--;
 
         // Verificar DO de reduccion
-        if (numCubetas > 1) {
+        if (modo == Modo.LINEAL) {
+            double do_ = calcularDOReduccion();
+            if (objetivo >= numCubetas && numCubetas > cubetasBase && do_ < umbralRed) {
+                int reducido = tipoRed == Tipo.TOTAL
+                        ? numCubetas / 2
+                        : (int) Math.floor(numCubetas / 1.5);
+                objetivo = Math.max(cubetasBase, reducido);
+            }
+            pasoLineal(clave, do_);
+        } else if (numCubetas > 1) {
             double do_ = calcularDOReduccion();
             if (do_ < umbralRed) {
                 reducir(clave, do_);
@@ -250,6 +330,56 @@ public class Dinamicas {
                 "REDUCCION", cubetasAntes, numCubetas, claveDetonante, doAntes);
     }
 
+    /**
+     * LINEAL: si hay una expansion o reduccion en curso divide o une una sola
+     * cubeta y lo deja en ultimoEvento.
+     */
+    private void pasoLineal(String clave, double do_) {
+        int cubetasAntes = numCubetas;
+        if (objetivo > numCubetas) {
+            dividirCubeta();
+            ultimoEvento = new UltimoEvento(
+                    "EXPANSION", cubetasAntes, numCubetas, clave, do_);
+        } else if (objetivo < numCubetas) {
+            unirCubeta();
+            ultimoEvento = new UltimoEvento(
+                    "REDUCCION", cubetasAntes, numCubetas, clave, do_);
+        }
+    }
+
+    /**
+     * Divide la cubeta puntero: sus claves quedan o pasan a la cubeta nueva
+     * (puntero + base * 2^nivel), en el mismo orden.
+     */
+    private void dividirCubeta() {
+        int origen = puntero;
+        ArrayList<String> claves = cubetas.get(origen);
+        cubetas.set(origen, new ArrayList<>());
+        cubetas.add(new ArrayList<>());
+        numCubetas++;
+        puntero++;
+        if (puntero == cubetasBase << nivel) {
+            nivel++;
+            puntero = 0;
+        }
+        for (String c : claves) {
+            cubetas.get(hash(c)).add(c);
+        }
+    }
+
+    /**
+     * Devuelve las claves de la ultima cubeta a la cubeta de la que salio.
+     */
+    private void unirCubeta() {
+        if (puntero == 0) {
+            nivel--;
+            puntero = cubetasBase << nivel;
+        }
+        puntero--;
+        numCubetas--;
+        cubetas.get(puntero).addAll(cubetas.remove(numCubetas));
+    }
+
     /**
      * Reorganizatodos los datos en el nuevo numero de cubetas, respetando el
      * orden original de ingreso.
@@ -263,10 +393,16 @@ public class Dinamicas {
     }
 
     /**
-     * H(k) = k mod numCubetas (0-based).
+     * H(k) = k mod numCubetas (0-based). En LINEAL, k mod (base * 2^nivel), o
+     * k mod (base * 2^(nivel+1)) si la cubeta ya se dividio.
      */
     private int hash(String clave) {
         long k = ClaveUtil.aNumero(clave);
+        if (modo == Modo.LINEAL) {
+            long m = (long) cubetasBase << nivel;
+            int h = (int) (k % m);
+            return h < puntero ? (int) (k % (2 * m)) : h;
+        }
         return (int) (k % numCubetas);
     }
 
@@ -355,7 +491,10 @@ public class Dinamicas {
                 + "  DO exp=" + String.format("%.2f%%", calcularDOExpansion() * 100)
                 + "  DO red=" + String.format("%.2f%%", calcularDOReduccion() * 100)
                 + "  Umbral exp=" + String.format("%.2f", umbralExp)
-                + "  Umbral red=" + String.format("%.2f", umbralRed);
+                + "  Umbral red=" + String.format("%.2f", umbralRed)
+                + (modo == Modo.LINEAL
+                        ? "  Nivel=" + nivel + "  Puntero=" + puntero + "  Objetivo=" + objetivo
+                        : "");
     }
 
     public int getNumCubetas() {
@@ -378,6 +517,10 @@ public class Dinamicas {
         return tipo;
     }
 
+    public Modo getModo() {
+        return modo;
+    }
+
     public ArrayList<String> getHistorialIngreso() {
         return new ArrayList<>(historialIngreso);
     }
@@ -0,0 +1,449 @@
+package com.appciencias.algorithms;
+
+import com.appciencias.models.ClaveUtil;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dinamicas para varios hilos a la vez.
+ *
+ * Mismas reglas que Dinamicas: H(k) = k mod numCubetas, colisiones en la misma
+ * cubeta, DO expansion = registros / (numCubetas × regPorCubeta) y DO
+ * reduccion = registros / numCubetas contra sus umbrales, TOTAL (×2, /2) o
+ * PARCIAL (×1.5, /1.5).
+ *
+ * Concurrencia:
+ * - Cada cubeta es un String[] que no se modifica: insertar y eliminar
+ *   publican una copia. buscar no toma candados, solo lee la cubeta.
+ * - Las escrituras toman el candado de la franja de su cubeta (a lo sumo
+ *   FRANJAS candados por tabla), asi escrituras en cubetas distintas no se
+ *   esperan entre si.
+ * - Al cruzar el umbral no se detiene todo: se crea la tabla siguiente y las
+ *   cubetas se mueven de a TRAMO. Una cubeta ya movida queda marcada como
+ *   MOVIDA; quien la encuentra sigue en la tabla siguiente (reenvio, como en
+ *   ConcurrentHashMap) y los hilos que escriben mientras tanto ayudan a mover
+ *   un tramo. Cuando se movio la ultima cubeta la tabla siguiente pasa a ser
+ *   la actual. No se empieza otra redimension hasta que termina la anterior.
+ *
+ * El contador es un LongAdder, asi que el DO que se compara con el umbral es
+ * aproximado mientras otros hilos escriben. El orden dentro de una cubeta no
+ * es el de ingreso (no hay historial que reorganizar).
+ */
+public class DinamicasConcurrente {
+
+    // Cubetas que se mueven por cada ayuda a una redimension
+    static final int TRAMO = 16;
+
+    // Candados por tabla; las cubetas i e i + FRANJAS comparten candado
+    static final int FRANJAS = 64;
+
+    private static final String[] VACIA = new String[0];
+
+    // Marca de cubeta ya copiada a la tabla siguiente (se compara por identidad)
+    private static final String[] MOVIDA = new String[0];
+
+    private static final class Tabla {
+
+        final int n;
+        final AtomicReferenceArray<String[]> cubetas;
+        final Object[] candados;
+        final AtomicReference<Tabla> siguiente = new AtomicReference<>();
+        final AtomicInteger proxima = new AtomicInteger(); // proxima cubeta a mover
+        final AtomicInteger movidas = new AtomicInteger();
+
+        Tabla(int n) {
+            this.n = n;
+            this.cubetas = new AtomicReferenceArray<>(n);
+            for (int i = 0; i < n; i++) {
+                cubetas.set(i, VACIA);
+            }
+            this.candados = new Object[Math.min(n, FRANJAS)];
+            for (int i = 0; i < candados.length; i++) {
+                candados[i] = new Object();
+            }
+        }
+
+        Object candado(int i) {
+            return candados[i % candados.length];
+        }
+    }
+
+    private final int regPorCubeta;
+    private final int longClave;
+    private final Dinamicas.Tipo tipoExp;
+    private final Dinamicas.Tipo tipoRed;
+    private final double umbralExp;
+    private final double umbralRed;
+
+    private volatile Tabla tabla;
+    private final LongAdder contador = new LongAdder();
+
+    /**
+     * Ultima redimension iniciada. null si no hubo ninguna aun.
+     */
+    private volatile Dinamicas.UltimoEvento ultimoEvento;
+
+    private static final double UMBRAL_EXPANSION = 0.75;
+    private static final double UMBRAL_REDUCCION = 0.75;
+
+    /**
+     * @param numCubetas Numero inicial de cubetas.
+     * @param regPorCubeta Registros por cubeta (capacidad normal).
+     * @param longClave Caracteres por clave (0 = cualquier longitud).
+     * @param tipo TOTAL o PARCIAL.
+     */
+    public DinamicasConcurrente(int numCubetas, int regPorCubeta, int longClave,
+            Dinamicas.Tipo tipo) {
+        this(numCubetas, regPorCubeta, longClave, tipo, tipo,
+                UMBRAL_EXPANSION, UMBRAL_REDUCCION);
+    }
+
+    /**
+     * Constructor con tipos y umbrales independientes para expansion y reduccion.
+     */
+    public DinamicasConcurrente(int numCubetas, int regPorCubeta, int longClave,
+            Dinamicas.Tipo tipoExp, Dinamicas.Tipo tipoRed,
+            double umbralExp, double umbralRed) {
+        if (numCubetas <= 0) {
+            throw new IllegalArgumentException("Numero deCubetas debe ser mayor que 0.");
+        }
+        if (regPorCubeta <= 0) {
+            throw new IllegalArgumentException("Registros por cubeta debe ser mayor que 0.");
+        }
+        if (longClave < 0) {
+            throw new IllegalArgumentException("Longitud de clave debe ser mayor que 0.");
+        }
+        if (tipoExp == null || tipoRed == null) {
+            throw new IllegalArgumentException("Los tipos de expansion y reduccion son obligatorios.");
+        }
+        if (umbralExp <= 0 || umbralRed <= 0) {
+            throw new IllegalArgumentException("Los umbrales deben ser mayores que 0.");
+        }
+        this.regPorCubeta = regPorCubeta;
+        this.longClave = longClave;
+        this.tipoExp = tipoExp;
+        this.tipoRed = tipoRed;
+        this.umbralExp = umbralExp;
+        this.umbralRed = umbralRed;
+        this.tabla = new Tabla(numCubetas);
+    }
+
+    /**
+     * Inserta una clave en la cubeta H(k) y expande si el DO supera el umbral.
+     *
+     * @throws IllegalStateException si la clave ya existe.
+     * @throws IllegalArgumentException si la longitud de clave es incorrecta.
+     */
+    public void insertar(String clave) {
+        validarClave(clave);
+        modificar(clave, true);
+        contador.increment();
+        verificarDO(clave, true);
+    }
+
+    /**
+     * Busca una clave sin tomar candados.
+     *
+     * @return indice de cubeta (0-based) donde esta, o -1 si no existe.
+     */
+    public int buscar(String clave) {
+        if (clave == null || clave.isEmpty()) {
+            return -1;
+        }
+        long k = ClaveUtil.aNumero(clave);
+        Tabla t = tabla;
+        while (true) {
+            int i = (int) (k % t.n);
+            String[] cubeta = t.cubetas.get(i);
+            if (cubeta == MOVIDA) {
+                t = t.siguiente.get();
+                continue;
+            }
+            return indice(cubeta, clave) != -1 ? i : -1;
+        }
+    }
+
+    /**
+     * Elimina una clave de su cubeta y reduce si el DO baja del umbral.
+     *
+     * @throws IllegalArgumentException si la clave no existe.
+     */
+    public void eliminar(String clave) {
+        validarClave(clave);
+        modificar(clave, false);
+        contador.decrement();
+        verificarDO(clave, false);
+    }
+
+    /**
+     * Despues de insertar compara el DO de expansion y despues de eliminar el
+     * de reduccion. Si la redimension que se inicia termina en esta misma
+     * llamada (tablas chicas) se vuelve a comparar sobre la tabla nueva.
+     */
+    private void verificarDO(String clave, boolean insercion) {
+        while (true) {
+            Tabla t = tabla;
+            if (t.siguiente.get() != null) {
+                return;
+            }
+            long registros = contador.sum();
+            int nuevas;
+            double do_;
+            if (insercion) {
+                do_ = (double) registros / ((double) t.n * regPorCubeta);
+                if (do_ <= umbralExp) {
+                    return;
+                }
+                nuevas = tipoExp == Dinamicas.Tipo.TOTAL
+                        ? t.n * 2
+                        : (int) Math.ceil(t.n * 1.5);
+            } else {
+                do_ = (double) registros / t.n;
+                if (t.n == 1 || do_ >= umbralRed) {
+                    return;
+                }
+                nuevas = tipoRed == Dinamicas.Tipo.TOTAL
+                        ? t.n / 2
+                        : (int) Math.floor(t.n / 1.5);
+                nuevas = Math.max(1, nuevas);
+            }
+            if (!redimensionar(t, nuevas, insercion ? "EXPANSION" : "REDUCCION", clave, do_)
+                    || tabla == t) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Agrega o quita la clave en la cubeta que la contiene, siguiendo los
+     * reenvios de las cubetas ya movidas.
+     */
+    private void modificar(String clave, boolean agregar) {
+        long k = ClaveUtil.aNumero(clave);
+        Tabla t = tabla;
+        while (true) {
+            Tabla sig = t.siguiente.get();
+            if (sig != null) {
+                ayudar(t, sig);
+            }
+            int i = (int) (k % t.n);
+            synchronized (t.candado(i)) {
+                String[] cubeta = t.cubetas.get(i);
+                if (cubeta != MOVIDA) {
+                    int pos = indice(cubeta, clave);
+                    if (agregar) {
+                        if (pos != -1) {
+                            throw new IllegalStateException("La clave '" + clave + "' ya existe.");
+                        }
+                        t.cubetas.set(i, conClave(cubeta, clave));
+                    } else {
+                        if (pos == -1) {
+                            throw new IllegalArgumentException("La clave '" + clave + "' no existe.");
+                        }
+                        t.cubetas.set(i, sinPosicion(cubeta, pos));
+                    }
+                    return;
+                }
+            }
+            t = t.siguiente.get();
+        }
+    }
+
+    /**
+     * Empieza a pasar la tabla t a una de nuevas cubetas si t sigue siendo la
+     * actual y no hay otra redimension en curso.
+     *
+     * @return true si la inicio este hilo.
+     */
+    private boolean redimensionar(Tabla t, int nuevas, String tipo, String clave, double do_) {
+        if (tabla != t || t.siguiente.get() != null || nuevas == t.n) {
+            return false;
+        }
+        Tabla sig = new Tabla(nuevas);
+        if (!t.siguiente.compareAndSet(null, sig)) {
+            return false;
+        }
+        ultimoEvento = new Dinamicas.UltimoEvento(tipo, t.n, nuevas, clave, do_);
+        ayudar(t, sig);
+        return true;
+    }
+
+    /**
+     * Mueve a lo sumo un TRAMO de cubetas de t a sig.
+     */
+    private void ayudar(Tabla t, Tabla sig) {
+        if (t.proxima.get() >= t.n) {
+            return;
+        }
+        int desde = t.proxima.getAndAdd(TRAMO);
+        int hasta = Math.min(desde + TRAMO, t.n);
+        for (int i = desde; i < hasta; i++) {
+            mover(t, sig, i);
+        }
+    }
+
+    /**
+     * Copia las claves de la cubeta i en sig y la marca como MOVIDA. Con el
+     * candado de i tomado nadie la modifica mientras tanto; los candados de
+     * sig se toman de a uno (nunca se espera uno de t teniendo uno de sig).
+     */
+    private void mover(Tabla t, Tabla sig, int i) {
+        synchronized (t.candado(i)) {
+            String[] cubeta = t.cubetas.get(i);
+            for (String clave : cubeta) {
+                int j = (int) (ClaveUtil.aNumero(clave) % sig.n);
+                synchronized (sig.candado(j)) {
+                    sig.cubetas.set(j, conClave(sig.cubetas.get(j), clave));
+                }
+            }
+            t.cubetas.set(i, MOVIDA);
+        }
+        if (t.movidas.incrementAndGet() == t.n) {
+            tabla = sig;
+        }
+    }
+
+    /**
+     * Termina la redimension en curso (y las que siga habiendo) desde este
+     * hilo. Sirve para ver la estructura quieta, p. ej. despues de una carga.
+     */
+    public void completarRedimension() {
+        Tabla t = tabla;
+        Tabla sig;
+        while ((sig = t.siguiente.get()) != null) {
+            ayudar(t, sig);
+            if (tabla != t) {
+                t = tabla;
+            } else if (t.proxima.get() >= t.n) {
+                // Otros hilos estan terminando sus tramos
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    private static int indice(String[] cubeta, String clave) {
+        for (int j = 0; j < cubeta.length; j++) {
+            if (cubeta[j].equals(clave)) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private static String[] conClave(String[] cubeta, String clave) {
+        String[] nueva = new String[cubeta.length + 1];
+        System.arraycopy(cubeta, 0, nueva, 0, cubeta.length);
+        nueva[cubeta.length] = clave;
+        return nueva;
+    }
+
+    private static String[] sinPosicion(String[] cubeta, int pos) {
+        if (cubeta.length == 1) {
+            return VACIA;
+        }
+        String[] nueva = new String[cubeta.length - 1];
+        System.arraycopy(cubeta, 0, nueva, 0, pos);
+        System.arraycopy(cubeta, pos + 1, nueva, pos, cubeta.length - pos - 1);
+        return nueva;
+    }
+
+    private void validarClave(String clave) {
+        if (longClave > 0) {
+            ClaveUtil.validar(clave, longClave);
+            return;
+        }
+        if (clave == null || clave.isEmpty()) {
+            throw new IllegalArgumentException("La clave no puede ser vacia.");
+        }
+    }
+
+    /**
+     * Todas las claves. Con otros hilos escribiendo es una foto aproximada
+     * (cada cubeta se lee una vez).
+     */
+    public ArrayList<String> obtenerClaves() {
+        ArrayList<String> claves = new ArrayList<>();
+        // Las cubetas no movidas de cada tabla y, de la ultima, todas
+        for (Tabla t = tabla; t != null; t = t.siguiente.get()) {
+            for (int i = 0; i < t.n; i++) {
+                String[] cubeta = t.cubetas.get(i);
+                if (cubeta != MOVIDA) {
+                    for (String clave : cubeta) {
+                        claves.add(clave);
+                    }
+                }
+            }
+        }
+        return claves;
+    }
+
+    /**
+     * Cubetas de la tabla actual. Solo tiene sentido sin redimension en curso
+     * (ver completarRedimension).
+     */
+    public ArrayList<ArrayList<String>> obtenerCubetas() {
+        Tabla t = tabla;
+        ArrayList<ArrayList<String>> lista = new ArrayList<>();
+        for (int i = 0; i < t.n; i++) {
+            ArrayList<String> cubeta = new ArrayList<>();
+            for (String clave : t.cubetas.get(i)) {
+                cubeta.add(clave);
+            }
+            lista.add(cubeta);
+        }
+        return lista;
+    }
+
+    public double calcularDOExpansion() {
+        return (double) contador.sum() / ((double) tabla.n * regPorCubeta);
+    }
+
+    public double calcularDOReduccion() {
+        return (double) contador.sum() / tabla.n;
+    }
+
+    /**
+     * Ultima redimension iniciada. null si no hubo ninguna.
+     */
+    public Dinamicas.UltimoEvento getUltimoEvento() {
+        return ultimoEvento;
+    }
+
+    public boolean estaRedimensionando() {
+        return tabla.siguiente.get() != null;
+    }
+
+    /**
+     * Resumen
+     */
+    public String obtenerInfo() {
+        return "Cubetas=" + getNumCubetas()
+                + "  Reg/cubeta=" + regPorCubeta
+                + "  Registros=" + getContador()
+                + "  DO exp=" + String.format("%.2f%%", calcularDOExpansion() * 100)
+                + "  DO red=" + String.format("%.2f%%", calcularDOReduccion() * 100)
+                + (estaRedimensionando() ? "  (redimensionando)" : "");
+    }
+
+    /**
+     * Cubetas de la tabla actual (la de destino aun no cuenta).
+     */
+    public int getNumCubetas() {
+        return tabla.n;
+    }
+
+    public int getRegPorCubeta() {
+        return regPorCubeta;
+    }
+
+    public int getLongClave() {
+        return longClave;
+    }
+
+    public int getContador() {
+        return (int) contador.sum();
+    }
+}
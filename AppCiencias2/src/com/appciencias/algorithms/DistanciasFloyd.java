@@ -178,7 +178,7 @@ public class DistanciasFloyd {
                     + "Crea el grafo con new GrafoPonderado(nombre, false).");
         }
 
-        ArrayList<String> vertices = grafo.getVertices();
+        ArrayList<String> vertices = new ArrayList<>(grafo.getVertices());
         int n = vertices.size();
 
         // ── Paso 1: Floyd para obtener todas las distancias minimas ──────────
@@ -269,50 +269,21 @@ public class DistanciasFloyd {
     //  FLOYD INTERNO (sin ordinal, para grafo no dirigido)
     // =====================================================================
     /**
-     * Floyd-Warshall interno adaptado para grafo no dirigido. Orden: j externo,
-     * i medio, k interno (Dij + Djk < Dik). No necesita ordinal porque el grafo
+     * Floyd-Warshall interno adaptado para grafo no dirigido (Dij + Djk < Dik),
+     * delegado en MotorFloyd por bloques. No necesita ordinal porque el grafo
      * no es dirigido topologicamente.
      */
     private static double[][] calcularFloydInterno(GrafoPonderado grafo,
             ArrayList<String> vertices) {
         int n = vertices.size();
-        double[][] dist = new double[n][n];
-
-        // Inicializar
-        for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                dist[i][j] = (i == j) ? 0 : Double.MAX_VALUE;
-            }
-        }
 
         // Cargar pesos (el grafo no dirigido ya tiene ambas direcciones)
-        for (GrafoPonderado.AristaPonderada a : grafo.getAristas()) {
-            int i = vertices.indexOf(a.origen);
-            int j = vertices.indexOf(a.destino);
-            if (i != -1 && j != -1) {
-                dist[i][j] = a.peso;
-            }
-        }
+        double[] dist = MotorFloyd.matrizInicial(grafo.getVista(), vertices);
 
-        // Floyd: j externo, i medio, k interno
-        for (int j = 0; j < n; j++) {
-            for (int i = 0; i < n; i++) {
-                if (i == j || dist[i][j] == Double.MAX_VALUE) {
-                    continue;
-                }
-                for (int k = 0; k < n; k++) {
-                    if (k == i || k == j || dist[j][k] == Double.MAX_VALUE) {
-                        continue;
-                    }
-                    double nueva = dist[i][j] + dist[j][k];
-                    if (nueva < dist[i][k]) {
-                        dist[i][k] = nueva;
-                    }
-                }
-            }
-        }
+        // Solo interesan las distancias: sin predecesores ni snapshots
+        MotorFloyd.ejecutar(dist, null, n, null);
 
-        return dist;
+        return MotorFloyd.aMatriz(dist, n);
     }
 
     // =====================================================================
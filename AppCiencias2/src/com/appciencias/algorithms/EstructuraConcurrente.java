@@ -0,0 +1,126 @@
+package com.appciencias.algorithms;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Cualquier estructura de busqueda compartida por un escritor y muchos
+ * lectores, con un StampedLock.
+ *
+ * escribir toma el lock de escritura, asi los cambios nunca se mezclan. leer
+ * corre primero la lectura en modo optimista, sin tomar ningun lock ni
+ * escribir memoria compartida: si al terminar validate confirma que no hubo
+ * escritura en el medio, el resultado vale. Si la hubo, o la lectura fallo
+ * por ver la estructura a medio cambiar, la repite con el lock de lectura.
+ * Mientras no hay un escritor activo ningun lector espera.
+ *
+ * La lectura tiene que ser pura (no modificar la estructura ni sus
+ * contadores) porque corre a la vez que el escritor y los otros lectores:
+ *   - contiene en Secuencial y Binario (sus buscar cuentan comparaciones);
+ *   - buscar en TablaHash, ListasEnlazadas, ArreglosAnidados y Dinamicas, y
+ *     en SecuencialExterno, BinarioExterno y HashExterno con los bloques en
+ *     memoria.
+ * Con los bloques en archivo las externas leen las paginas por un buffer
+ * compartido: se crean con lecturasParalelas = false y cada lectura toma el
+ * lock de escritura.
+ *
+ * @param <E> Tipo de la estructura envuelta
+ */
+public final class EstructuraConcurrente<E> {
+
+    private final E estructura;
+    private final boolean lecturasParalelas;
+    private final StampedLock lock = new StampedLock();
+    private final LongAdder lecturasOptimistas = new LongAdder();
+    private final LongAdder lecturasBloqueadas = new LongAdder();
+
+    public EstructuraConcurrente(E estructura) {
+        this(estructura, true);
+    }
+
+    /**
+     * @param estructura Estructura a compartir; desde ahora solo se debe
+     * usar por leer y escribir.
+     * @param lecturasParalelas false si ni siquiera dos lecturas pueden
+     * correr juntas (externas en archivo).
+     */
+    public EstructuraConcurrente(E estructura, boolean lecturasParalelas) {
+        if (estructura == null) {
+            throw new IllegalArgumentException("La estructura es obligatoria.");
+        }
+        this.estructura = estructura;
+        this.lecturasParalelas = lecturasParalelas;
+    }
+
+    /**
+     * Corre una lectura pura, optimista si se puede.
+     *
+     * @return Lo que devuelva la lectura sobre un estado que ninguna
+     * escritura estaba cambiando
+     */
+    public <R> R leer(Function<? super E, ? extends R> lectura) {
+        if (!lecturasParalelas) {
+            long sello = lock.writeLock();
+            try {
+                lecturasBloqueadas.increment();
+                return lectura.apply(estructura);
+            } finally {
+                lock.unlockWrite(sello);
+            }
+        }
+        long sello = lock.tryOptimisticRead();
+        if (sello != 0) {
+            try {
+                R resultado = lectura.apply(estructura);
+                if (lock.validate(sello)) {
+                    lecturasOptimistas.increment();
+                    return resultado;
+                }
+            } catch (RuntimeException e) {
+                // Si nadie escribio el error es de la lectura, no de la carrera
+                if (lock.validate(sello)) {
+                    throw e;
+                }
+            }
+        }
+        sello = lock.readLock();
+        try {
+            lecturasBloqueadas.increment();
+            return lectura.apply(estructura);
+        } finally {
+            lock.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Corre un cambio (o varios seguidos) con el lock de escritura.
+     */
+    public void escribir(Consumer<? super E> escritura) {
+        long sello = lock.writeLock();
+        try {
+            escritura.accept(estructura);
+        } finally {
+            lock.unlockWrite(sello);
+        }
+    }
+
+    public boolean isLecturasParalelas() {
+        return lecturasParalelas;
+    }
+
+    /**
+     * Lecturas que terminaron sin tomar ningun lock.
+     */
+    public long getLecturasOptimistas() {
+        return lecturasOptimistas.sum();
+    }
+
+    /**
+     * Lecturas que se repitieron (o corrieron) con lock.
+     */
+    public long getLecturasBloqueadas() {
+        return lecturasBloqueadas.sum();
+    }
+}
@@ -1,6 +1,7 @@
 package com.appciencias.algorithms;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 
 /**
@@ -19,6 +20,9 @@ import java.util.LinkedHashMap;
  *
  * Matriz inicial: - Diagonal = 0 - Camino directo = peso de la arista - Sin
  * camino = infinito
+ *
+ * El calculo lo hace MotorFloyd. Con conMatrices = false no se guardan las
+ * snapshots intermedias y se usa la version por bloques en paralelo.
  */
 public class Floyd {
 
@@ -47,6 +51,17 @@ public class Floyd {
             }
         }
 
+        /**
+         * Snapshot a partir de la matriz plana de MotorFloyd.
+         */
+        public MatrizSnapshot(int j, String nombreJ,
+                double[] dist, ArrayList<String> vertices) {
+            this.j = j;
+            this.nombreJ = nombreJ;
+            this.vertices = new ArrayList<>(vertices);
+            this.dist = MotorFloyd.aMatriz(dist, vertices.size());
+        }
+
         /**
          * Formatea la matriz para mostrar al usuario.
          */
@@ -90,6 +105,7 @@ public class Floyd {
         // Vertices en orden ordinal
         public final ArrayList<String> vertices;
         // Todas las matrices: [0] = inicial, [1] = j=1, [2] = j=2 ... [n] = final
+        // (sin conMatrices solo la final)
         public final ArrayList<MatrizSnapshot> matrices;
         // Matriz de predecesores final [i][k] = indice del vertice intermedio j
         public final int[][] pred;
@@ -127,10 +143,10 @@ public class Floyd {
         }
 
         /**
-         * Retorna la matriz inicial
+         * Retorna la matriz inicial, null si se calculo sin matrices.
          */
         public MatrizSnapshot getMatrizInicial() {
-            return matrices.get(0);
+            return (matrices.size() > 1) ? matrices.get(0) : null;
         }
 
         /**
@@ -224,7 +240,8 @@ public class Floyd {
     //  ALGORITMO
     // =====================================================================
     /**
-     * Ejecuta Floyd-Warshall sobre el grafo ponderado.
+     * Ejecuta Floyd-Warshall sobre el grafo ponderado guardando todas las
+     * matrices.
      *
      * @param grafo Grafo dirigido ponderado.
      * @param nodoOrigen Vertice de inicio para mostrar el camino.
@@ -234,6 +251,17 @@ public class Floyd {
      */
     public static Resultado calcular(GrafoPonderado grafo,
             String nodoOrigen, String nodoDestino) {
+        return calcular(grafo, nodoOrigen, nodoDestino, true);
+    }
+
+    /**
+     * Ejecuta Floyd-Warshall sobre el grafo ponderado.
+     *
+     * @param conMatrices true para guardar una snapshot por cada j (O(n^3) de
+     * memoria), false para guardar solo la matriz final.
+     */
+    public static Resultado calcular(GrafoPonderado grafo,
+            String nodoOrigen, String nodoDestino, boolean conMatrices) {
         if (grafo == null || grafo.getNumVertices() == 0) {
             throw new IllegalArgumentException("El grafo no puede estar vacío.");
         }
@@ -255,69 +283,37 @@ public class Floyd {
         LinkedHashMap<String, Integer> numeracion = ordinalRes.numeracion;
 
         int n = grafo.getNumVertices();
-        ArrayList<String> vertices = new ArrayList<>();
-        for (int i = 1; i <= n; i++) {
-            for (String v : numeracion.keySet()) {
-                if (numeracion.get(v) == i) {
-                    vertices.add(v);
-                    break;
-                }
-            }
+        String[] porOrdinal = new String[n];
+        for (String v : numeracion.keySet()) {
+            porOrdinal[numeracion.get(v) - 1] = v;
         }
+        ArrayList<String> vertices = new ArrayList<>(Arrays.asList(porOrdinal));
 
-        // Paso 2: inicializar matriz D y predecesores
-        double[][] dist = new double[n][n];
-        int[][] pred = new int[n][n];
+        // Paso 2: matriz D inicial (diagonal 0, aristas directas, resto infinito)
+        double[] dist = MotorFloyd.matrizInicial(grafo.getVista(), vertices);
+        int[] pred = new int[n * n];
 
-        for (int i = 0; i < n; i++) {
-            for (int k = 0; k < n; k++) {
-                dist[i][k] = (i == k) ? 0 : Double.MAX_VALUE;
-                pred[i][k] = -1;
-            }
-        }
-
-        // Cargar aristas directas
-        for (GrafoPonderado.AristaPonderada a : grafo.getAristas()) {
-            int i = vertices.indexOf(a.origen);
-            int k = vertices.indexOf(a.destino);
-            if (i != -1 && k != -1) {
-                dist[i][k] = a.peso;
-                // pred queda -1: arista directa sin intermediario
-            }
-        }
-
-        // Guardar snapshot de la matriz inicial
         ArrayList<MatrizSnapshot> matrices = new ArrayList<>();
-        matrices.add(new MatrizSnapshot(-1, "inicial", dist, vertices));
+        MotorFloyd.Observador observador = null;
+        if (conMatrices) {
+            // Guardar snapshot de la matriz inicial y una al terminar cada j
+            matrices.add(new MatrizSnapshot(-1, "inicial", dist, vertices));
+            observador = new MotorFloyd.Observador() {
+                @Override
+                public void pivoteTerminado(int j, double[] d) {
+                    matrices.add(new MatrizSnapshot(j, vertices.get(j), d, vertices));
+                }
+            };
+        }
 
         // Paso 3: Floyd-Warshall
         // Condicion: Dij + Djk < Dik
-        for (int j = 0; j < n; j++) {
-            for (int i = 0; i < n; i++) {
-                if (i == j) {
-                    continue;
-                }
-                if (dist[i][j] == Double.MAX_VALUE) {
-                    continue; // Dij = inf, nunca mejora
-
-                                }for (int k = 0; k < n; k++) {
-                    if (k == j || k == i) {
-                        continue;
-                    }
-                    if (dist[j][k] == Double.MAX_VALUE) {
-                        continue; // Djk = inf, skip
-                    }
-                    double nueva = dist[i][j] + dist[j][k];
-                    if (nueva < dist[i][k]) {
-                        dist[i][k] = nueva;
-                        pred[i][k] = j; // j es el intermediario
-                    }
-                }
-            }
-            // Snapshot al terminar cada j
-            matrices.add(new MatrizSnapshot(j, vertices.get(j), dist, vertices));
+        MotorFloyd.ejecutar(dist, pred, n, observador);
+        if (!conMatrices) {
+            matrices.add(new MatrizSnapshot(n - 1, vertices.get(n - 1), dist, vertices));
         }
 
-        return new Resultado(vertices, matrices, pred, nodoOrigen, nodoDestino);
+        return new Resultado(vertices, matrices, MotorFloyd.aMatriz(pred, n),
+                nodoOrigen, nodoDestino);
     }
 }
@@ -2,6 +2,7 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveUtil;
 import java.util.ArrayList;
+import java.util.Collection;
 
 /**
  * Clase centralizada para todas las funciones hash.
@@ -13,11 +14,50 @@ import java.util.ArrayList;
  * - CUADRADO: H(k) = (k² mod n) + 1
  * - TRUNCAMIENTO: Extrae posiciones específicas de los dígitos
  * - PLEGAMIENTO: Divide en grupos de 2 dígitos y los combina
+ * - MEZCLA: H(k) = (mezcla64(clave) mod n) + 1, sin pasar por la suma ASCII
+ *   de aNumero (ver ClaveUtil.mezclar)
+ *
+ * evaluar / compararTodas miden la tasa de colision de cada funcion sobre un
+ * conjunto de claves.
  */
 public class FuncionHash {
 
     public enum Tipo {
-        MOD, CUADRADO, TRUNCAMIENTO, PLEGAMIENTO
+        MOD, CUADRADO, TRUNCAMIENTO, PLEGAMIENTO, MEZCLA
+    }
+
+    /**
+     * Resultado de aplicar una funcion a un conjunto de claves.
+     */
+    public static class ReporteColisiones {
+
+        public final String funcion;
+        public final int tamaño;
+        public final int claves;
+        public final int posicionesUsadas;
+        public final int colisiones;        // claves que cayeron en una posicion ya usada
+        public final int maximoPorPosicion;
+
+        public ReporteColisiones(String funcion, int tamaño, int claves,
+                int posicionesUsadas, int maximoPorPosicion) {
+            this.funcion = funcion;
+            this.tamaño = tamaño;
+            this.claves = claves;
+            this.posicionesUsadas = posicionesUsadas;
+            this.colisiones = claves - posicionesUsadas;
+            this.maximoPorPosicion = maximoPorPosicion;
+        }
+
+        public double getTasaColision() {
+            return claves == 0 ? 0 : (double) colisiones / claves;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s claves=%d posiciones=%d/%d colisiones=%d (%.2f%%) max=%d",
+                    funcion, claves, posicionesUsadas, tamaño, colisiones,
+                    getTasaColision() * 100, maximoPorPosicion);
+        }
     }
 
     public enum TipoPlegamiento {
@@ -33,8 +73,11 @@ public class FuncionHash {
     // Para PLEGAMIENTO
     private TipoPlegamiento tipoPlegamiento;
 
+    private FuncionHash() {
+    }
+
     /**
-     * Constructor para MOD o CUADRADO.
+     * Constructor para MOD, CUADRADO o MEZCLA.
      */
     public FuncionHash(Tipo tipo, int tamaño) {
         if (tipo == Tipo.TRUNCAMIENTO || tipo == Tipo.PLEGAMIENTO) {
@@ -84,6 +127,8 @@ public class FuncionHash {
                 return hashTruncamiento(clave);
             case PLEGAMIENTO:
                 return hashPlegamiento(clave);
+            case MEZCLA:
+                return hashMezcla(clave);
             default:
                 throw new IllegalStateException("Función hash no reconocida.");
         }
@@ -106,6 +151,13 @@ public class FuncionHash {
         return (int) (cuadrado % n) + 1;
     }
 
+    /**
+     * H(k) = (mezcla64(clave) mod n) + 1
+     */
+    private int hashMezcla(String clave) {
+        return (int) (ClaveUtil.mezclar(clave) % n) + 1;
+    }
+
     /**
      * Extrae dígitos en posiciones específicas del número k.
      * Se trabaja sobre los dígitos del NÚMERO k obtenido de la clave.
@@ -163,6 +215,67 @@ public class FuncionHash {
         return (int) (resultado % n) + 1;
     }
 
+    // =====================================================================
+    //  REPORTE DE COLISIONES
+    // =====================================================================
+
+    /**
+     * Aplica esta funcion a todas las claves y cuenta cuantas caen en una
+     * posicion ya ocupada por otra.
+     */
+    public ReporteColisiones evaluar(Collection<String> claves) {
+        int[] porPosicion = new int[n];
+        int usadas = 0;
+        int maximo = 0;
+        for (String clave : claves) {
+            int pos = calcular(clave) - 1;
+            if (porPosicion[pos]++ == 0) {
+                usadas++;
+            }
+            maximo = Math.max(maximo, porPosicion[pos]);
+        }
+        return new ReporteColisiones(getNombre(), n, claves.size(), usadas, maximo);
+    }
+
+    /**
+     * Evalua MOD, CUADRADO, PLEGAMIENTO (suma y multiplicacion), MEZCLA y, si se
+     * dan posiciones, TRUNCAMIENTO sobre las mismas claves y tamaño.
+     *
+     * @param posicionesTrunc posiciones para TRUNCAMIENTO, o null para omitirlo
+     */
+    public static ArrayList<ReporteColisiones> compararTodas(Collection<String> claves,
+            int tamaño, int[] posicionesTrunc) {
+        ArrayList<FuncionHash> funciones = new ArrayList<>();
+        funciones.add(new FuncionHash(Tipo.MOD, tamaño));
+        funciones.add(new FuncionHash(Tipo.CUADRADO, tamaño));
+        if (posicionesTrunc != null) {
+            funciones.add(new FuncionHash(tamaño, posicionesTrunc));
+        }
+        funciones.add(new FuncionHash(tamaño, TipoPlegamiento.SUMA));
+        funciones.add(new FuncionHash(tamaño, TipoPlegamiento.MULTIPLICACION));
+        funciones.add(new FuncionHash(Tipo.MEZCLA, tamaño));
+
+        ArrayList<ReporteColisiones> reportes = new ArrayList<>();
+        for (FuncionHash f : funciones) {
+            reportes.add(f.evaluar(claves));
+        }
+        return reportes;
+    }
+
+    /**
+     * Nombre legible de la funcion configurada.
+     */
+    public String getNombre() {
+        switch (tipo) {
+            case PLEGAMIENTO:
+                return "PLEGAMIENTO (" + tipoPlegamiento + ")";
+            case TRUNCAMIENTO:
+                return "TRUNCAMIENTO " + java.util.Arrays.toString(posicionesTrunc);
+            default:
+                return tipo.toString();
+        }
+    }
+
     // Getters
     public Tipo getTipo() {
         return tipo;
@@ -180,6 +293,21 @@ public class FuncionHash {
         return tipoPlegamiento;
     }
 
+    /**
+     * Copia independiente con la misma configuracion. Las estructuras hash
+     * guardan una copia de la que reciben (al crecer le cambian el tamaño) y
+     * las que crecen de forma incremental otra para seguir ubicando claves en
+     * la tabla vieja mientras la suya ya tiene el tamaño nuevo.
+     */
+    public FuncionHash copiar() {
+        FuncionHash copia = new FuncionHash();
+        copia.tipo = tipo;
+        copia.n = n;
+        copia.posicionesTrunc = posicionesTrunc;
+        copia.tipoPlegamiento = tipoPlegamiento;
+        return copia;
+    }
+
     /**
      * Actualiza el tamaño de la tabla (útil si se redimensiona).
      */
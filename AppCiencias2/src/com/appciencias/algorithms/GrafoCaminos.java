@@ -1,6 +1,7 @@
 package com.appciencias.algorithms;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -388,56 +389,82 @@ public class GrafoCaminos {
      * Calcula el camino minimo entre TODOS los pares de vertices. Funciona con
      * pesos negativos pero no con ciclos negativos.
      *
-     * @return ResultadoFloyd con matriz de distancias y predecesores.
+     * @return ResultadoFloyd con matriz de distancias, predecesores y pasos.
      */
     public ResultadoFloyd floyd() {
+        return floyd(true);
+    }
+
+    /**
+     * Algoritmo de Floyd con pasos opcionales.
+     *
+     * @param conPasos false para no registrar cada actualizacion; el calculo
+     * se hace entonces por bloques en paralelo (MotorFloyd).
+     */
+    public ResultadoFloyd floyd(boolean conPasos) {
         int n = vertices.size();
-        double[][] dist = new double[n][n];
-        String[][] pred = new String[n][n];
         ArrayList<String> pasos = new ArrayList<>();
 
-        // Inicializar matriz
+        HashMap<String, Integer> indice = new HashMap<>();
         for (int i = 0; i < n; i++) {
-            for (int j = 0; j < n; j++) {
-                if (i == j) {
-                    dist[i][j] = 0;
-                } else {
-                    dist[i][j] = Double.MAX_VALUE;
-                }
-                pred[i][j] = null;
-            }
+            indice.put(vertices.get(i), i);
         }
 
-        // Poner pesos de aristas directas
+        // Inicializar matriz y poner pesos de aristas directas
+        double[] dist = MotorFloyd.matrizInicial(n);
+        boolean[] directa = new boolean[n * n];
         for (Arista a : aristas) {
-            int i = vertices.indexOf(a.origen);
-            int j = vertices.indexOf(a.destino);
-            dist[i][j] = a.peso;
-            pred[i][j] = a.origen;
+            int i = indice.get(a.origen);
+            int j = indice.get(a.destino);
+            dist[i * n + j] = a.peso;
+            directa[i * n + j] = true;
         }
 
         pasos.add("Matriz inicial cargada con pesos directos.");
 
         // Relajar con cada vertice intermedio k
-        for (int k = 0; k < n; k++) {
-            pasos.add("Iteracion k = " + vertices.get(k));
-            for (int i = 0; i < n; i++) {
-                for (int j = 0; j < n; j++) {
-                    if (dist[i][k] != Double.MAX_VALUE
-                            && dist[k][j] != Double.MAX_VALUE) {
-                        double nueva = dist[i][k] + dist[k][j];
-                        if (nueva < dist[i][j]) {
-                            dist[i][j] = nueva;
-                            pred[i][j] = vertices.get(k);
-                            pasos.add("  dist[" + vertices.get(i) + "][" + vertices.get(j)
-                                    + "] = " + nueva + " via " + vertices.get(k));
-                        }
+        MotorFloyd.Observador observador = null;
+        if (conPasos) {
+            observador = new MotorFloyd.Observador() {
+                private int ultimoPivote = -1;
+
+                @Override
+                public void mejora(int i, int j, int k, double nueva) {
+                    anunciar(k);
+                    pasos.add("  dist[" + vertices.get(i) + "][" + vertices.get(j)
+                            + "] = " + nueva + " via " + vertices.get(k));
+                }
+
+                @Override
+                public void pivoteTerminado(int k, double[] d) {
+                    anunciar(k);
+                }
+
+                private void anunciar(int k) {
+                    if (k != ultimoPivote) {
+                        pasos.add("Iteracion k = " + vertices.get(k));
+                        ultimoPivote = k;
                     }
                 }
+            };
+        }
+        int[] predIdx = new int[n * n];
+        MotorFloyd.ejecutar(dist, predIdx, n, observador);
+
+        String[][] pred = new String[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                int p = predIdx[i * n + j];
+                if (p >= 0) {
+                    pred[i][j] = vertices.get(p);
+                } else if (directa[i * n + j]) {
+                    pred[i][j] = vertices.get(i);
+                }
             }
         }
 
-        return new ResultadoFloyd(dist, pred, new ArrayList<>(vertices), pasos);
+        return new ResultadoFloyd(MotorFloyd.aMatriz(dist, n), pred,
+                new ArrayList<>(vertices), pasos);
     }
 
     public String getNombre() {
@@ -1,6 +1,11 @@
 package com.appciencias.algorithms;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * Grafo DIRIGIDO con pesos positivos.
@@ -46,10 +51,109 @@ public class GrafoPonderado {
         }
     }
 
+    /**
+     * Vista compacta (CSR) del grafo: cada vertice se identifica por un
+     * entero 0..n-1 en orden de insercion y las aristas de salida/entrada de
+     * cada uno quedan contiguas en arreglos primitivos.
+     *
+     * Las aristas de salida del vertice u son las posiciones
+     * [inicioSalida[u], inicioSalida[u + 1]) de destinoSalida/pesoSalida; las
+     * de entrada de v son [inicioEntrada[v], inicioEntrada[v + 1]) de
+     * origenEntrada/pesoEntrada. Dentro de cada vertice se respeta el orden en
+     * que se agregaron las aristas, asi los empates se resuelven igual que
+     * recorriendo getAristas().
+     *
+     * Es de solo lectura: el grafo la construye al pedirla y la reutiliza hasta
+     * la siguiente modificacion. Los arreglos se exponen sin copiar, no deben
+     * modificarse.
+     */
+    public static final class Vista {
+
+        public final int n;
+        public final int m;
+        public final String[] nombres;
+        public final int[] inicioSalida;
+        public final int[] destinoSalida;
+        public final double[] pesoSalida;
+        public final int[] inicioEntrada;
+        public final int[] origenEntrada;
+        public final double[] pesoEntrada;
+        private final HashMap<String, Integer> ids;
+
+        private Vista(ArrayList<String> vertices, HashMap<String, Integer> ids,
+                Collection<AristaPonderada> aristas) {
+            this.n = vertices.size();
+            this.m = aristas.size();
+            this.nombres = vertices.toArray(new String[0]);
+            this.ids = new HashMap<>(ids);
+
+            int[] origen = new int[m];
+            int[] destino = new int[m];
+            inicioSalida = new int[n + 1];
+            inicioEntrada = new int[n + 1];
+            double[] pesos = new double[m];
+            int i = 0;
+            for (AristaPonderada a : aristas) {
+                pesos[i] = a.peso;
+                origen[i] = ids.get(a.origen);
+                destino[i] = ids.get(a.destino);
+                inicioSalida[origen[i] + 1]++;
+                inicioEntrada[destino[i] + 1]++;
+                i++;
+            }
+            for (int v = 0; v < n; v++) {
+                inicioSalida[v + 1] += inicioSalida[v];
+                inicioEntrada[v + 1] += inicioEntrada[v];
+            }
+
+            destinoSalida = new int[m];
+            pesoSalida = new double[m];
+            origenEntrada = new int[m];
+            pesoEntrada = new double[m];
+            int[] libreSalida = new int[n];
+            int[] libreEntrada = new int[n];
+            System.arraycopy(inicioSalida, 0, libreSalida, 0, n);
+            System.arraycopy(inicioEntrada, 0, libreEntrada, 0, n);
+            for (i = 0; i < m; i++) {
+                double peso = pesos[i];
+                int s = libreSalida[origen[i]]++;
+                destinoSalida[s] = destino[i];
+                pesoSalida[s] = peso;
+                int e = libreEntrada[destino[i]]++;
+                origenEntrada[e] = origen[i];
+                pesoEntrada[e] = peso;
+            }
+        }
+
+        /**
+         * Id del vertice, o -1 si no existe.
+         */
+        public int id(String v) {
+            Integer id = ids.get(v);
+            return (id == null) ? -1 : id;
+        }
+
+        public String nombre(int id) {
+            return nombres[id];
+        }
+
+        public int gradoSalida(int u) {
+            return inicioSalida[u + 1] - inicioSalida[u];
+        }
+
+        public int gradoEntrada(int v) {
+            return inicioEntrada[v + 1] - inicioEntrada[v];
+        }
+    }
+
     private final String nombre;
     private final ArrayList<String> vertices;
-    private final ArrayList<AristaPonderada> aristas;
+    // Arista -> arista (para leer su peso) en orden de insercion: consultar y
+    // eliminar en O(1) sin perder el orden en que se recorren
+    private final LinkedHashMap<AristaPonderada, AristaPonderada> aristas;
     private final boolean dirigido; // true = dirigido, false = no dirigido (bidireccional)
+    private final HashMap<String, Integer> posiciones; // vertice -> posicion, O(1)
+    private Vista vista; // null si el grafo cambio desde la ultima vista
 
     public GrafoPonderado(String nombre) {
         this(nombre, true); // por defecto dirigido, no rompe nada existente
@@ -59,7 +163,8 @@ public class GrafoPonderado {
         this.nombre = nombre;
         this.dirigido = dirigido;
         this.vertices = new ArrayList<>();
-        this.aristas = new ArrayList<>();
+        this.aristas = new LinkedHashMap<>();
+        this.posiciones = new HashMap<>();
     }
 
     public boolean isDirigido() {
@@ -90,10 +195,12 @@ public class GrafoPonderado {
             throw new IllegalArgumentException("El nombre del vértice no puede estar vacío.");
         }
         v = v.trim().toLowerCase();
-        if (vertices.contains(v)) {
+        if (posiciones.containsKey(v)) {
             throw new IllegalArgumentException("El vértice '" + v + "' ya existe.");
         }
+        posiciones.put(v, vertices.size());
         vertices.add(v);
+        vista = null;
     }
 
     /**
@@ -103,12 +210,17 @@ public class GrafoPonderado {
      */
     public void eliminarVertice(String v) {
         v = v.trim().toLowerCase();
-        if (!vertices.contains(v)) {
+        Integer pos = posiciones.remove(v);
+        if (pos == null) {
             throw new IllegalArgumentException("El vértice '" + v + "' no existe.");
         }
-        vertices.remove(v);
+        vertices.remove((int) pos);
+        for (int i = pos; i < vertices.size(); i++) {
+            posiciones.put(vertices.get(i), i);
+        }
         final String vFinal = v;
-        aristas.removeIf(a -> a.origen.equals(vFinal) || a.destino.equals(vFinal));
+        aristas.keySet().removeIf(a -> a.origen.equals(vFinal) || a.destino.equals(vFinal));
+        vista = null;
     }
 
     /**
@@ -124,10 +236,10 @@ public class GrafoPonderado {
         origen = origen.trim().toLowerCase();
         destino = destino.trim().toLowerCase();
 
-        if (!vertices.contains(origen)) {
+        if (!posiciones.containsKey(origen)) {
             throw new IllegalArgumentException("El vértice origen '" + origen + "' no existe.");
         }
-        if (!vertices.contains(destino)) {
+        if (!posiciones.containsKey(destino)) {
             throw new IllegalArgumentException("El vértice destino '" + destino + "' no existe.");
         }
         if (origen.equals(destino)) {
@@ -138,18 +250,19 @@ public class GrafoPonderado {
         }
 
         AristaPonderada nueva = new AristaPonderada(origen, destino, peso);
-        if (aristas.contains(nueva)) {
+        if (aristas.containsKey(nueva)) {
             throw new IllegalArgumentException(
                     "La arista '" + origen + " -> " + destino + "' ya existe.");
         }
 
         if (!dirigido) {
             AristaPonderada inversa = new AristaPonderada(destino, origen, peso);
-            if (!aristas.contains(inversa)) {
-                aristas.add(inversa);
+            if (!aristas.containsKey(inversa)) {
+                aristas.put(inversa, inversa);
             }
         }
-        aristas.add(nueva);
+        aristas.put(nueva, nueva);
+        vista = null;
     }
 
     /**
@@ -161,11 +274,11 @@ public class GrafoPonderado {
         origen = origen.trim().toLowerCase();
         destino = destino.trim().toLowerCase();
         AristaPonderada a = new AristaPonderada(origen, destino, 1);
-        if (!aristas.contains(a)) {
+        if (aristas.remove(a) == null) {
             throw new IllegalArgumentException(
                     "La arista '" + origen + " -> " + destino + "' no existe.");
         }
-        aristas.remove(a);
+        vista = null;
     }
 
     /**
@@ -174,18 +287,28 @@ public class GrafoPonderado {
     public void limpiar() {
         vertices.clear();
         aristas.clear();
+        posiciones.clear();
+        vista = null;
     }
 
     public String getNombre() {
         return nombre;
     }
 
-    public ArrayList<String> getVertices() {
-        return new ArrayList<>(vertices);
+    /**
+     * Vertices en orden de insercion. Vista de solo lectura, sin copiar:
+     * refleja los cambios posteriores del grafo.
+     */
+    public List<String> getVertices() {
+        return Collections.unmodifiableList(vertices);
     }
 
-    public ArrayList<AristaPonderada> getAristas() {
-        return new ArrayList<>(aristas);
+    /**
+     * Aristas en orden de insercion. Vista de solo lectura, sin copiar:
+     * refleja los cambios posteriores del grafo.
+     */
+    public Collection<AristaPonderada> getAristas() {
+        return Collections.unmodifiableCollection(aristas.values());
     }
 
     public int getNumVertices() {
@@ -197,11 +320,22 @@ public class GrafoPonderado {
     }
 
     public boolean contieneVertice(String v) {
-        return vertices.contains(v.trim());
+        return posiciones.containsKey(v.trim());
     }
 
     public boolean contieneArista(String origen, String destino) {
-        return aristas.contains(new AristaPonderada(origen, destino, 1));
+        return aristas.containsKey(new AristaPonderada(origen, destino, 1));
+    }
+
+    /**
+     * Vista compacta de solo lectura para los algoritmos. Se construye en
+     * O(V + E) la primera vez y se reutiliza mientras el grafo no cambie.
+     */
+    public Vista getVista() {
+        if (vista == null) {
+            vista = new Vista(vertices, posiciones, aristas.values());
+        }
+        return vista;
     }
 
     /**
@@ -209,10 +343,13 @@ public class GrafoPonderado {
      */
     public ArrayList<String> getVecinosSalida(String v) {
         ArrayList<String> vecinos = new ArrayList<>();
-        for (AristaPonderada a : aristas) {
-            if (a.origen.equals(v)) {
-                vecinos.add(a.destino);
-            }
+        Vista g = getVista();
+        int u = g.id(v);
+        if (u < 0) {
+            return vecinos;
+        }
+        for (int i = g.inicioSalida[u]; i < g.inicioSalida[u + 1]; i++) {
+            vecinos.add(g.nombres[g.destinoSalida[i]]);
         }
         return vecinos;
     }
@@ -221,12 +358,8 @@ public class GrafoPonderado {
      * Peso de la arista origen->destino. Retorna -1 si no existe.
      */
     public double getPeso(String origen, String destino) {
-        for (AristaPonderada a : aristas) {
-            if (a.origen.equals(origen) && a.destino.equals(destino)) {
-                return a.peso;
-            }
-        }
-        return -1;
+        AristaPonderada a = aristas.get(new AristaPonderada(origen, destino, 1));
+        return (a == null) ? -1 : a.peso;
     }
 
     public String getVerticesStr() {
@@ -241,11 +374,11 @@ public class GrafoPonderado {
             return "A = {}";
         }
         StringBuilder sb = new StringBuilder("A = {");
-        for (int i = 0; i < aristas.size(); i++) {
-            sb.append(aristas.get(i).toString());
-            if (i < aristas.size() - 1) {
+        for (AristaPonderada a : aristas.values()) {
+            if (sb.length() > 5) {
                 sb.append(", ");
             }
+            sb.append(a.toString());
         }
         return sb.append("}").toString();
     }
@@ -1,6 +1,8 @@
 package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveUtil;
+import java.io.Closeable;
+import java.nio.file.Path;
 import java.util.ArrayList;
 
 /**
@@ -15,13 +17,37 @@ import java.util.ArrayList;
  * mod numBloques PLEGAMIENTO_MULT : divide k en grupos de 2 dígitos, los
  * multiplica, mod numBloques TRUNCAMIENTO : extrae digitos en posiciones
  * especificas, mod numBloques CONVERSION_BASE : convierte k a otra base, toma
- * sus digitos, mod numBloques
+ * sus digitos, mod numBloques MEZCLA : mezcla de 64 bits de la clave
+ * (ClaveUtil.mezclar), mod numBloques
  *
  * Solución de colisiones: bloque de desbordamiento encadenado Cada bloque tiene
  * un puntero a un bloque de desbordamiento Cuando el bloque primario se llena,
  * las claves extra van al desbordamiento
+ *
+ * Con el constructor que recibe un Path los bloques viven en un archivo de
+ * paginas: la pagina i-1 es el bloque primario i y los desbordamientos son
+ * paginas agregadas al final, encadenadas con el campo siguiente de la
+ * pagina. getLecturas y getEscrituras cuentan las paginas realmente leidas y
+ * escritas; obtenerBloquesPrimarios arma los Bloque leyendo todo el archivo.
+ * El archivo puede pasar por un PoolPaginas compartido.
+ *
+ * Organizacion EXTENSIBLE (hashing extensible, solo en memoria): en vez de
+ * numBloques fijos hay un directorio de 2^profundidadGlobal entradas que
+ * apuntan a cubetas de capacidad c. La entrada se elige con los ultimos
+ * profundidadGlobal bits del valor hash (mezclado). Cada cubeta tiene su
+ * profundidadLocal: cuando se llena se divide en dos segun el bit siguiente
+ * (duplicando el directorio si hace falta) y, al eliminar, se une con su
+ * compañera (buddy) si entre las dos caben en una. El directorio esta en
+ * memoria, asi que una busqueda lee una sola cubeta sin importar cuantas
+ * claves haya. Solo si mas de c claves tienen el mismo hash (p. ej. en
+ * PLEGAMIENTO) se recurre al desbordamiento encadenado.
  */
-public class HashExterno {
+public class HashExterno implements Closeable {
+
+    public enum Organizacion {
+        DESBORDAMIENTO, // numBloques fijos + desbordamiento encadenado
+        EXTENSIBLE      // directorio con profundidad global/local
+    }
 
     public enum Tipo {
         MOD,
@@ -29,7 +55,8 @@ public class HashExterno {
         PLEGAMIENTO_SUMA,
         PLEGAMIENTO_MULT,
         TRUNCAMIENTO,
-        CONVERSION_BASE
+        CONVERSION_BASE,
+        MEZCLA
     }
 
     /**
@@ -42,6 +69,7 @@ public class HashExterno {
         public final int capacidad;    // maximo de claves
         public Bloque desbordamiento; // siguiente bloque encadenado
         public final boolean esPrimario;   // true = bloque primario, false = desbordamiento
+        public int profundidadLocal;  // solo EXTENSIBLE: bits que comparten sus claves
 
         public Bloque(int numero, int capacidad, boolean esPrimario) {
             this.numero = numero;
@@ -106,21 +134,86 @@ public class HashExterno {
     private final int[] posicionesTrunc; // para TRUNCAMIENTO
 
     /**
-     * Bloques primarios (indice 0 = bloque 1).
+     * Bloques primarios (indice 0 = bloque 1). null si se usa archivo.
      */
     private final ArrayList<Bloque> bloquesPrimarios;
 
+    /**
+     * Archivo de paginas, null si los bloques estan en memoria.
+     */
+    private final ArchivoPaginado archivo;
+
+    /**
+     * Tope de profundidad del directorio en EXTENSIBLE (2^20 entradas).
+     */
+    public static final int PROFUNDIDAD_MAXIMA = 20;
+
+    private final Organizacion organizacion;
+
+    /**
+     * Solo EXTENSIBLE: entrada i = cubeta de las claves cuyo hash termina en
+     * los bits de i. Varias entradas pueden apuntar a la misma cubeta.
+     */
+    private final ArrayList<Bloque> directorio;
+    private int profundidadGlobal;
+    private int cubetas;
+    private int enProfundidadGlobal; // cubetas con profundidadLocal == profundidadGlobal
+
     private int contador;
-    private int contadorDesbordamiento; // para numerar bloques de desbordamiento
+    private int contadorDesbordamiento; // para numerar bloques de desbordamiento (y cubetas en EXTENSIBLE)
 
     /**
-     * Constructor para MOD, CUADRADO, PLEGAMIENTO_SUMA, PLEGAMIENTO_MULT.
+     * Constructor para MOD, CUADRADO, PLEGAMIENTO_SUMA, PLEGAMIENTO_MULT, MEZCLA.
      */
     public HashExterno(int N, int c, int longClave, Tipo tipo) {
+        this(N, c, longClave, tipo, Organizacion.DESBORDAMIENTO, null, null);
+    }
+
+    /**
+     * Constructor para MOD, CUADRADO, PLEGAMIENTO_SUMA, PLEGAMIENTO_MULT, MEZCLA.
+     *
+     * @param organizacion DESBORDAMIENTO (numBloques fijos) o EXTENSIBLE. Con
+     * EXTENSIBLE N solo se informa; el directorio crece con los datos.
+     */
+    public HashExterno(int N, int c, int longClave, Tipo tipo, Organizacion organizacion) {
+        this(N, c, longClave, tipo, organizacion, null, null);
+    }
+
+    /**
+     * Constructor para MOD, CUADRADO, PLEGAMIENTO_SUMA, PLEGAMIENTO_MULT, MEZCLA.
+     *
+     * @param archivo Archivo de paginas a crear (se trunca si existe), o null
+     * para guardar los bloques en memoria.
+     */
+    public HashExterno(int N, int c, int longClave, Tipo tipo, Path archivo) {
+        this(N, c, longClave, tipo, Organizacion.DESBORDAMIENTO, archivo, null);
+    }
+
+    /**
+     * Constructor para MOD, CUADRADO, PLEGAMIENTO_SUMA, PLEGAMIENTO_MULT, MEZCLA.
+     *
+     * @param archivo Archivo de paginas a crear (se trunca si existe), o null
+     * para guardar los bloques en memoria.
+     * @param pool Pool de paginas por el que pasa el archivo, o null.
+     */
+    public HashExterno(int N, int c, int longClave, Tipo tipo, Path archivo, PoolPaginas pool) {
+        this(N, c, longClave, tipo, Organizacion.DESBORDAMIENTO, archivo, pool);
+    }
+
+    private HashExterno(int N, int c, int longClave, Tipo tipo, Organizacion organizacion,
+            Path archivo, PoolPaginas pool) {
         if (tipo == Tipo.TRUNCAMIENTO || tipo == Tipo.CONVERSION_BASE) {
             throw new IllegalArgumentException(
                     "Use el constructor especifico para TRUNCAMIENTO o CONVERSION_BASE.");
         }
+        if (organizacion == null) {
+            throw new IllegalArgumentException("La organizacion es obligatoria.");
+        }
+        if (organizacion == Organizacion.EXTENSIBLE && archivo != null) {
+            throw new IllegalArgumentException(
+                    "La organizacion EXTENSIBLE solo esta disponible en memoria.");
+        }
+        validarParametros(N, c, longClave);
         this.N = N;
         this.c = c;
         this.longClave = longClave;
@@ -130,8 +223,26 @@ public class HashExterno {
         this.numBloques = (int) Math.ceil((double) N / c);
         this.contador = 0;
         this.contadorDesbordamiento = numBloques;
-        this.bloquesPrimarios = crearBloquesPrimarios();
-        validarParametros(N, c, longClave);
+        this.organizacion = organizacion;
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            this.archivo = null;
+            this.bloquesPrimarios = null;
+            this.directorio = new ArrayList<>();
+            this.contadorDesbordamiento = 0;
+            this.directorio.add(nuevaCubeta(0));
+            this.enProfundidadGlobal = 1;
+        } else if (archivo == null) {
+            this.directorio = null;
+            this.archivo = null;
+            this.bloquesPrimarios = crearBloquesPrimarios();
+        } else {
+            this.directorio = null;
+            this.archivo = new ArchivoPaginado(archivo, c, longClave, pool);
+            this.bloquesPrimarios = null;
+            for (int i = 0; i < numBloques; i++) {
+                this.archivo.agregarPagina();
+            }
+        }
     }
 
     /**
@@ -150,7 +261,10 @@ public class HashExterno {
         this.numBloques = (int) Math.ceil((double) N / c);
         this.contador = 0;
         this.contadorDesbordamiento = numBloques;
+        this.organizacion = Organizacion.DESBORDAMIENTO;
+        this.directorio = null;
         this.bloquesPrimarios = crearBloquesPrimarios();
+        this.archivo = null;
     }
 
     /**
@@ -172,12 +286,16 @@ public class HashExterno {
         this.numBloques = (int) Math.ceil((double) N / c);
         this.contador = 0;
         this.contadorDesbordamiento = numBloques;
+        this.organizacion = Organizacion.DESBORDAMIENTO;
+        this.directorio = null;
         this.bloquesPrimarios = crearBloquesPrimarios();
+        this.archivo = null;
     }
 
     /**
      * Inserta una clave en el bloque que le corresponde segun la funcion. Si el
-     * bloque esta lleno, va al bloque de desbordamiento encadenado.
+     * bloque esta lleno, va al bloque de desbordamiento encadenado (en
+     * EXTENSIBLE se divide la cubeta).
      *
      * @throws IllegalStateException si la clave ya existe.
      * @throws IllegalArgumentException si la longitud de clave es incorrecta.
@@ -189,10 +307,26 @@ public class HashExterno {
             throw new IllegalStateException("La clave '" + clave + "' ya existe.");
         }
 
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            insertarExtensible(clave);
+            contador++;
+            return;
+        }
         int numBloque = calcularHash(clave); // 1-based
-        Bloque bloque = bloquesPrimarios.get(numBloque - 1);
+        if (archivo != null) {
+            insertarEnArchivo(clave, numBloque);
+            contador++;
+            return;
+        }
+        agregarEnCadena(bloquesPrimarios.get(numBloque - 1), clave);
+        contador++;
+    }
 
-        // Buscar primer bloque con espacio (primario o desbordamiento)
+    /**
+     * Agrega la clave en el primer bloque de la cadena con espacio (primario o
+     * desbordamiento), creando un desbordamiento si todos estan llenos.
+     */
+    private void agregarEnCadena(Bloque bloque, String clave) {
         while (bloque.estaLleno()) {
             if (bloque.desbordamiento == null) {
                 // Crear nuevo bloque de desbordamiento
@@ -201,9 +335,7 @@ public class HashExterno {
             }
             bloque = bloque.desbordamiento;
         }
-
         bloque.claves.add(clave);
-        contador++;
     }
 
     /**
@@ -215,9 +347,12 @@ public class HashExterno {
             return new ResultadoBusqueda(-1, -1, -1, 0, false, false);
         }
 
-        int bloqueBase = calcularHash(clave);
+        if (archivo != null) {
+            return buscarEnArchivo(clave, calcularHash(clave));
+        }
         int bloquesVisit = 0;
-        Bloque actual = bloquesPrimarios.get(bloqueBase - 1);
+        Bloque actual = primario(clave);
+        int bloqueBase = actual.numero;
 
         while (actual != null) {
             bloquesVisit++;
@@ -254,7 +389,12 @@ public class HashExterno {
         }
 
         int bloqueBase = r.bloqueBase;
-        Bloque actual = bloquesPrimarios.get(bloqueBase - 1);
+        if (archivo != null) {
+            eliminarDeArchivo(clave, bloqueBase);
+            contador--;
+            return;
+        }
+        Bloque actual = primario(clave);
 
         // Encontrar el bloque que contiene la clave y el bloque anterior
         Bloque anterior = null;
@@ -294,9 +434,22 @@ public class HashExterno {
         }
 
         // Limpiar bloques de desbordamiento vacios al final de la cadena
-        limpiarDesbordes(bloquesPrimarios.get(bloqueBase - 1));
+        limpiarDesbordes(actual);
 
         contador--;
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            unirCubetas(clave);
+        }
+    }
+
+    /**
+     * Bloque primario (o cubeta del directorio) de una clave, en memoria.
+     */
+    private Bloque primario(String clave) {
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            return directorio.get(indiceHash(clave) & mascara(profundidadGlobal));
+        }
+        return bloquesPrimarios.get(calcularHash(clave) - 1);
     }
 
     /**
@@ -321,6 +474,260 @@ public class HashExterno {
         }
     }
 
+    // =====================================================================
+    //  HASHING EXTENSIBLE
+    // =====================================================================
+
+    /**
+     * Divide la cubeta llena hasta que la clave entra. Si todas sus claves y
+     * la nueva tienen el mismo hash, o la cubeta ya tiene PROFUNDIDAD_MAXIMA,
+     * dividir no las separa: se usa desbordamiento.
+     */
+    private void insertarExtensible(String clave) {
+        int h = indiceHash(clave);
+        while (true) {
+            Bloque cubeta = directorio.get(h & mascara(profundidadGlobal));
+            if (!cubeta.estaLleno()) {
+                cubeta.claves.add(clave);
+                return;
+            }
+            if (cubeta.profundidadLocal >= PROFUNDIDAD_MAXIMA || mismoHash(cubeta, h)) {
+                agregarEnCadena(cubeta, clave);
+                return;
+            }
+            dividir(cubeta, h);
+        }
+    }
+
+    /**
+     * Parte la cubeta en dos segun el bit profundidadLocal del hash. Si la
+     * cubeta ya usaba todos los bits del directorio, este se duplica.
+     *
+     * @param h hash de cualquier clave que cae en la cubeta
+     */
+    private void dividir(Bloque cubeta, int h) {
+        int l = cubeta.profundidadLocal;
+        if (l == profundidadGlobal) {
+            int tam = directorio.size();
+            for (int i = 0; i < tam; i++) {
+                directorio.add(directorio.get(i));
+            }
+            profundidadGlobal++;
+            enProfundidadGlobal = 0;
+        }
+        int bit = 1 << l;
+        cubeta.profundidadLocal = l + 1;
+        Bloque nueva = nuevaCubeta(l + 1);
+        if (l + 1 == profundidadGlobal) {
+            enProfundidadGlobal += 2;
+        }
+        // Entradas de la cubeta: las que terminan en sus l bits
+        for (int i = h & mascara(l); i < directorio.size(); i += bit) {
+            if ((i & bit) != 0) {
+                directorio.set(i, nueva);
+            }
+        }
+        // Reparte tambien la cadena de desbordamiento, si la cubeta tenia una
+        ArrayList<String> todas = new ArrayList<>();
+        for (Bloque b = cubeta; b != null; b = b.desbordamiento) {
+            todas.addAll(b.claves);
+        }
+        cubeta.claves.clear();
+        cubeta.desbordamiento = null;
+        for (String k : todas) {
+            agregarEnCadena((indiceHash(k) & bit) != 0 ? nueva : cubeta, k);
+        }
+    }
+
+    /**
+     * Une la cubeta de la clave eliminada con su compañera mientras las dos
+     * tengan la misma profundidad local, ninguna tenga desbordamiento y quepan
+     * en una. Despues reduce el directorio a la mitad mientras ninguna cubeta
+     * use todos sus bits.
+     */
+    private void unirCubetas(String clave) {
+        int h = indiceHash(clave);
+        Bloque cubeta = directorio.get(h & mascara(profundidadGlobal));
+        while (cubeta.profundidadLocal > 0 && cubeta.desbordamiento == null) {
+            int l = cubeta.profundidadLocal;
+            int bit = 1 << (l - 1);
+            int i = h & mascara(l);
+            Bloque companera = directorio.get(i ^ bit);
+            if (companera.profundidadLocal != l || companera.desbordamiento != null
+                    || cubeta.claves.size() + companera.claves.size() > c) {
+                break;
+            }
+            // Queda la cubeta cuyo bit l-1 es 0
+            Bloque queda = (i & bit) == 0 ? cubeta : companera;
+            Bloque sale = queda == cubeta ? companera : cubeta;
+            queda.claves.addAll(sale.claves);
+            queda.profundidadLocal = l - 1;
+            for (int j = i & mascara(l - 1); j < directorio.size(); j += bit) {
+                directorio.set(j, queda);
+            }
+            if (l == profundidadGlobal) {
+                enProfundidadGlobal -= 2;
+            }
+            cubetas--;
+            cubeta = queda;
+        }
+        while (profundidadGlobal > 0 && enProfundidadGlobal == 0) {
+            int mitad = directorio.size() / 2;
+            directorio.subList(mitad, directorio.size()).clear();
+            profundidadGlobal--;
+            // Cada cubeta con profundidad global aparece una sola vez
+            for (Bloque b : directorio) {
+                if (b.profundidadLocal == profundidadGlobal) {
+                    enProfundidadGlobal++;
+                }
+            }
+        }
+    }
+
+    private boolean mismoHash(Bloque cubeta, int h) {
+        for (String k : cubeta.claves) {
+            if (indiceHash(k) != h) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Bloque nuevaCubeta(int profundidadLocal) {
+        Bloque b = new Bloque(++contadorDesbordamiento, c, true);
+        b.profundidadLocal = profundidadLocal;
+        cubetas++;
+        return b;
+    }
+
+    private static int mascara(int bits) {
+        return (1 << bits) - 1;
+    }
+
+    /**
+     * Bits del valor hash usados por el directorio. Se mezclan porque MOD,
+     * CUADRADO, etc. no reparten bien sus bits bajos.
+     */
+    private int indiceHash(String clave) {
+        long h = valorHash(clave);
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return (int) h & mascara(PROFUNDIDAD_MAXIMA);
+    }
+
+    // =====================================================================
+    //  ARCHIVO DE PAGINAS
+    // =====================================================================
+
+    /**
+     * Misma logica que en memoria: la primera pagina de la cadena con espacio,
+     * o una pagina nueva encadenada a la ultima.
+     */
+    private void insertarEnArchivo(String clave, int numBloque) {
+        int pagina = numBloque - 1;
+        ArchivoPaginado.Pagina actual = archivo.leer(pagina);
+        while (actual.claves.size() >= c) {
+            if (actual.siguiente == ArchivoPaginado.SIN_SIGUIENTE) {
+                int nueva = archivo.agregarPagina();
+                archivo.escribir(pagina, actual.claves, nueva);
+                pagina = nueva;
+                actual = new ArchivoPaginado.Pagina(new ArrayList<>(), ArchivoPaginado.SIN_SIGUIENTE);
+            } else {
+                pagina = actual.siguiente;
+                actual = archivo.leer(pagina);
+            }
+        }
+        actual.claves.add(clave);
+        archivo.escribir(pagina, actual.claves, actual.siguiente);
+    }
+
+    private ResultadoBusqueda buscarEnArchivo(String clave, int bloqueBase) {
+        int bloquesVisit = 0;
+        int pagina = bloqueBase - 1;
+        while (pagina != ArchivoPaginado.SIN_SIGUIENTE) {
+            ArchivoPaginado.Pagina actual = archivo.leer(pagina);
+            bloquesVisit++;
+            int j = actual.claves.indexOf(clave);
+            if (j != -1) {
+                return new ResultadoBusqueda(bloqueBase, pagina + 1, j + 1,
+                        bloquesVisit, true, pagina >= numBloques);
+            }
+            pagina = actual.siguiente;
+        }
+        return new ResultadoBusqueda(bloqueBase, -1, -1, bloquesVisit, false, false);
+    }
+
+    /**
+     * Igual que en memoria: el ultimo elemento de la cadena tapa el hueco y,
+     * si la ultima pagina de desbordamiento queda vacia, se libera. Solo se
+     * escriben las paginas que cambian.
+     */
+    private void eliminarDeArchivo(String clave, int bloqueBase) {
+        ArrayList<Integer> paginas = new ArrayList<>();
+        ArrayList<ArrayList<String>> cadena = new ArrayList<>();
+        int pagina = bloqueBase - 1;
+        while (pagina != ArchivoPaginado.SIN_SIGUIENTE) {
+            ArchivoPaginado.Pagina actual = archivo.leer(pagina);
+            paginas.add(pagina);
+            cadena.add(actual.claves);
+            pagina = actual.siguiente;
+        }
+
+        int target = 0;
+        while (!cadena.get(target).contains(clave)) {
+            target++;
+        }
+        int pos = cadena.get(target).indexOf(clave);
+        int ultimo = cadena.size() - 1;
+        boolean[] cambiada = new boolean[cadena.size()];
+
+        if (ultimo == target) {
+            cadena.get(target).remove(pos);
+        } else {
+            ArrayList<String> ultimas = cadena.get(ultimo);
+            cadena.get(target).set(pos, ultimas.remove(ultimas.size() - 1));
+            cambiada[ultimo] = true;
+        }
+        cambiada[target] = true;
+
+        if (ultimo > 0 && cadena.get(ultimo).isEmpty()) {
+            archivo.liberarPagina(paginas.get(ultimo));
+            cambiada[ultimo] = false;
+            cambiada[ultimo - 1] = true;
+            ultimo--;
+        }
+        for (int i = 0; i <= ultimo; i++) {
+            if (cambiada[i]) {
+                int siguiente = i < ultimo ? paginas.get(i + 1) : ArchivoPaginado.SIN_SIGUIENTE;
+                archivo.escribir(paginas.get(i), cadena.get(i), siguiente);
+            }
+        }
+    }
+
+    /**
+     * Lee la cadena de la pagina dada como objetos Bloque.
+     */
+    private Bloque leerCadena(int pagina) {
+        Bloque primero = null;
+        Bloque anterior = null;
+        while (pagina != ArchivoPaginado.SIN_SIGUIENTE) {
+            ArchivoPaginado.Pagina actual = archivo.leer(pagina);
+            Bloque b = new Bloque(pagina + 1, c, pagina < numBloques);
+            b.claves.addAll(actual.claves);
+            if (anterior == null) {
+                primero = b;
+            } else {
+                anterior.desbordamiento = b;
+            }
+            anterior = b;
+            pagina = actual.siguiente;
+        }
+        return primero;
+    }
+
     /**
      * Crea los bloques primarios vacios
      */
@@ -336,9 +743,16 @@ public class HashExterno {
      * Calcula el numero de bloque (1-based) para una clave
      */
     private int calcularHash(String clave) {
+        return (int) (valorHash(clave) % numBloques) + 1;
+    }
+
+    /**
+     * Valor de la funcion hash antes de aplicar mod numBloques.
+     */
+    private long valorHash(String clave) {
         switch (tipo) {
             case MOD:
-                return hashMod(clave);
+                return ClaveUtil.aNumero(clave);
             case CUADRADO:
                 return hashCuadrado(clave);
             case PLEGAMIENTO_SUMA:
@@ -349,33 +763,26 @@ public class HashExterno {
                 return hashTruncamiento(clave);
             case CONVERSION_BASE:
                 return hashConversionBase(clave);
+            case MEZCLA:
+                return ClaveUtil.mezclar(clave);
             default:
                 throw new IllegalStateException("Función hash no reconocida.");
         }
     }
 
-    /**
-     * H(k) = (k mod numBloques) + 1
-     */
-    private int hashMod(String clave) {
-        long k = ClaveUtil.aNumero(clave);
-        return (int) (k % numBloques) + 1;
-    }
-
     /**
      * H(k) = (k² mod numBloques) + 1
      */
-    private int hashCuadrado(String clave) {
+    private long hashCuadrado(String clave) {
         long k = ClaveUtil.aNumero(clave) % 1_000_000L;
-        long cuadrado = k * k;
-        return (int) (cuadrado % numBloques) + 1;
+        return k * k;
     }
 
     /**
      * Divide los digitos de k en grupos de 2, los suma o multiplica, mod
      * numBloques.
      */
-    private int hashPlegamiento(String clave, boolean suma) {
+    private long hashPlegamiento(String clave, boolean suma) {
         String digitos = ClaveUtil.aDigitos(clave);
         ArrayList<Long> grupos = new ArrayList<>();
         for (int i = 0; i < digitos.length(); i += 2) {
@@ -394,13 +801,13 @@ public class HashExterno {
                 resultado *= (g == 0 ? 1 : g);
             }
         }
-        return (int) (resultado % numBloques) + 1;
+        return resultado;
     }
 
     /**
      * Extrae digitos en posiciones especificas de k, mod numBloques
      */
-    private int hashTruncamiento(String clave) {
+    private long hashTruncamiento(String clave) {
         String digitos = ClaveUtil.aDigitos(clave);
         StringBuilder extraido = new StringBuilder();
         for (int pos : posicionesTrunc) {
@@ -412,15 +819,14 @@ public class HashExterno {
             throw new IllegalStateException(
                     "Ninguna posición de truncamiento es válida para la clave '" + clave + "'.");
         }
-        long valor = Long.parseLong(extraido.toString());
-        return (int) (valor % numBloques) + 1;
+        return Long.parseLong(extraido.toString());
     }
 
     /**
      * Convierte k a la base configurada, toma los digitos resultantes, los suma
      * y aplica mod numBloques.
      */
-    private int hashConversionBase(String clave) {
+    private long hashConversionBase(String clave) {
         String digitos = ClaveUtil.aDigitos(clave); // digitos de k
         int n = digitos.length();
         long resultado = 0;
@@ -429,13 +835,32 @@ public class HashExterno {
             long potencia = (long) Math.pow(base, n - 1 - i);
             resultado += digito * potencia;
         }
-        return (int) (resultado % numBloques) + 1;
+        return resultado;
     }
 
     /**
-     * Todos los bloques primarios con sus cadenas de desbordamiento.
+     * Todos los bloques primarios con sus cadenas de desbordamiento (en
+     * EXTENSIBLE, cada cubeta distinta del directorio una vez).
      */
     public ArrayList<Bloque> obtenerBloquesPrimarios() {
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            ArrayList<Bloque> lista = new ArrayList<>();
+            for (int i = 0; i < directorio.size(); i++) {
+                Bloque b = directorio.get(i);
+                // La primera entrada de cada cubeta es menor que 2^profundidadLocal
+                if (i <= mascara(b.profundidadLocal)) {
+                    lista.add(b);
+                }
+            }
+            return lista;
+        }
+        if (archivo != null) {
+            ArrayList<Bloque> lista = new ArrayList<>();
+            for (int i = 0; i < numBloques; i++) {
+                lista.add(leerCadena(i));
+            }
+            return lista;
+        }
         return new ArrayList<>(bloquesPrimarios);
     }
 
@@ -443,6 +868,9 @@ public class HashExterno {
      * Numero de bloque base para una clave (1-based)
      */
     public int obtenerBloqueBase(String clave) {
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            return primario(clave).numero;
+        }
         return calcularHash(clave);
     }
 
@@ -450,6 +878,11 @@ public class HashExterno {
      * Resumen
      */
     public String obtenerInfo() {
+        if (organizacion == Organizacion.EXTENSIBLE) {
+            return "N=" + N + "  c=" + c + "  Cubetas=" + cubetas
+                    + "  Profundidad global=" + profundidadGlobal
+                    + "  Registros actuales=" + contador;
+        }
         return "N=" + N + "  c=" + c + "  Bloques=" + numBloques
                 + "  Registros actuales=" + contador;
     }
@@ -462,8 +895,11 @@ public class HashExterno {
         return c;
     }
 
+    /**
+     * Bloques primarios (cubetas en EXTENSIBLE).
+     */
     public int getNumBloques() {
-        return numBloques;
+        return organizacion == Organizacion.EXTENSIBLE ? cubetas : numBloques;
     }
 
     public int getLongClave() {
@@ -482,6 +918,41 @@ public class HashExterno {
         return base;
     }
 
+    public Organizacion getOrganizacion() {
+        return organizacion;
+    }
+
+    /**
+     * Bits que usa el directorio (0 si no es EXTENSIBLE).
+     */
+    public int getProfundidadGlobal() {
+        return profundidadGlobal;
+    }
+
+    /**
+     * Paginas leidas del archivo (0 en memoria).
+     */
+    public long getLecturas() {
+        return archivo == null ? 0 : archivo.getLecturas();
+    }
+
+    /**
+     * Paginas escritas en el archivo (0 en memoria).
+     */
+    public long getEscrituras() {
+        return archivo == null ? 0 : archivo.getEscrituras();
+    }
+
+    /**
+     * Cierra el archivo de paginas, si hay.
+     */
+    @Override
+    public void close() {
+        if (archivo != null) {
+            archivo.close();
+        }
+    }
+
     private void validarParametros(int N, int c, int longClave) {
         if (N <= 0) {
             throw new IllegalArgumentException("N debe ser mayor que 0.");
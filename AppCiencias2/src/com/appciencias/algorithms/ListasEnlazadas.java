@@ -6,6 +6,12 @@ import java.util.ArrayList;
 /**
  * Solución de colisiones por listas enlazadas.
  * Ahora soporta cualquier función hash (MOD, CUADRADO, TRUNCAMIENTO, PLEGAMIENTO).
+ *
+ * Con una PoliticaCrecimiento la tabla crece cuando contador / n supera el
+ * factor de carga. En modo incremental cada insercion/eliminacion migra
+ * algunas posiciones (clave base + cadena) de la tabla vieja; buscar y
+ * eliminar consultan tambien la posicion vieja si aun no se migro, y buscar
+ * nunca escribe (se puede usar con EstructuraConcurrente).
  */
 public class ListasEnlazadas {
 
@@ -31,6 +37,13 @@ public class ListasEnlazadas {
     private int contador; // total de claves activas (tabla + cadenas)
     private FuncionHash funcionHashObj; // Función hash configurable
 
+    private PoliticaCrecimiento politica; // null = tamaño fijo
+    // Rehash incremental: posiciones [0, cursor) de la tabla vieja ya migradas
+    private String[] tablaVieja;
+    private NodoLista[] cadenaVieja;
+    private FuncionHash funcionVieja;
+    private int cursorMigracion;
+
     /**
      * Constructor principal con función hash configurable.
      * Permite usar cualquier tipo de función hash.
@@ -48,7 +61,7 @@ public class ListasEnlazadas {
         }
         this.n = tamaño;
         this.longClave = longClave;
-        this.funcionHashObj = funcionHash;
+        this.funcionHashObj = funcionHash.copiar(); // crecer le cambia el tamaño
         this.contador = 0;
         this.tabla = new String[n];    // null = vacia
         this.cadena = new NodoLista[n]; // null = sin cadena
@@ -81,10 +94,25 @@ public class ListasEnlazadas {
      */
     public void insertar(String clave) {
         ClaveUtil.validar(clave, longClave);
+        if (politica != null) {
+            migrarPasos();
+            if (politica.debeCrecer(contador + 1, n)) {
+                crecer();
+            }
+        }
         if (buscar(clave) != null) {
             throw new IllegalStateException("La clave '" + clave + "' ya existe.");
         }
 
+        colocar(clave);
+        contador++;
+    }
+
+    /**
+     * Ubica la clave en la tabla actual: en la posicion base si esta libre, si
+     * no al final de su cadena. No cambia contador.
+     */
+    private void colocar(String clave) {
         int idx = hash(clave);
 
         if (tabla[idx] == null) {
@@ -105,11 +133,12 @@ public class ListasEnlazadas {
                 actual.siguiente = nuevo;
             }
         }
-        contador++;
     }
 
     /**
-     * Busca una clave.
+     * Busca una clave. No modifica la estructura: durante un rehash
+     * incremental, si la posicion vieja de la clave aun no se migro, la
+     * busca ahi (el resultado se refiere entonces a la tabla vieja).
      *
      * @return ResultadoBusqueda con info de dónde se encontro, o null si no
      * existe
@@ -119,20 +148,31 @@ public class ListasEnlazadas {
             return null;
         }
 
-        int idx = hash(clave);
+        if (tablaVieja != null) {
+            int viejo = funcionVieja.calcular(clave) - 1;
+            if (viejo >= cursorMigracion) {
+                ResultadoBusqueda r = buscarEn(tablaVieja, cadenaVieja, viejo, clave);
+                if (r != null) {
+                    return r;
+                }
+            }
+        }
+        return buscarEn(tabla, cadena, hash(clave), clave);
+    }
 
+    private static ResultadoBusqueda buscarEn(String[] t, NodoLista[] c, int idx, String clave) {
         // Posición base vacia
-        if (tabla[idx] == null) {
+        if (t[idx] == null) {
             return null;
         }
 
         // ¿Está en la posicion base?
-        if (tabla[idx].equals(clave)) {
+        if (t[idx].equals(clave)) {
             return new ResultadoBusqueda(idx + 1, 0, true);
         }
 
         // Buscar en la cadena
-        NodoLista actual = cadena[idx];
+        NodoLista actual = c[idx];
         int saltos = 1;
         while (actual != null) {
             if (actual.clave.equals(clave)) {
@@ -182,53 +222,131 @@ public class ListasEnlazadas {
      */
     public void eliminar(String clave) {
         ClaveUtil.validar(clave, longClave);
-
-        int idx = hash(clave);
-
-        if (tabla[idx] == null) {
+        if (politica != null) {
+            migrarPasos();
+        }
+        boolean quitada = false;
+        if (tablaVieja != null) {
+            int viejo = funcionVieja.calcular(clave) - 1;
+            quitada = viejo >= cursorMigracion && quitar(tablaVieja, cadenaVieja, viejo, clave);
+        }
+        if (!quitada && !quitar(tabla, cadena, hash(clave), clave)) {
             throw new IllegalArgumentException("La clave '" + clave + "' no existe.");
         }
+        contador--;
+    }
+
+    /**
+     * Quita la clave de la posicion idx (casos 1 y 2 de eliminar).
+     *
+     * @return false si no estaba
+     */
+    private static boolean quitar(String[] t, NodoLista[] c, int idx, String clave) {
+        if (t[idx] == null) {
+            return false;
+        }
 
         // CASO 1: está en la posicion base de la tabla
-        if (tabla[idx].equals(clave)) {
-            if (cadena[idx] == null) {
+        if (t[idx].equals(clave)) {
+            if (c[idx] == null) {
                 // Sin cadena, solo vaciar la celda
-                tabla[idx] = null;
+                t[idx] = null;
             } else {
                 // Hay cadena, subir el primer nodo de la cadena a la tabla
-                tabla[idx] = cadena[idx].clave;
-                cadena[idx] = cadena[idx].siguiente;
+                t[idx] = c[idx].clave;
+                c[idx] = c[idx].siguiente;
             }
-            contador--;
-            return;
+            return true;
         }
 
         // CASO 2: est en algun nodo de la cadena
-        if (cadena[idx] == null) {
-            throw new IllegalArgumentException("La clave '" + clave + "' no existe.");
+        if (c[idx] == null) {
+            return false;
         }
 
         // Si el primer nodo de la cadena es el que buscamos
-        if (cadena[idx].clave.equals(clave)) {
-            cadena[idx] = cadena[idx].siguiente;
-            contador--;
-            return;
+        if (c[idx].clave.equals(clave)) {
+            c[idx] = c[idx].siguiente;
+            return true;
         }
 
         // Buscar en el resto de la cadena
-        NodoLista anterior = cadena[idx];
-        NodoLista actual = cadena[idx].siguiente;
+        NodoLista anterior = c[idx];
+        NodoLista actual = c[idx].siguiente;
         while (actual != null) {
             if (actual.clave.equals(clave)) {
                 anterior.siguiente = actual.siguiente; // reencadenar
-                contador--;
-                return;
+                return true;
             }
             anterior = actual;
             actual = actual.siguiente;
         }
+        return false;
+    }
+
+    // =====================================================================
+    //  CRECIMIENTO
+    // =====================================================================
+
+    /**
+     * Pasa al siguiente tamaño de la politica con FuncionHash.setTamaño. Si
+     * habia una migracion en curso se termina primero.
+     */
+    private void crecer() {
+        completarMigracion();
+        tablaVieja = tabla;
+        cadenaVieja = cadena;
+        funcionVieja = funcionHashObj.copiar();
+        cursorMigracion = 0;
+
+        n = politica.siguienteTamaño(n);
+        funcionHashObj.setTamaño(n);
+        tabla = new String[n];
+        cadena = new NodoLista[n];
+
+        if (!politica.esIncremental()) {
+            completarMigracion();
+        }
+    }
+
+    private void migrarPasos() {
+        for (int k = 0; k < politica.getPasosIncrementales() && tablaVieja != null; k++) {
+            migrarPosicion(cursorMigracion);
+            avanzarCursor();
+        }
+    }
 
-        throw new IllegalArgumentException("La clave '" + clave + "' no existe.");
+    /**
+     * Termina de migrar la tabla vieja de una vez, si hay migracion en curso.
+     */
+    public void completarMigracion() {
+        while (tablaVieja != null) {
+            migrarPosicion(cursorMigracion);
+            avanzarCursor();
+        }
+    }
+
+    private void avanzarCursor() {
+        cursorMigracion++;
+        if (cursorMigracion >= tablaVieja.length) {
+            tablaVieja = null;
+            cadenaVieja = null;
+            funcionVieja = null;
+        }
+    }
+
+    /**
+     * Pasa la clave base y la cadena de una posicion vieja a la tabla nueva.
+     */
+    private void migrarPosicion(int idx) {
+        if (tablaVieja[idx] != null) {
+            colocar(tablaVieja[idx]);
+            tablaVieja[idx] = null;
+        }
+        for (NodoLista nodo = cadenaVieja[idx]; nodo != null; nodo = nodo.siguiente) {
+            colocar(nodo.clave);
+        }
+        cadenaVieja[idx] = null;
     }
 
     /**
@@ -277,17 +395,25 @@ public class ListasEnlazadas {
      */
     public ArrayList<String> obtenerClavesActivas() {
         ArrayList<String> lista = new ArrayList<>();
-        for (int i = 0; i < n; i++) {
-            if (tabla[i] != null) {
-                lista.add(tabla[i]);
+        agregarClaves(tabla, cadena, 0, lista);
+        if (tablaVieja != null) {
+            agregarClaves(tablaVieja, cadenaVieja, cursorMigracion, lista);
+        }
+        return lista;
+    }
+
+    private static void agregarClaves(String[] t, NodoLista[] c, int desde,
+            ArrayList<String> lista) {
+        for (int i = desde; i < t.length; i++) {
+            if (t[i] != null) {
+                lista.add(t[i]);
             }
-            NodoLista actual = cadena[i];
+            NodoLista actual = c[i];
             while (actual != null) {
                 lista.add(actual.clave);
                 actual = actual.siguiente;
             }
         }
-        return lista;
     }
 
     /**
@@ -312,4 +438,23 @@ public class ListasEnlazadas {
     public FuncionHash getFuncionHash() {
         return funcionHashObj;
     }
+
+    public PoliticaCrecimiento getPoliticaCrecimiento() {
+        return politica;
+    }
+
+    /**
+     * Define la politica de crecimiento (null = tamaño fijo, como antes).
+     */
+    public void setPoliticaCrecimiento(PoliticaCrecimiento politica) {
+        completarMigracion();
+        this.politica = politica;
+    }
+
+    /**
+     * true mientras quedan posiciones de la tabla vieja por migrar.
+     */
+    public boolean isMigrando() {
+        return tablaVieja != null;
+    }
 }
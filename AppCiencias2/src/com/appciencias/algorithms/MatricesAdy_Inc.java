@@ -185,7 +185,7 @@ public class MatricesAdy_Inc {
      * @return Matriz de incidencia.
      */
     public static Matriz incidencia(GrafoPonderado grafo) {
-        ArrayList<String> vertices = grafo.getVertices();
+        ArrayList<String> vertices = new ArrayList<>(grafo.getVertices());
         ArrayList<AristaId> aristas = getAristasUnicas(grafo);
         boolean dirigido = grafo.isDirigido();
         boolean ponderado = esPonderado(grafo);
@@ -246,7 +246,7 @@ public class MatricesAdy_Inc {
      * @return Matriz de adyacencia de vertices.
      */
     public static Matriz adyacenciaVertices(GrafoPonderado grafo) {
-        ArrayList<String> vertices = grafo.getVertices();
+        ArrayList<String> vertices = new ArrayList<>(grafo.getVertices());
         boolean ponderado = esPonderado(grafo);
         int n = vertices.size();
         double[][] mat = new double[n][n];
@@ -365,7 +365,7 @@ public class MatricesAdy_Inc {
         }
 
         ArrayList<AristaId> aristasGrafo = getAristasUnicas(grafo);
-        ArrayList<String> vertices = grafo.getVertices();
+        ArrayList<String> vertices = new ArrayList<>(grafo.getVertices());
         int nc = circuitos.size();
         int na = aristasGrafo.size();
         double[][] mat = new double[nc][na];
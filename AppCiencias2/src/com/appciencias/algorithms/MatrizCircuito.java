@@ -2,6 +2,7 @@ package com.appciencias.algorithms;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * Matriz de Circuitos y Matriz de Circuitos Fundamentales.
@@ -203,7 +204,7 @@ public class MatrizCircuito {
                     "MatrizCircuitos requiere un grafo NO dirigido (dirigido=false).");
         }
 
-        ArrayList<String> vertices = grafo.getVertices();
+        List<String> vertices = grafo.getVertices();
 
         // Obtener aristas unicas (sin duplicar a-b y b-a)
         ArrayList<AristaId> aristasUnicas = getAristasUnicas(grafo);
@@ -270,7 +271,7 @@ public class MatrizCircuito {
      * simple es un camino que regresa al inicio sin repetir vertices.
      */
     private static ArrayList<ArrayList<AristaId>> encontrarCircuitos(
-            GrafoPonderado grafo, ArrayList<String> vertices,
+            GrafoPonderado grafo, List<String> vertices,
             ArrayList<AristaId> aristasUnicas) {
 
         ArrayList<ArrayList<AristaId>> resultado = new ArrayList<>();
@@ -291,7 +292,7 @@ public class MatrizCircuito {
             ArrayList<String> caminoV,
             ArrayList<AristaId> caminoA,
             GrafoPonderado grafo,
-            ArrayList<String> vertices,
+            List<String> vertices,
             ArrayList<ArrayList<AristaId>> resultado) {
         for (GrafoPonderado.AristaPonderada arista : grafo.getAristas()) {
             if (!arista.origen.equals(actual)) {
@@ -367,7 +368,7 @@ public class MatrizCircuito {
      */
     private static ArrayList<AristaId> encontrarCircuitoFundamental(
             AristaId cuerda, ArrayList<AristaId> aristasT,
-            ArrayList<String> vertices, GrafoPonderado grafo) {
+            List<String> vertices, GrafoPonderado grafo) {
 
         // Los extremos de la cuerda son v1 y v2 (extraidos del nombre "v1-v2")
         String[] partes = cuerda.nombre.split("-");
@@ -394,7 +395,7 @@ public class MatrizCircuito {
      */
     private static ArrayList<AristaId> bfsCaminoEnArbol(
             String v1, String v2, ArrayList<AristaId> aristasT,
-            ArrayList<String> vertices) {
+            List<String> vertices) {
 
         LinkedHashMap<String, String> padre = new LinkedHashMap<>();
         LinkedHashMap<String, AristaId> aristaUsada = new LinkedHashMap<>();
@@ -2,6 +2,7 @@ package com.appciencias.algorithms;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 
 /**
  * Matriz de Conjuntos de Corte y Matriz de Conjuntos de Corte Fundamentales.
@@ -197,7 +198,7 @@ public class MatrizCorte {
                     "MatrizCorte requiere un grafo NO dirigido (dirigido=false).");
         }
 
-        ArrayList<String> vertices = grafo.getVertices();
+        List<String> vertices = grafo.getVertices();
         ArrayList<AristaId> aristasAll = getAristasUnicas(grafo);
 
         // ── Paso 1: Arbol de expansion minima (ramas y cuerdas) ─────────────
@@ -260,7 +261,7 @@ public class MatrizCorte {
      * el grafo, y descarta los no minimales.
      */
     private static ArrayList<ArrayList<AristaId>> encontrarConjuntosCorteMinimales(
-            GrafoPonderado grafo, ArrayList<String> vertices,
+            GrafoPonderado grafo, List<String> vertices,
             ArrayList<AristaId> aristas) {
 
         ArrayList<ArrayList<AristaId>> resultado = new ArrayList<>();
@@ -288,7 +289,7 @@ public class MatrizCorte {
      * Verifica si un conjunto de corte es minimal: ningun subconjunto propio
      * suyo ya esta en la lista de conjuntos de corte.
      */
-    private static boolean esMinimal(GrafoPonderado grafo, ArrayList<String> vertices,
+    private static boolean esMinimal(GrafoPonderado grafo, List<String> vertices,
             ArrayList<ArrayList<AristaId>> yaEncontrados,
             ArrayList<AristaId> candidato,
             ArrayList<ArrayList<AristaId>> existentes) {
@@ -301,7 +302,7 @@ public class MatrizCorte {
     }
 
     // Sobrecarga para llamada limpia
-    private static boolean esMinimal(GrafoPonderado grafo, ArrayList<String> vertices,
+    private static boolean esMinimal(GrafoPonderado grafo, List<String> vertices,
             ArrayList<AristaId> candidato,
             ArrayList<ArrayList<AristaId>> existentes) {
         return esMinimal(grafo, vertices, existentes, candidato, existentes);
@@ -311,7 +312,7 @@ public class MatrizCorte {
      * Verifica si el grafo sigue siendo conexo al quitar un conjunto de
      * aristas. Usa BFS ignorando las aristas del conjunto.
      */
-    private static boolean esConexo(GrafoPonderado grafo, ArrayList<String> vertices,
+    private static boolean esConexo(GrafoPonderado grafo, List<String> vertices,
             ArrayList<AristaId> quitadas) {
         if (vertices.isEmpty()) {
             return true;
@@ -387,7 +388,7 @@ public class MatrizCorte {
      */
     private static ArrayList<AristaId> encontrarCorteFundamental(
             AristaId rama, ArrayList<AristaId> ramas,
-            ArrayList<AristaId> cuerdas, ArrayList<String> vertices,
+            ArrayList<AristaId> cuerdas, List<String> vertices,
             GrafoPonderado grafo) {
 
         // Quitar la rama del arbol -> dos componentes en T
@@ -426,7 +427,7 @@ public class MatrizCorte {
      */
     private static ArrayList<String> bfsEnArbol(String inicio,
             ArrayList<AristaId> aristasT,
-            ArrayList<String> vertices) {
+            List<String> vertices) {
         ArrayList<String> visitados = new ArrayList<>();
         ArrayList<String> cola = new ArrayList<>();
         cola.add(inicio);
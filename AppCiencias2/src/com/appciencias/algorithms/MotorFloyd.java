@@ -0,0 +1,262 @@
+package com.appciencias.algorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Motor compartido de Floyd-Warshall (todos los pares) usado por Floyd,
+ * GrafoCaminos y DistanciasFloyd.
+ *
+ * La matriz es un double[] plano por filas: D(i, k) = dist[i * n + k]. Sin
+ * camino = Double.MAX_VALUE. pred(i, k) = indice del pivote intermedio, -1 si
+ * no hay intermediario.
+ *
+ * Dos formas de ejecutar:
+ *   - Con Observador: orden clasico j externo, i medio, k interno, en un solo
+ *     hilo, avisando cada mejora y el fin de cada pivote (para snapshots/pasos).
+ *   - Sin Observador: por bloques de TAMAÑO_BLOQUE x TAMAÑO_BLOQUE. Para cada
+ *     bloque pivote se resuelve primero el bloque diagonal, luego su fila y
+ *     columna de bloques y por ultimo el resto; las dos ultimas fases son
+ *     independientes por bloque y se reparten con fork/join.
+ */
+public final class MotorFloyd {
+
+    public static final double INF = Double.MAX_VALUE;
+
+    // 64 x 64 doubles = 32 KB por bloque, tres bloques caben en L2
+    public static final int TAMAÑO_BLOQUE = 64;
+
+    // Por debajo de este n no compensa repartir el trabajo entre hilos
+    private static final int MINIMO_PARALELO = 4 * TAMAÑO_BLOQUE;
+
+    /**
+     * Recibe los eventos de la ejecucion clasica.
+     */
+    public interface Observador {
+
+        /** D(i, k) mejoro a nueva pasando por el pivote j. */
+        default void mejora(int i, int k, int j, double nueva) {
+        }
+
+        /** Se termino de relajar con el pivote j. */
+        default void pivoteTerminado(int j, double[] dist) {
+        }
+    }
+
+    private MotorFloyd() {
+    }
+
+    /**
+     * Matriz n x n con 0 en la diagonal e INF en el resto.
+     */
+    public static double[] matrizInicial(int n) {
+        double[] dist = new double[n * n];
+        Arrays.fill(dist, INF);
+        for (int i = 0; i < n; i++) {
+            dist[i * n + i] = 0;
+        }
+        return dist;
+    }
+
+    /**
+     * Carga las aristas de la vista en una matriz para los vertices dados en
+     * el orden de la lista (que puede diferir del orden de la vista).
+     */
+    public static double[] matrizInicial(GrafoPonderado.Vista g, ArrayList<String> vertices) {
+        int n = vertices.size();
+        int[] fila = new int[g.n];
+        for (int i = 0; i < n; i++) {
+            fila[g.id(vertices.get(i))] = i;
+        }
+        double[] dist = matrizInicial(n);
+        for (int u = 0; u < g.n; u++) {
+            for (int e = g.inicioSalida[u]; e < g.inicioSalida[u + 1]; e++) {
+                dist[fila[u] * n + fila[g.destinoSalida[e]]] = g.pesoSalida[e];
+            }
+        }
+        return dist;
+    }
+
+    /**
+     * Ejecuta Floyd-Warshall in situ.
+     *
+     * @param dist matriz plana n x n, se sobreescribe con las distancias minimas
+     * @param pred predecesores (pivote intermedio), o null si no se necesitan
+     * @param n numero de vertices
+     * @param observador null para la version por bloques en paralelo
+     */
+    public static void ejecutar(double[] dist, int[] pred, int n, Observador observador) {
+        if (pred != null) {
+            Arrays.fill(pred, -1);
+        }
+        if (observador != null) {
+            ejecutarClasico(dist, pred, n, observador);
+        } else if (n < MINIMO_PARALELO) {
+            ejecutarPorBloques(dist, pred, n, null);
+        } else {
+            ejecutarPorBloques(dist, pred, n, ForkJoinPool.commonPool());
+        }
+    }
+
+    /**
+     * Convierte la matriz plana a double[][] (para las APIs que la exponen asi).
+     */
+    public static double[][] aMatriz(double[] dist, int n) {
+        double[][] m = new double[n][];
+        for (int i = 0; i < n; i++) {
+            m[i] = Arrays.copyOfRange(dist, i * n, (i + 1) * n);
+        }
+        return m;
+    }
+
+    public static int[][] aMatriz(int[] pred, int n) {
+        int[][] m = new int[n][];
+        for (int i = 0; i < n; i++) {
+            m[i] = Arrays.copyOfRange(pred, i * n, (i + 1) * n);
+        }
+        return m;
+    }
+
+    // =====================================================================
+    //  CLASICO (con observador)
+    // =====================================================================
+
+    private static void ejecutarClasico(double[] dist, int[] pred, int n, Observador obs) {
+        for (int j = 0; j < n; j++) {
+            int filaJ = j * n;
+            for (int i = 0; i < n; i++) {
+                int filaI = i * n;
+                double dij = dist[filaI + j];
+                if (i == j || dij == INF) {
+                    continue;
+                }
+                for (int k = 0; k < n; k++) {
+                    double djk = dist[filaJ + k];
+                    if (k == j || djk == INF) {
+                        continue;
+                    }
+                    double nueva = dij + djk;
+                    if (nueva < dist[filaI + k]) {
+                        dist[filaI + k] = nueva;
+                        if (pred != null) {
+                            pred[filaI + k] = j;
+                        }
+                        obs.mejora(i, k, j, nueva);
+                    }
+                }
+            }
+            obs.pivoteTerminado(j, dist);
+        }
+    }
+
+    // =====================================================================
+    //  POR BLOQUES
+    // =====================================================================
+
+    private static void ejecutarPorBloques(double[] dist, int[] pred, int n, ForkJoinPool pool) {
+        int bloques = (n + TAMAÑO_BLOQUE - 1) / TAMAÑO_BLOQUE;
+
+        for (int kb = 0; kb < bloques; kb++) {
+            // Fase 1: bloque diagonal
+            relajarBloque(dist, pred, n, kb, kb, kb);
+
+            // Fase 2: fila y columna del pivote
+            ArrayList<RelajarBloques> fase2 = new ArrayList<>();
+            for (int b = 0; b < bloques; b++) {
+                if (b != kb) {
+                    fase2.add(new RelajarBloques(dist, pred, n, kb, b, b + 1, kb));
+                    fase2.add(new RelajarBloques(dist, pred, n, b, kb, kb + 1, kb));
+                }
+            }
+            ejecutarTareas(fase2, pool);
+
+            // Fase 3: el resto, una tarea por fila de bloques
+            ArrayList<RelajarBloques> fase3 = new ArrayList<>();
+            for (int ib = 0; ib < bloques; ib++) {
+                if (ib != kb) {
+                    fase3.add(new RelajarBloques(dist, pred, n, ib, 0, bloques, kb));
+                }
+            }
+            ejecutarTareas(fase3, pool);
+        }
+    }
+
+    private static void ejecutarTareas(ArrayList<RelajarBloques> tareas, ForkJoinPool pool) {
+        if (pool == null) {
+            for (RelajarBloques t : tareas) {
+                t.compute();
+            }
+        } else {
+            pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tareas);
+                }
+            });
+        }
+    }
+
+    /**
+     * Relaja los bloques (ib, jb) con jb en [jbDesde, jbHasta), saltando el
+     * bloque pivote en la fase 3, usando los pivotes del bloque kb.
+     */
+    private static final class RelajarBloques extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] dist;
+        private final int[] pred;
+        private final int n, ib, jbDesde, jbHasta, kb;
+
+        RelajarBloques(double[] dist, int[] pred, int n, int ib, int jbDesde, int jbHasta, int kb) {
+            this.dist = dist;
+            this.pred = pred;
+            this.n = n;
+            this.ib = ib;
+            this.jbDesde = jbDesde;
+            this.jbHasta = jbHasta;
+            this.kb = kb;
+        }
+
+        @Override
+        protected void compute() {
+            for (int jb = jbDesde; jb < jbHasta; jb++) {
+                if (jbHasta - jbDesde > 1 && jb == kb) {
+                    continue; // fase 3: el bloque de la columna pivote ya se hizo
+                }
+                relajarBloque(dist, pred, n, ib, jb, kb);
+            }
+        }
+    }
+
+    private static void relajarBloque(double[] dist, int[] pred, int n, int ib, int jb, int kb) {
+        int iFin = Math.min(n, (ib + 1) * TAMAÑO_BLOQUE);
+        int jIni = jb * TAMAÑO_BLOQUE;
+        int jFin = Math.min(n, jIni + TAMAÑO_BLOQUE);
+        int kFin = Math.min(n, (kb + 1) * TAMAÑO_BLOQUE);
+
+        for (int k = kb * TAMAÑO_BLOQUE; k < kFin; k++) {
+            int filaK = k * n;
+            for (int i = ib * TAMAÑO_BLOQUE; i < iFin; i++) {
+                int filaI = i * n;
+                double dik = dist[filaI + k];
+                if (i == k || dik == INF) {
+                    continue;
+                }
+                // Sin ramas para D(k, j) = INF: INF + dik no baja de INF, y
+                // D(k, k) = 0 no mejora D(i, k); asi el bucle queda compacto
+                for (int j = jIni; j < jFin; j++) {
+                    double nueva = dik + dist[filaK + j];
+                    if (nueva < dist[filaI + j]) {
+                        dist[filaI + j] = nueva;
+                        if (pred != null) {
+                            pred[filaI + j] = k;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package com.appciencias.algorithms;
+
+import com.appciencias.models.ClaveUtil;
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Indices reales sobre un archivo de datos paginado, para contrastar los
+ * accesos medidos con los que predice Indices.calcular.
+ *
+ * Con los mismos parametros que Indices (B, R, Ri) cada pagina del archivo de
+ * datos guarda bfr = floor(B/R) registros y cada pagina del indice bfri =
+ * floor(B/Ri) entradas. Una entrada es la clave (V) seguida del puntero (P,
+ * 2 caracteres = un int): bloque de datos en el nivel 1, pagina del nivel de
+ * abajo en los demas.
+ *
+ * Tipos:
+ * - PRIMARIO: datos ordenados por clave, una entrada por bloque de datos (su
+ *   primera clave, indice disperso). buscar hace busqueda binaria sobre los
+ *   bloques del indice y lee un bloque de datos.
+ * - SECUNDARIO: datos en el orden de carga (como SecuencialExterno), una
+ *   entrada por registro ordenada por clave (indice denso). Una clave ausente
+ *   se descarta sin leer datos.
+ * - MULTINIVEL_PRIMARIO / MULTINIVEL_SECUNDARIO: sobre el nivel 1 se arman
+ *   niveles dispersos (una entrada por bloque del nivel de abajo) hasta que
+ *   uno entra en un solo bloque; buscar baja desde la raiz leyendo un bloque
+ *   por nivel.
+ *
+ * Cada pagina leida es un acceso (los archivos no usan pool). El indice es
+ * estatico: cargar arma los dos archivos una sola vez.
+ */
+public class MotorIndices implements Closeable {
+
+    public enum Tipo {
+        PRIMARIO, SECUNDARIO, MULTINIVEL_PRIMARIO, MULTINIVEL_SECUNDARIO
+    }
+
+    public static class ResultadoBusqueda {
+
+        public final int numBloque;      // bloque de datos 1-based, -1 si no encontrada
+        public final int posEnBloque;    // 1-based dentro del bloque, -1 si no encontrada
+        public final int accesosIndice;
+        public final int accesosDatos;
+        public final boolean encontrada;
+
+        public ResultadoBusqueda(int numBloque, int posEnBloque, int accesosIndice,
+                int accesosDatos, boolean encontrada) {
+            this.numBloque = numBloque;
+            this.posEnBloque = posEnBloque;
+            this.accesosIndice = accesosIndice;
+            this.accesosDatos = accesosDatos;
+            this.encontrada = encontrada;
+        }
+
+        public int getAccesos() {
+            return accesosIndice + accesosDatos;
+        }
+
+        @Override
+        public String toString() {
+            String accesos = "Accesos: " + getAccesos() + " (indice " + accesosIndice
+                    + ", datos " + accesosDatos + ").";
+            if (!encontrada) {
+                return "Clave no encontrada. " + accesos;
+            }
+            return "Encontrada en bloque " + numBloque + ", posicion " + posEnBloque + ". " + accesos;
+        }
+    }
+
+    /**
+     * Accesos medidos en un lote de busquedas contra los predichos.
+     */
+    public static class Medicion {
+
+        public final int consultas;
+        public final double promedio;
+        public final int maximo;
+        public final int predichos;
+
+        public Medicion(int consultas, double promedio, int maximo, int predichos) {
+            this.consultas = consultas;
+            this.promedio = promedio;
+            this.maximo = maximo;
+            this.predichos = predichos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d consultas: promedio %.2f, maximo %d, predichos %d",
+                    consultas, promedio, maximo, predichos);
+        }
+    }
+
+    private static final int LONG_PUNTERO = 2; // caracteres por puntero
+
+    private final Tipo tipo;
+    private final int B;
+    private final int R;
+    private final int Ri;
+    private final int bfr;
+    private final int bfri;
+    private final int longClave;
+
+    private final ArchivoPaginado datos;
+    private final ArchivoPaginado indice;
+
+    private int registros;
+    private int bloquesDatos;
+    // Paginas del indice por nivel (0 = nivel 1); cada nivel es contiguo
+    private int[] primeraPagina = new int[0];
+    private int[] paginasNivel = new int[0];
+
+    /**
+     * @param tipo Organizacion del indice.
+     * @param B Tamaño del bloque en bytes.
+     * @param R Longitud del registro dato en bytes.
+     * @param Ri Longitud del registro indice en bytes.
+     * @param longClave Caracteres por clave.
+     * @param archivoDatos Archivo de paginas de datos (se trunca si existe).
+     * @param archivoIndice Archivo de paginas del indice (se trunca si existe).
+     */
+    public MotorIndices(Tipo tipo, int B, int R, int Ri, int longClave,
+            Path archivoDatos, Path archivoIndice) {
+        if (tipo == null) {
+            throw new IllegalArgumentException("El tipo de indice es obligatorio.");
+        }
+        if (longClave <= 0) {
+            throw new IllegalArgumentException("La longitud de clave debe ser mayor que 0.");
+        }
+        // Mismas validaciones y factores que el calculo teorico
+        Indices.Resultado base = Indices.calcular(1, B, R, Ri);
+        if (base.bfri < 2) {
+            throw new IllegalArgumentException("bfri = floor(B/Ri) debe ser al menos 2.");
+        }
+        this.tipo = tipo;
+        this.B = B;
+        this.R = R;
+        this.Ri = Ri;
+        this.bfr = base.bfr;
+        this.bfri = base.bfri;
+        this.longClave = longClave;
+        this.datos = new ArchivoPaginado(archivoDatos, bfr, longClave);
+        ArchivoPaginado idx;
+        try {
+            idx = new ArchivoPaginado(archivoIndice, bfri, longClave + LONG_PUNTERO);
+        } catch (RuntimeException e) {
+            datos.close();
+            throw e;
+        }
+        this.indice = idx;
+    }
+
+    /**
+     * Escribe el archivo de datos y arma los niveles del indice.
+     *
+     * @throws IllegalStateException si ya se cargo o hay claves repetidas
+     * @throws IllegalArgumentException si no hay claves o alguna tiene
+     * longitud incorrecta
+     */
+    public void cargar(Collection<String> claves) {
+        if (registros > 0) {
+            throw new IllegalStateException("El indice ya esta cargado.");
+        }
+        if (claves.isEmpty()) {
+            throw new IllegalArgumentException("No hay claves para cargar.");
+        }
+        String[] ordenadas = claves.toArray(new String[0]);
+        for (String clave : ordenadas) {
+            ClaveUtil.validar(clave, longClave);
+        }
+        Arrays.sort(ordenadas);
+        for (int i = 1; i < ordenadas.length; i++) {
+            if (ordenadas[i].equals(ordenadas[i - 1])) {
+                throw new IllegalStateException("La clave '" + ordenadas[i] + "' esta repetida.");
+            }
+        }
+        boolean primario = tipo == Tipo.PRIMARIO || tipo == Tipo.MULTINIVEL_PRIMARIO;
+        String[] enDatos = primario ? ordenadas : claves.toArray(new String[0]);
+
+        // Datos en bloques llenos de bfr registros
+        ArrayList<String> nivel = new ArrayList<>();
+        int[] bloqueDe = primario ? null : new int[enDatos.length];
+        for (int desde = 0; desde < enDatos.length; desde += bfr) {
+            int hasta = Math.min(desde + bfr, enDatos.length);
+            int pagina = datos.agregarPagina();
+            datos.escribir(pagina, Arrays.asList(enDatos).subList(desde, hasta),
+                    ArchivoPaginado.SIN_SIGUIENTE);
+            if (primario) {
+                nivel.add(entrada(enDatos[desde], pagina));
+            } else {
+                Arrays.fill(bloqueDe, desde, hasta, pagina);
+            }
+        }
+        bloquesDatos = datos.getNumPaginas();
+        registros = enDatos.length;
+
+        if (!primario) {
+            // Denso: una entrada por registro, ordenadas por clave
+            Integer[] orden = new Integer[enDatos.length];
+            for (int i = 0; i < orden.length; i++) {
+                orden[i] = i;
+            }
+            Arrays.sort(orden, (a, b) -> enDatos[a].compareTo(enDatos[b]));
+            for (int i : orden) {
+                nivel.add(entrada(enDatos[i], bloqueDe[i]));
+            }
+        }
+
+        boolean multinivel = tipo == Tipo.MULTINIVEL_PRIMARIO || tipo == Tipo.MULTINIVEL_SECUNDARIO;
+        ArrayList<Integer> primeras = new ArrayList<>();
+        ArrayList<Integer> cantidades = new ArrayList<>();
+        while (true) {
+            ArrayList<String> siguiente = new ArrayList<>();
+            int primera = indice.getNumPaginas();
+            for (int desde = 0; desde < nivel.size(); desde += bfri) {
+                List<String> tramo = nivel.subList(desde, Math.min(desde + bfri, nivel.size()));
+                int pagina = indice.agregarPagina();
+                indice.escribir(pagina, tramo, ArchivoPaginado.SIN_SIGUIENTE);
+                siguiente.add(entrada(tramo.get(0).substring(0, longClave), pagina));
+            }
+            primeras.add(primera);
+            cantidades.add(siguiente.size());
+            if (!multinivel || siguiente.size() == 1) {
+                break;
+            }
+            nivel = siguiente;
+        }
+        primeraPagina = primeras.stream().mapToInt(Integer::intValue).toArray();
+        paginasNivel = cantidades.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Busca la clave contando las paginas leidas del indice y de los datos.
+     */
+    public ResultadoBusqueda buscar(String clave) {
+        if (clave == null || clave.length() != longClave || registros == 0) {
+            return new ResultadoBusqueda(-1, -1, 0, 0, false);
+        }
+        long antesIndice = indice.getLecturas();
+        boolean denso = tipo == Tipo.SECUNDARIO || tipo == Tipo.MULTINIVEL_SECUNDARIO;
+        String entrada = tipo == Tipo.PRIMARIO || tipo == Tipo.SECUNDARIO
+                ? buscarUnNivel(clave)
+                : buscarMultinivel(clave);
+        int accesosIndice = (int) (indice.getLecturas() - antesIndice);
+
+        if (entrada == null || (denso && !entrada.startsWith(clave))) {
+            return new ResultadoBusqueda(-1, -1, accesosIndice, 0, false);
+        }
+        int bloque = puntero(entrada);
+        ArrayList<String> registrosBloque = datos.leer(bloque).claves;
+        int pos = registrosBloque.indexOf(clave);
+        if (pos == -1) {
+            return new ResultadoBusqueda(-1, -1, accesosIndice, 1, false);
+        }
+        return new ResultadoBusqueda(bloque + 1, pos + 1, accesosIndice, 1, true);
+    }
+
+    /**
+     * Busqueda binaria sobre los bloques del nivel 1. Devuelve la entrada con
+     * la mayor clave <= la buscada, o null si es menor que todas.
+     */
+    private String buscarUnNivel(String clave) {
+        String candidata = null;
+        int izq = 0, der = paginasNivel[0] - 1;
+        while (izq <= der) {
+            int mid = (izq + der) >>> 1;
+            List<String> entradas = indice.leer(primeraPagina[0] + mid).claves;
+            int j = mayorMenorIgual(entradas, clave);
+            if (j == -1) {
+                der = mid - 1;
+                continue;
+            }
+            candidata = entradas.get(j);
+            // Si no es la ultima del bloque, la siguiente ya es mayor
+            if (j < entradas.size() - 1 || candidata.startsWith(clave)) {
+                break;
+            }
+            izq = mid + 1;
+        }
+        return candidata;
+    }
+
+    /**
+     * Baja desde la raiz leyendo un bloque por nivel.
+     */
+    private String buscarMultinivel(String clave) {
+        int n = primeraPagina.length;
+        int pagina = primeraPagina[n - 1];
+        for (int nivel = n - 1; ; nivel--) {
+            List<String> entradas = indice.leer(pagina).claves;
+            int j = mayorMenorIgual(entradas, clave);
+            if (j == -1) {
+                return null;
+            }
+            if (nivel == 0) {
+                return entradas.get(j);
+            }
+            pagina = puntero(entradas.get(j));
+        }
+    }
+
+    /**
+     * Indice de la ultima entrada con clave <= la buscada (-1 si ninguna).
+     */
+    private int mayorMenorIgual(List<String> entradas, String clave) {
+        int izq = 0, der = entradas.size();
+        while (izq < der) {
+            int mid = (izq + der) >>> 1;
+            if (entradas.get(mid).substring(0, longClave).compareTo(clave) <= 0) {
+                izq = mid + 1;
+            } else {
+                der = mid;
+            }
+        }
+        return izq - 1;
+    }
+
+    private String entrada(String clave, int puntero) {
+        return clave + (char) (puntero >>> 16) + (char) puntero;
+    }
+
+    private int puntero(String entrada) {
+        return (entrada.charAt(longClave) << 16) | entrada.charAt(longClave + 1);
+    }
+
+    /**
+     * Busca cada consulta y resume los accesos contra los predichos.
+     */
+    public Medicion medir(Collection<String> consultas) {
+        long total = 0;
+        int maximo = 0;
+        for (String clave : consultas) {
+            int accesos = buscar(clave).getAccesos();
+            total += accesos;
+            maximo = Math.max(maximo, accesos);
+        }
+        double promedio = consultas.isEmpty() ? 0 : (double) total / consultas.size();
+        return new Medicion(consultas.size(), promedio, maximo, getAccesosPredichos());
+    }
+
+    /**
+     * Indices.calcular con los registros cargados.
+     *
+     * @throws IllegalStateException si no se cargo
+     */
+    public Indices.Resultado prediccion() {
+        if (registros == 0) {
+            throw new IllegalStateException("El indice no esta cargado.");
+        }
+        return Indices.calcular(registros, B, R, Ri);
+    }
+
+    /**
+     * Accesos que predice Indices.calcular para este tipo.
+     */
+    public int getAccesosPredichos() {
+        Indices.Resultado p = prediccion();
+        switch (tipo) {
+            case PRIMARIO:
+                return p.accesos_primario;
+            case SECUNDARIO:
+                return p.accesos_secundario;
+            case MULTINIVEL_PRIMARIO:
+                return p.accesos_multi_primario;
+            default:
+                return p.accesos_multi_secundario;
+        }
+    }
+
+    /**
+     * Bloques del indice por nivel (indice 0 = nivel 1), comparable con
+     * bloquesPorNivel de Indices.Resultado.
+     */
+    public long[] getBloquesPorNivel() {
+        long[] copia = new long[paginasNivel.length];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = paginasNivel[i];
+        }
+        return copia;
+    }
+
+    public String obtenerInfo() {
+        return tipo + "  bfr=" + bfr + "  bfri=" + bfri + "  r=" + registros
+                + "  b=" + bloquesDatos + "  niveles=" + paginasNivel.length
+                + "  bloques por nivel=" + Arrays.toString(paginasNivel);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getBfr() {
+        return bfr;
+    }
+
+    public int getBfri() {
+        return bfri;
+    }
+
+    public int getNiveles() {
+        return paginasNivel.length;
+    }
+
+    public int getBloquesDatos() {
+        return bloquesDatos;
+    }
+
+    public int getContador() {
+        return registros;
+    }
+
+    public int getLongClave() {
+        return longClave;
+    }
+
+    /**
+     * Paginas leidas de los dos archivos.
+     */
+    public long getLecturas() {
+        return datos.getLecturas() + indice.getLecturas();
+    }
+
+    public long getEscrituras() {
+        return datos.getEscrituras() + indice.getEscrituras();
+    }
+
+    @Override
+    public void close() {
+        try {
+            datos.close();
+        } finally {
+            indice.close();
+        }
+    }
+}
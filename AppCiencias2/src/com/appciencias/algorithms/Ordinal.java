@@ -132,54 +132,49 @@ public class Ordinal {
             throw new IllegalArgumentException("El grafo no puede estar vacío.");
         }
 
-        ArrayList<String> vertices = grafo.getVertices();
-        ArrayList<GrafoPonderado.AristaPonderada> aristas = grafo.getAristas();
+        GrafoPonderado.Vista g = grafo.getVista();
 
         LinkedHashMap<String, Integer> numeracion = new LinkedHashMap<>();
         ArrayList<Paso> pasos = new ArrayList<>();
-        ArrayList<String> numerados = new ArrayList<>();
+        boolean[] numerado = new boolean[g.n];
+        int totalNumerados = 0;
 
         int num = 1;
         boolean cicloDetectado = false;
 
-        while (numerados.size() < vertices.size()) {
+        while (totalNumerados < g.n) {
 
             // Buscar candidatos: vertices cuyos predecesores ya estan todos numerados
-            ArrayList<String> candidatos = new ArrayList<>();
+            ArrayList<Integer> candidatos = new ArrayList<>();
 
-            for (String v : vertices) {
-                if (numerados.contains(v)) {
+            for (int v = 0; v < g.n; v++) {
+                if (numerado[v]) {
                     continue;
                 }
 
-                ArrayList<String> predecesores = getPredecesores(v, aristas);
-
-                if (predecesores.isEmpty()) {
-                    candidatos.add(v);
-                } else {
-                    boolean todosNumerados = true;
-                    for (String pred : predecesores) {
-                        if (!numerados.contains(pred)) {
-                            todosNumerados = false;
-                            break;
-                        }
-                    }
-                    if (todosNumerados) {
-                        candidatos.add(v);
+                boolean todosNumerados = true;
+                for (int i = g.inicioEntrada[v]; i < g.inicioEntrada[v + 1]; i++) {
+                    if (!numerado[g.origenEntrada[i]]) {
+                        todosNumerados = false;
+                        break;
                     }
                 }
+                if (todosNumerados) {
+                    candidatos.add(v);
+                }
             }
 
             // Si no hay candidatos -> hay ciclo
             if (candidatos.isEmpty()) {
                 cicloDetectado = true;
                 // Numerar restantes en orden de insercion
-                for (String v : vertices) {
-                    if (!numerados.contains(v)) {
-                        numeracion.put(v, num);
-                        pasos.add(new Paso(num, v,
+                for (int v = 0; v < g.n; v++) {
+                    if (!numerado[v]) {
+                        numeracion.put(g.nombres[v], num);
+                        pasos.add(new Paso(num, g.nombres[v],
                                 "ciclo detectado — numerado por orden de inserción"));
-                        numerados.add(v);
+                        numerado[v] = true;
+                        totalNumerados++;
                         num++;
                     }
                 }
@@ -187,15 +182,16 @@ public class Ordinal {
             }
 
             // Numerar candidatos uno por uno en orden de aparicion
-            for (String candidato : candidatos) {
-                ArrayList<String> predecesores = getPredecesores(candidato, aristas);
+            for (int candidato : candidatos) {
+                ArrayList<String> predecesores = getPredecesores(candidato, g);
                 String motivo = predecesores.isEmpty()
                         ? "sin predecesor"
                         : "predecesores " + predecesores.toString() + " ya numerados";
 
-                numeracion.put(candidato, num);
-                pasos.add(new Paso(num, candidato, motivo));
-                numerados.add(candidato);
+                numeracion.put(g.nombres[candidato], num);
+                pasos.add(new Paso(num, g.nombres[candidato], motivo));
+                numerado[candidato] = true;
+                totalNumerados++;
                 num++;
             }
         }
@@ -207,13 +203,10 @@ public class Ordinal {
      * Retorna la lista de predecesores de un vertice v. Un predecesor es un
      * nodo u tal que existe la arista u -> v.
      */
-    private static ArrayList<String> getPredecesores(
-            String v, ArrayList<GrafoPonderado.AristaPonderada> aristas) {
+    private static ArrayList<String> getPredecesores(int v, GrafoPonderado.Vista g) {
         ArrayList<String> predecesores = new ArrayList<>();
-        for (GrafoPonderado.AristaPonderada a : aristas) {
-            if (a.destino.equals(v)) {
-                predecesores.add(a.origen);
-            }
+        for (int i = g.inicioEntrada[v]; i < g.inicioEntrada[v + 1]; i++) {
+            predecesores.add(g.nombres[g.origenEntrada[i]]);
         }
         return predecesores;
     }
@@ -0,0 +1,104 @@
+package com.appciencias.algorithms;
+
+/**
+ * Politica de crecimiento para las estructuras hash (TablaHash,
+ * ListasEnlazadas, ArreglosAnidados).
+ *
+ * Cuando las claves superan factorCarga * n la estructura pasa a un tamaño
+ * mayor (el siguiente primo o la siguiente potencia de 2 por encima de 2n) y
+ * reubica las claves con FuncionHash.setTamaño.
+ *
+ * Rehash:
+ * - COMPLETO (pasosIncrementales = 0): se reubican todas las claves de una vez.
+ * - INCREMENTAL (pasosIncrementales > 0): se crea la tabla nueva y en cada
+ *   insercion/eliminacion se migran esa cantidad de posiciones de la vieja,
+ *   asi ninguna operacion paga la reubicacion completa.
+ */
+public class PoliticaCrecimiento {
+
+    public enum Capacidad {
+        PRIMO, POTENCIA_DOS
+    }
+
+    private final double factorCarga;
+    private final Capacidad capacidad;
+    private final int pasosIncrementales;
+
+    /**
+     * @param factorCarga claves / tamaño que dispara el crecimiento (0, 1] para
+     * direccionamiento abierto, cualquier valor > 0 para las demas
+     * @param capacidad PRIMO o POTENCIA_DOS
+     * @param pasosIncrementales posiciones migradas por operacion, 0 = completo
+     */
+    public PoliticaCrecimiento(double factorCarga, Capacidad capacidad, int pasosIncrementales) {
+        if (factorCarga <= 0) {
+            throw new IllegalArgumentException("El factor de carga debe ser mayor que 0.");
+        }
+        if (pasosIncrementales < 0) {
+            throw new IllegalArgumentException("Los pasos incrementales no pueden ser negativos.");
+        }
+        this.factorCarga = factorCarga;
+        this.capacidad = capacidad;
+        this.pasosIncrementales = pasosIncrementales;
+    }
+
+    /**
+     * Rehash completo con el factor y la capacidad dados.
+     */
+    public PoliticaCrecimiento(double factorCarga, Capacidad capacidad) {
+        this(factorCarga, capacidad, 0);
+    }
+
+    /**
+     * true si con claves elementos la tabla de tamaño n debe crecer.
+     */
+    public boolean debeCrecer(int claves, int n) {
+        return claves > factorCarga * n;
+    }
+
+    /**
+     * Siguiente tamaño: primo o potencia de 2 mayor o igual a 2n.
+     */
+    public int siguienteTamaño(int n) {
+        int minimo = Math.max(2, 2 * n);
+        if (capacidad == Capacidad.POTENCIA_DOS) {
+            return Integer.highestOneBit(minimo - 1) << 1;
+        }
+        int candidato = minimo;
+        while (!esPrimo(candidato)) {
+            candidato++;
+        }
+        return candidato;
+    }
+
+    public boolean esIncremental() {
+        return pasosIncrementales > 0;
+    }
+
+    public double getFactorCarga() {
+        return factorCarga;
+    }
+
+    public Capacidad getCapacidad() {
+        return capacidad;
+    }
+
+    public int getPasosIncrementales() {
+        return pasosIncrementales;
+    }
+
+    private static boolean esPrimo(int x) {
+        if (x < 2) {
+            return false;
+        }
+        if (x % 2 == 0) {
+            return x == 2;
+        }
+        for (int d = 3; (long) d * d <= x; d += 2) {
+            if (x % d == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
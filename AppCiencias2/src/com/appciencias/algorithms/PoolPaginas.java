@@ -0,0 +1,415 @@
+package com.appciencias.algorithms;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+
+/**
+ * Pool de paginas en memoria para los archivos de las busquedas externas.
+ *
+ * Guarda hasta marcos paginas ya decodificadas. Varios ArchivoPaginado pueden
+ * compartir el mismo pool (SecuencialExterno, BinarioExterno y HashExterno lo
+ * reciben en el constructor). Una pagina se fija antes de usarla y se suelta
+ * despues; una pagina fijada nunca se desaloja. Las escrituras solo marcan la
+ * pagina como sucia y se llevan al archivo al desalojarla, con vaciar o al
+ * cerrar el archivo.
+ *
+ * Reemplazo:
+ * - LRU: se desaloja la pagina usada hace mas tiempo.
+ * - CLOCK: reloj con bit de referencia (segunda oportunidad).
+ * - DOS_Q: 2Q simplificado. Las paginas nuevas entran a una cola FIFO (A1in,
+ *   un cuarto de los marcos); si se vuelven a pedir despues de salir de ella
+ *   (siguen en la lista fantasma A1out) pasan a la cola LRU principal (Am).
+ *   Asi un recorrido secuencial no desplaza a las paginas mas usadas.
+ */
+public class PoolPaginas {
+
+    public enum Reemplazo {
+        LRU, CLOCK, DOS_Q
+    }
+
+    /**
+     * Pagina cargada en el pool. claves y siguiente se pueden modificar
+     * mientras esta fijada; soltar(marco, true) la marca como sucia.
+     */
+    public static final class Marco {
+
+        public final ArchivoPaginado archivo;
+        public final int pagina;
+        public ArrayList<String> claves;
+        public int siguiente;
+
+        private final long clave;
+        private int fijaciones;
+        private boolean sucia;
+        private boolean referencia;
+
+        private Marco(ArchivoPaginado archivo, int pagina, long clave) {
+            this.archivo = archivo;
+            this.pagina = pagina;
+            this.clave = clave;
+        }
+    }
+
+    private final int marcos;
+    private final Reemplazo reemplazo;
+    private final Politica politica;
+    private final HashMap<Long, Marco> tabla;
+
+    private int archivos;
+    private long aciertos;
+    private long fallos;
+    private long desalojos;
+    private long escrituras;
+
+    /**
+     * @param marcos Paginas que entran en el pool.
+     * @param reemplazo Politica de desalojo.
+     */
+    public PoolPaginas(int marcos, Reemplazo reemplazo) {
+        if (marcos <= 0) {
+            throw new IllegalArgumentException("El pool necesita al menos un marco.");
+        }
+        if (reemplazo == null) {
+            throw new IllegalArgumentException("La politica de reemplazo es obligatoria.");
+        }
+        this.marcos = marcos;
+        this.reemplazo = reemplazo;
+        this.tabla = new HashMap<>();
+        switch (reemplazo) {
+            case LRU:
+                this.politica = new Lru();
+                break;
+            case CLOCK:
+                this.politica = new Reloj(marcos);
+                break;
+            default:
+                this.politica = new DosColas(marcos);
+        }
+    }
+
+    /**
+     * Fija la pagina, leyendola del archivo si no esta en el pool.
+     *
+     * @throws IllegalStateException si hay que desalojar y todas las paginas
+     * estan fijadas
+     */
+    public Marco fijar(ArchivoPaginado archivo, int pagina) {
+        return fijar(archivo, pagina, true);
+    }
+
+    /**
+     * Suelta una pagina fijada. modificada = true la marca como sucia.
+     */
+    public void soltar(Marco marco, boolean modificada) {
+        if (marco.fijaciones == 0) {
+            throw new IllegalStateException("La pagina " + marco.pagina + " no esta fijada.");
+        }
+        marco.fijaciones--;
+        marco.sucia |= modificada;
+    }
+
+    /**
+     * Escribe en los archivos todas las paginas sucias (quedan en el pool).
+     */
+    public void vaciar() {
+        for (Marco m : tabla.values()) {
+            escribirSiSucia(m);
+        }
+    }
+
+    /**
+     * Con leer = false la pagina se va a sobrescribir completa: si no esta en
+     * el pool se toma un marco sin leer el archivo.
+     */
+    Marco fijar(ArchivoPaginado archivo, int pagina, boolean leer) {
+        long clave = clave(archivo, pagina);
+        Marco m = tabla.get(clave);
+        if (m != null) {
+            aciertos++;
+            politica.accedido(m);
+        } else {
+            fallos++;
+            if (tabla.size() >= marcos) {
+                desalojar(politica.victima());
+            }
+            m = new Marco(archivo, pagina, clave);
+            if (leer) {
+                ArchivoPaginado.Pagina p = archivo.leerDisco(pagina);
+                m.claves = p.claves;
+                m.siguiente = p.siguiente;
+            } else {
+                m.claves = new ArrayList<>();
+                m.siguiente = ArchivoPaginado.SIN_SIGUIENTE;
+            }
+            tabla.put(clave, m);
+            politica.agregado(m);
+        }
+        m.fijaciones++;
+        m.referencia = true;
+        return m;
+    }
+
+    /**
+     * Quita la pagina del pool sin escribirla (la pagina se libero).
+     */
+    void descartar(ArchivoPaginado archivo, int pagina) {
+        Marco m = tabla.remove(clave(archivo, pagina));
+        if (m != null) {
+            politica.quitado(m, false);
+        }
+    }
+
+    /**
+     * Escribe las paginas sucias del archivo y las quita del pool (al cerrar).
+     */
+    void desconectar(ArchivoPaginado archivo) {
+        Iterator<Marco> it = tabla.values().iterator();
+        while (it.hasNext()) {
+            Marco m = it.next();
+            if (m.archivo == archivo) {
+                escribirSiSucia(m);
+                it.remove();
+                politica.quitado(m, false);
+            }
+        }
+    }
+
+    /**
+     * Numero que distingue a cada archivo dentro de las claves del pool.
+     */
+    int registrar() {
+        return archivos++;
+    }
+
+    private void desalojar(Marco m) {
+        escribirSiSucia(m);
+        tabla.remove(m.clave);
+        politica.quitado(m, true);
+        desalojos++;
+    }
+
+    private void escribirSiSucia(Marco m) {
+        if (m.sucia) {
+            m.archivo.escribirDisco(m.pagina, m.claves, m.siguiente);
+            m.sucia = false;
+            escrituras++;
+        }
+    }
+
+    private static long clave(ArchivoPaginado archivo, int pagina) {
+        return ((long) archivo.getIdPool() << 32) | (pagina & 0xFFFFFFFFL);
+    }
+
+    public int getMarcos() {
+        return marcos;
+    }
+
+    public Reemplazo getReemplazo() {
+        return reemplazo;
+    }
+
+    public int getOcupados() {
+        return tabla.size();
+    }
+
+    public long getAciertos() {
+        return aciertos;
+    }
+
+    public long getFallos() {
+        return fallos;
+    }
+
+    public long getDesalojos() {
+        return desalojos;
+    }
+
+    /**
+     * Paginas sucias llevadas al archivo.
+     */
+    public long getEscrituras() {
+        return escrituras;
+    }
+
+    /**
+     * aciertos / (aciertos + fallos), 0 si no hubo accesos.
+     */
+    public double getTasaAciertos() {
+        long total = aciertos + fallos;
+        return total == 0 ? 0 : (double) aciertos / total;
+    }
+
+    // =====================================================================
+    //  POLITICAS DE REEMPLAZO
+    // =====================================================================
+
+    private abstract static class Politica {
+
+        abstract void agregado(Marco m);
+
+        abstract void accedido(Marco m);
+
+        /**
+         * Pagina a desalojar (no fijada).
+         */
+        abstract Marco victima();
+
+        /**
+         * desalojo = false si la pagina se descarto o se cerro su archivo.
+         */
+        abstract void quitado(Marco m, boolean desalojo);
+
+        static Marco primeraSuelta(Map<Long, Marco> cola) {
+            for (Marco m : cola.values()) {
+                if (m.fijaciones == 0) {
+                    return m;
+                }
+            }
+            return null;
+        }
+
+        static IllegalStateException todasFijadas() {
+            return new IllegalStateException("Todas las paginas del pool estan fijadas.");
+        }
+    }
+
+    private static final class Lru extends Politica {
+
+        private final LinkedHashMap<Long, Marco> orden = new LinkedHashMap<>(16, 0.75f, true);
+
+        @Override
+        void agregado(Marco m) {
+            orden.put(m.clave, m);
+        }
+
+        @Override
+        void accedido(Marco m) {
+            orden.get(m.clave);
+        }
+
+        @Override
+        Marco victima() {
+            Marco m = primeraSuelta(orden);
+            if (m == null) {
+                throw todasFijadas();
+            }
+            return m;
+        }
+
+        @Override
+        void quitado(Marco m, boolean desalojo) {
+            orden.remove(m.clave);
+        }
+    }
+
+    private static final class Reloj extends Politica {
+
+        private final Marco[] anillo;
+        private final HashMap<Long, Integer> posicion = new HashMap<>();
+        private int aguja;
+
+        Reloj(int marcos) {
+            this.anillo = new Marco[marcos];
+        }
+
+        @Override
+        void agregado(Marco m) {
+            // victima deja la aguja en el hueco que libero
+            int i = aguja;
+            while (anillo[i] != null) {
+                i = (i + 1) % anillo.length;
+            }
+            anillo[i] = m;
+            posicion.put(m.clave, i);
+        }
+
+        @Override
+        void accedido(Marco m) {
+            // fijar ya prende el bit de referencia
+        }
+
+        @Override
+        Marco victima() {
+            for (int paso = 0; paso < 2 * anillo.length; paso++) {
+                Marco m = anillo[aguja];
+                if (m != null && m.fijaciones == 0) {
+                    if (!m.referencia) {
+                        return m;
+                    }
+                    m.referencia = false;
+                }
+                aguja = (aguja + 1) % anillo.length;
+            }
+            throw todasFijadas();
+        }
+
+        @Override
+        void quitado(Marco m, boolean desalojo) {
+            Integer i = posicion.remove(m.clave);
+            if (i != null) {
+                anillo[i] = null;
+            }
+        }
+    }
+
+    private static final class DosColas extends Politica {
+
+        private final LinkedHashMap<Long, Marco> a1in = new LinkedHashMap<>();
+        private final LinkedHashMap<Long, Marco> am = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashSet<Long> a1out = new LinkedHashSet<>();
+        private final int kin;
+        private final int kout;
+
+        DosColas(int marcos) {
+            this.kin = Math.max(1, marcos / 4);
+            this.kout = Math.max(1, marcos / 2);
+        }
+
+        @Override
+        void agregado(Marco m) {
+            if (a1out.remove(m.clave)) {
+                am.put(m.clave, m);
+            } else {
+                a1in.put(m.clave, m);
+            }
+        }
+
+        @Override
+        void accedido(Marco m) {
+            // En A1in el orden es FIFO: un acierto no la mueve
+            am.get(m.clave);
+        }
+
+        @Override
+        Marco victima() {
+            Marco m = a1in.size() > kin ? primeraSuelta(a1in) : null;
+            if (m == null) {
+                m = primeraSuelta(am);
+            }
+            if (m == null) {
+                m = primeraSuelta(a1in);
+            }
+            if (m == null) {
+                throw todasFijadas();
+            }
+            return m;
+        }
+
+        @Override
+        void quitado(Marco m, boolean desalojo) {
+            if (a1in.remove(m.clave) != null && desalojo) {
+                a1out.add(m.clave);
+                if (a1out.size() > kout) {
+                    Iterator<Long> it = a1out.iterator();
+                    it.next();
+                    it.remove();
+                }
+            }
+            am.remove(m.clave);
+        }
+    }
+}
@@ -2,19 +2,30 @@ package com.appciencias.algorithms;
 
 import com.appciencias.models.ClaveUtil;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * Búsqueda Secuencial con claves alfanuméricas. Modos: ORDENADO -> Se detiene
  * temprano si el elemento actual ya es mayor al buscado. NO ORDENADO -> Recorre
  * todo hasta encontrar o llegar al final.
+ *
+ * Las claves se guardan en una ArenaClaves (un long[] compartido, sin un
+ * String por clave); buscar codifica la clave una vez y compara palabras.
+ *
+ * En modo ORDENADO la busqueda puede ser LINEAL (por defecto), BINARIA,
+ * INTERPOLACION o EXPONENCIAL (setEstrategia, ver BusquedaOrdenada).
+ * getComparaciones da las comparaciones de claves de la ultima busqueda.
  */
 public class Secuencial {
 
-    private String[] tabla;
+    private ArenaClaves tabla;
     private int tamaño;       // tamaño maximo definido por el usuario
     private int longClave;    // cantidad de caracteres por clave
     private int contador;     // elementos actuales
     private boolean ordenado; // si el arreglo se mantiene ordenado
+    private final BusquedaOrdenada busqueda = new BusquedaOrdenada(BusquedaOrdenada.Estrategia.LINEAL);
+    private int comparaciones; // de la ultima busqueda
 
     /**
      * @param tamaño Tamaño maximo del arreglo
@@ -31,7 +42,7 @@ public class Secuencial {
         this.tamaño = tamaño;
         this.longClave = longClave;
         this.ordenado = ordenado;
-        this.tabla = new String[tamaño];
+        this.tabla = new ArenaClaves(tamaño, longClave);
         this.contador = 0;
     }
 
@@ -52,53 +63,93 @@ public class Secuencial {
             throw new IllegalStateException("La clave '" + clave + "' ya existe en el arreglo.");
         }
 
-        tabla[contador] = clave;
+        tabla.poner(contador, clave);
         contador++;
 
         if (ordenado) {
-            for (int i = contador - 1; i > 0 && tabla[i].compareTo(tabla[i - 1]) < 0; i--) {
-                String temp = tabla[i];
-                tabla[i] = tabla[i - 1];
-                tabla[i - 1] = temp;
+            for (int i = contador - 1; i > 0 && tabla.comparar(i, i - 1) < 0; i--) {
+                tabla.intercambiar(i, i - 1);
             }
         }
     }
 
+    /**
+     * Carga varias claves de una vez sin buscar cada una: O(n) sin orden
+     * (repetidos por HashSet, las claves quedan en el orden dado) u
+     * O(n log n) ordenado (una sola ordenacion y mezcla con las actuales), en
+     * lugar de O(n^2) con insertar una a una. Si alguna clave es invalida,
+     * repetida o no caben todas, no se inserta ninguna.
+     *
+     * @throws IllegalStateException si no caben o alguna clave ya existe
+     * @throws IllegalArgumentException si alguna clave tiene longitud
+     * incorrecta
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        String[] nuevas = CargaMasiva.validar(claves, longClave, tamaño - contador);
+        if (ordenado) {
+            String[] todas = CargaMasiva.mezclar(obtenerDatos(), nuevas, " en el arreglo");
+            for (int p = 0; p < todas.length; p++) {
+                tabla.poner(p, todas[p]);
+            }
+            contador = todas.length;
+            return;
+        }
+        CargaMasiva.sinRepetidos(obtenerDatos(), Arrays.asList(nuevas), " en el arreglo");
+        for (String clave : nuevas) {
+            tabla.poner(contador++, clave);
+        }
+    }
+
     /**
      * Busca una clave en el arreglo.
      *
      * @return Índice (base 0) donde está, o -1 si no existe
      */
     public int buscar(String clave) {
-        if (clave == null) {
+        long[] codigo = tabla.codificar(clave);
+        comparaciones = 0;
+        if (codigo == null) {
             return -1;
         }
-        return ordenado ? buscarOrdenado(clave) : buscarNoOrdenado(clave);
+        if (ordenado) {
+            int pos = busqueda.buscar(tabla, contador, clave, codigo);
+            comparaciones = busqueda.getComparaciones();
+            return pos;
+        }
+        return buscarNoOrdenado(codigo);
     }
 
-    private int buscarNoOrdenado(String clave) {
-        for (int i = 0; i < contador; i++) {
-            if (tabla[i] != null && tabla[i].equals(clave)) {
-                return i;
+    /**
+     * Como buscar != -1 pero sin escribir ningun campo (ni comparaciones ni
+     * pasos): es la lectura a usar con EstructuraConcurrente. Ordenado busca
+     * siempre en forma binaria.
+     */
+    public boolean contiene(String clave) {
+        ArenaClaves t = tabla;
+        long[] codigo = t.codificar(clave);
+        if (codigo == null) {
+            return false;
+        }
+        int n = contador;
+        if (ordenado) {
+            return BusquedaOrdenada.binariaSinContar(t, n, codigo) != -1;
+        }
+        for (int i = 0; i < n; i++) {
+            if (t.igual(i, codigo)) {
+                return true;
             }
         }
-        return -1;
+        return false;
     }
 
-    private int buscarOrdenado(String clave) {
+    private int buscarNoOrdenado(long[] codigo) {
         for (int i = 0; i < contador; i++) {
-            if (tabla[i] == null) {
-                continue;
-            }
-            int cmp = tabla[i].compareTo(clave);
-            if (cmp == 0) {
+            if (tabla.igual(i, codigo)) {
+                comparaciones = i + 1;
                 return i;
             }
-            if (cmp > 0) {
-                return -1; // ya pasamos el punto donde deberia estar
-
-            }
         }
+        comparaciones = contador;
         return -1;
     }
 
@@ -112,10 +163,8 @@ public class Secuencial {
         if (pos == -1) {
             throw new IllegalArgumentException("La clave '" + clave + "' no existe en el arreglo.");
         }
-        for (int i = pos; i < contador - 1; i++) {
-            tabla[i] = tabla[i + 1];
-        }
-        tabla[contador - 1] = null;
+        tabla.mover(pos + 1, pos, contador - pos - 1);
+        tabla.limpiar(contador - 1);
         contador--;
     }
 
@@ -124,7 +173,11 @@ public class Secuencial {
      * Arreglo completo (posiciones vacías = null por si la va a usar Front)
      */
     public String[] obtenerTabla() {
-        return tabla.clone();
+        String[] copia = new String[tamaño];
+        for (int i = 0; i < contador; i++) {
+            copia[i] = tabla.obtener(i);
+        }
+        return copia;
     }
 
     /**
@@ -133,7 +186,7 @@ public class Secuencial {
     public ArrayList<String> obtenerDatos() {
         ArrayList<String> lista = new ArrayList<>();
         for (int i = 0; i < contador; i++) {
-            lista.add(tabla[i]);
+            lista.add(tabla.obtener(i));
         }
         return lista;
     }
@@ -154,6 +207,31 @@ public class Secuencial {
         return ordenado;
     }
 
+    public BusquedaOrdenada.Estrategia getEstrategia() {
+        return busqueda.getEstrategia();
+    }
+
+    /**
+     * Cambia la estrategia de busqueda del modo ORDENADO.
+     *
+     * @throws IllegalStateException si el arreglo no es ordenado y la
+     * estrategia no es LINEAL
+     */
+    public void setEstrategia(BusquedaOrdenada.Estrategia estrategia) {
+        if (!ordenado && estrategia != BusquedaOrdenada.Estrategia.LINEAL) {
+            throw new IllegalStateException("La busqueda " + estrategia + " necesita el arreglo ordenado.");
+        }
+        busqueda.setEstrategia(estrategia);
+    }
+
+    /**
+     * Comparaciones de claves de la ultima busqueda (insertar y eliminar
+     * tambien buscan).
+     */
+    public int getComparaciones() {
+        return comparaciones;
+    }
+
     public boolean estaLleno() {
         return contador >= tamaño;
     }
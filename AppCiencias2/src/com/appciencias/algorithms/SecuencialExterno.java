@@ -1,7 +1,11 @@
 package com.appciencias.algorithms;
 
 import com.appciencias.models.*;
+import java.io.Closeable;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 
 /**
  * Externa Secuencial SIN ORDEN
@@ -10,8 +14,13 @@ import java.util.ArrayList;
  *
  * Busqueda: recorre bloque por bloque, dentro de cada bloque compara elemento a
  * elemento hasta encontrar la clave o llegar al final.
+ *
+ * Los bloques viven en memoria o, con el constructor que recibe un Path, en
+ * un archivo de paginas (una pagina por bloque); en ese caso getLecturas y
+ * getEscrituras cuentan las paginas realmente leidas y escritas. El archivo
+ * puede pasar por un PoolPaginas compartido.
  */
-public class SecuencialExterno {
+public class SecuencialExterno implements Closeable {
 
     // ── Resultado de búsqueda ────────────────────────────────────────────────
     public static class ResultadoBusqueda {
@@ -51,10 +60,9 @@ public class SecuencialExterno {
     private final int longClave;
 
     /**
-     * bloques.get(i) = claves del bloque i, en orden de insercion (sin
-     * ordenar).
+     * Bloque i = claves en orden de insercion (sin ordenar).
      */
-    private final ArrayList<ArrayList<String>> bloques;
+    private final AlmacenBloques bloques;
 
     private int contador;
 
@@ -63,6 +71,27 @@ public class SecuencialExterno {
      * @param longClave Cantidad de caracteres por clave.
      */
     public SecuencialExterno(int N, int longClave) {
+        this(N, longClave, null);
+    }
+
+    /**
+     * @param N Número máximo de registros.
+     * @param longClave Cantidad de caracteres por clave.
+     * @param archivo Archivo de paginas a crear (se trunca si existe), o null
+     * para guardar los bloques en memoria.
+     */
+    public SecuencialExterno(int N, int longClave, Path archivo) {
+        this(N, longClave, archivo, null);
+    }
+
+    /**
+     * @param N Número máximo de registros.
+     * @param longClave Cantidad de caracteres por clave.
+     * @param archivo Archivo de paginas a crear (se trunca si existe), o null
+     * para guardar los bloques en memoria.
+     * @param pool Pool de paginas por el que pasa el archivo, o null.
+     */
+    public SecuencialExterno(int N, int longClave, Path archivo, PoolPaginas pool) {
         if (N <= 0) {
             throw new IllegalArgumentException("N debe ser mayor que 0.");
         }
@@ -76,10 +105,9 @@ public class SecuencialExterno {
         this.longClave = longClave;
         this.contador = 0;
 
-        this.bloques = new ArrayList<>();
-        for (int i = 0; i < numBloques; i++) {
-            bloques.add(new ArrayList<>());
-        }
+        this.bloques = archivo == null
+                ? AlmacenBloques.enMemoria(numBloques)
+                : AlmacenBloques.enArchivo(archivo, numBloques, TB, longClave, pool);
     }
 
     /**
@@ -102,9 +130,11 @@ public class SecuencialExterno {
         }
 
         // Primer bloque con espacio libre
-        for (ArrayList<String> bloque : bloques) {
-            if (bloque.size() < TB) {
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            if (bloques.usados(b) < TB) {
+                ArrayList<String> bloque = bloques.leer(b);
                 bloque.add(clave);
+                bloques.escribir(b, bloque);
                 contador++;
                 return;
             }
@@ -113,6 +143,40 @@ public class SecuencialExterno {
         throw new IllegalStateException("No se encontro espacio disponible.");
     }
 
+    /**
+     * Carga varias claves de una vez, en el orden dado y en los mismos lugares
+     * que insertar una a una (primer bloque con espacio), pero sin buscar cada
+     * clave: los repetidos se detectan con un HashSet y cada bloque con
+     * espacio se escribe una sola vez. Si alguna clave es invalida, repetida
+     * o no caben todas, no se inserta ninguna.
+     *
+     * @throws IllegalStateException si no caben o alguna clave ya existe
+     * @throws IllegalArgumentException si alguna clave tiene longitud
+     * incorrecta
+     */
+    public void cargarMasivo(Collection<String> claves) {
+        String[] nuevas = CargaMasiva.validar(claves, longClave, N - contador);
+        ArrayList<String> actuales = new ArrayList<>();
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            if (bloques.usados(b) > 0) {
+                actuales.addAll(bloques.leer(b));
+            }
+        }
+        CargaMasiva.sinRepetidos(actuales, Arrays.asList(nuevas), "");
+
+        int siguiente = 0;
+        for (int b = 0; b < bloques.cantidad() && siguiente < nuevas.length; b++) {
+            if (bloques.usados(b) < TB) {
+                ArrayList<String> bloque = bloques.leer(b);
+                while (bloque.size() < TB && siguiente < nuevas.length) {
+                    bloque.add(nuevas[siguiente++]);
+                }
+                bloques.escribir(b, bloque);
+            }
+        }
+        contador += nuevas.length;
+    }
+
     /**
      * Busca la clave recorriendo bloque por bloque, elemento a elemento. No
      * asume ningun orden VA A REVISAR TODO hasta encontrar o terminar.
@@ -125,13 +189,12 @@ public class SecuencialExterno {
         int bloquesVisitados = 0;
         int comparaciones = 0;
 
-        for (int b = 0; b < bloques.size(); b++) {
-            ArrayList<String> bloque = bloques.get(b);
-
-            if (bloque.isEmpty()) {
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            if (bloques.usados(b) == 0) {
                 continue;
             }
 
+            ArrayList<String> bloque = bloques.leer(b);
             bloquesVisitados++;
 
             for (int j = 0; j < bloque.size(); j++) {
@@ -160,15 +223,17 @@ public class SecuencialExterno {
                     "La clave '" + clave + "' no existe.");
         }
 
-        bloques.get(r.numBloque - 1).remove(clave);
+        ArrayList<String> bloque = bloques.leer(r.numBloque - 1);
+        bloque.remove(r.posEnBloque - 1);
+        bloques.escribir(r.numBloque - 1, bloque);
         contador--;
     }
 
     /*Usos para el front si los necesitas */
     public ArrayList<ArrayList<String>> obtenerBloques() {
         ArrayList<ArrayList<String>> copia = new ArrayList<>();
-        for (ArrayList<String> b : bloques) {
-            copia.add(new ArrayList<>(b));
+        for (int b = 0; b < bloques.cantidad(); b++) {
+            copia.add(new ArrayList<>(bloques.leer(b)));
         }
         return copia;
     }
@@ -204,4 +269,26 @@ public class SecuencialExterno {
     public boolean estaLleno() {
         return contador >= N;
     }
+
+    /**
+     * Paginas leidas del archivo (0 en memoria).
+     */
+    public long getLecturas() {
+        return bloques.getLecturas();
+    }
+
+    /**
+     * Paginas escritas en el archivo (0 en memoria).
+     */
+    public long getEscrituras() {
+        return bloques.getEscrituras();
+    }
+
+    /**
+     * Cierra el archivo de paginas, si hay.
+     */
+    @Override
+    public void close() {
+        bloques.close();
+    }
 }
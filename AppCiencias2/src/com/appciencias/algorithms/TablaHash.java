@@ -16,6 +16,23 @@ import java.util.ArrayList;
  * - LINEAL: D' = D + i (donde i = 1, 2, 3...)
  * - CUADRATICA: D' = D + i² (i = 1, 2, 3...)
  * - DOBLE_HASH: D' = D + i * H2(k) con H2(k) = 1 + (k mod (n-1))
+ *
+ * Las claves se guardan en una ArenaClaves (empaquetadas en un long[]) con un
+ * byte[] de estado por posicion (vacia, ocupada, eliminada); buscar codifica
+ * la clave una vez y compara palabras, sin equals sobre Strings.
+ *
+ * Modo produccion (setModoProduccion): inserta buscando e insertando en una
+ * sola pasada de la secuencia de prueba y, cuando los eliminados superan
+ * UMBRAL_ELIMINADOS de la tabla, la reorganiza reinsertando las claves
+ * activas con la misma resolucion (ver reorganizar si alguna no entra).
+ *
+ * Crecimiento (setPoliticaCrecimiento): si claves + eliminados superan el
+ * factor de carga la tabla pasa al siguiente tamaño de la politica; tambien
+ * crece (rehash completo) si la secuencia de prueba de una clave no tiene
+ * lugar, como puede pasar con CUADRATICA y tamaños potencia de 2. En modo
+ * incremental la tabla vieja se conserva y cada insercion/eliminacion migra
+ * algunas de sus posiciones; buscar y eliminar consultan tambien la vieja.
+ * buscar nunca escribe (se puede usar con EstructuraConcurrente).
  */
 public class TablaHash {
 
@@ -34,17 +51,37 @@ public class TablaHash {
         SUMA, MULTIPLICACION
     }
 
-    // Marcador para posiciones eliminadas
+    // Marcador para posiciones eliminadas (solo en obtenerTabla)
     private static final String ELIMINADO = "__DELETED__";
 
-    private String[] tabla;
+    // Estado de cada posicion
+    private static final byte VACIA = 0;
+    private static final byte OCUPADA = 1;
+    private static final byte ELIMINADA = 2;
+
+    // Fraccion de la tabla ocupada por eliminados que dispara la reorganizacion
+    public static final double UMBRAL_ELIMINADOS = 0.25;
+
+    private ArenaClaves tabla;
+    private byte[] estados;   // VACIA, OCUPADA o ELIMINADA por posicion
     private int n;            // tamaño de la tabla
     private int longClave;    // caracteres por clave
     private int contador;     // elementos activos
+    private int eliminados;   // posiciones ELIMINADA en la tabla
+    private int reintentoReorganizar; // eliminados para reintentar tras un fallo (0 = sin fallo)
+    private boolean modoProduccion;
 
     private com.appciencias.algorithms.FuncionHash funcionHashObj; // Nueva clase centralizada
     private TipoColision tipoColision;
 
+    private PoliticaCrecimiento politica; // null = tamaño fijo
+    // Rehash incremental: tabla anterior con las posiciones [0, cursor) ya migradas
+    private ArenaClaves tablaVieja;
+    private byte[] estadosViejos;
+    private com.appciencias.algorithms.FuncionHash funcionVieja;
+    private int nViejo;
+    private int cursorMigracion;
+
     /**
      * Constructor principal que acepta una instancia de FuncionHash.
      * Permite cualquier tipo de función hash configurada externamente.
@@ -53,9 +90,10 @@ public class TablaHash {
         validarBase(tamaño, longClave);
         this.n = tamaño;
         this.longClave = longClave;
-        this.funcionHashObj = funcionHash;
+        this.funcionHashObj = funcionHash.copiar(); // crecer le cambia el tamaño
         this.tipoColision = tipoColision;
-        this.tabla = new String[n];
+        this.tabla = new ArenaClaves(n, longClave);
+        this.estados = new byte[n];
     }
 
     /**
@@ -76,7 +114,8 @@ public class TablaHash {
                                              : com.appciencias.algorithms.FuncionHash.Tipo.CUADRADO;
         this.funcionHashObj = new com.appciencias.algorithms.FuncionHash(tipo, tamaño);
         this.tipoColision = tipoColision;
-        this.tabla = new String[n];
+        this.tabla = new ArenaClaves(n, longClave);
+        this.estados = new byte[n];
     }
 
     /**
@@ -92,7 +131,8 @@ public class TablaHash {
         this.longClave = longClave;
         this.funcionHashObj = new com.appciencias.algorithms.FuncionHash(tamaño, posicionesTrunc);
         this.tipoColision = tipoColision;
-        this.tabla = new String[n];
+        this.tabla = new ArenaClaves(n, longClave);
+        this.estados = new byte[n];
     }
 
     /**
@@ -112,7 +152,8 @@ public class TablaHash {
                                                        : com.appciencias.algorithms.FuncionHash.TipoPlegamiento.MULTIPLICACION;
         this.funcionHashObj = new com.appciencias.algorithms.FuncionHash(tamaño, tipo);
         this.tipoColision = tipoColision;
-        this.tabla = new String[n];
+        this.tabla = new ArenaClaves(n, longClave);
+        this.estados = new byte[n];
     }
 
     /**
@@ -127,8 +168,16 @@ public class TablaHash {
      * garantizando que siempre haya desplazamiento.
      */
     private int h2(String clave) {
-        long k = ClaveUtil.aNumero(clave);
-        int divisor = (n - 1 <= 0) ? 1 : n - 1;
+        return h2(clave, n);
+    }
+
+    private int h2(String clave, int tamaño) {
+        // Con MEZCLA el paso sale de la parte alta de la mezcla, asi las claves
+        // con la misma suma ASCII no comparten secuencia de prueba
+        long k = (funcionHashObj.getTipo() == com.appciencias.algorithms.FuncionHash.Tipo.MEZCLA)
+                ? ClaveUtil.mezclar(clave) >>> 31
+                : ClaveUtil.aNumero(clave);
+        int divisor = (tamaño - 1 <= 0) ? 1 : tamaño - 1;
         return 1 + (int) (k % divisor);
     }
 
@@ -145,6 +194,10 @@ public class TablaHash {
      * @param paso Paso para doble hash (H2)
      */
     private int calcularPosicion(int D, int i, int paso) {
+        return calcularPosicion(D, i, paso, n);
+    }
+
+    private int calcularPosicion(int D, int i, int paso, int tamaño) {
         int desplazamiento;
         switch (tipoColision) {
             case LINEAL:
@@ -160,7 +213,7 @@ public class TablaHash {
                 desplazamiento = i;
         }
         // (D-1) convierte a 0-based, + desplazamiento, % n para circular
-        return ((D - 1) + desplazamiento) % n;
+        return ((D - 1) + desplazamiento) % tamaño;
     }
 
     /**
@@ -173,25 +226,76 @@ public class TablaHash {
      */
     public void insertar(String clave) {
         ClaveUtil.validar(clave, longClave);
+        if (politica != null) {
+            migrarPasos();
+            if (politica.debeCrecer(contador + eliminados + 1, n)) {
+                crecer();
+            }
+        }
         if (contador >= n) {
             throw new IllegalStateException("La tabla está llena. Capacidad maxima: " + n + ".");
         }
+        if (tablaVieja != null && buscarEnVieja(clave) != -1) {
+            throw new IllegalStateException("La clave '" + clave + "' ya existe en la tabla.");
+        }
+        tabla.admitir(clave);
+        if (modoProduccion) {
+            insertarUnaPasada(clave);
+            return;
+        }
         if (buscar(clave) != -1) {
             throw new IllegalStateException("La clave '" + clave + "' ya existe en la tabla.");
         }
 
+        colocar(clave);
+        contador++;
+    }
+
+    /**
+     * Insercion del modo produccion: recorre la secuencia de prueba una sola
+     * vez, detecta duplicados comparando la clave codificada y recuerda la
+     * primera posicion ELIMINADA para reutilizarla si la clave no esta.
+     */
+    private void insertarUnaPasada(String clave) {
         int D = calcularHash(clave);
         int paso = (tipoColision == TipoColision.DOBLE_HASH) ? h2(clave) : 0;
+        long[] codigo = tabla.codificar(clave);
+        int libre = -1;
 
         for (int i = 0; i < n; i++) {
             int pos = calcularPosicion(D, i, paso);
-            if (tabla[pos] == null || tabla[pos].equals(ELIMINADO)) {
-                tabla[pos] = clave;
-                contador++;
-                return;
+            byte estado = estados[pos];
+            if (estado == VACIA) {
+                if (libre == -1) {
+                    libre = pos;
+                }
+                break; // fin de la cadena: la clave no esta
+            }
+            if (estado == ELIMINADA) {
+                if (libre == -1) {
+                    libre = pos;
+                }
+                continue;
+            }
+            if (tabla.igual(pos, codigo)) {
+                throw new IllegalStateException("La clave '" + clave + "' ya existe en la tabla.");
             }
         }
-        throw new IllegalStateException("No se encontro posicion libre.");
+        if (libre == -1) {
+            // La secuencia no tiene lugar: colocar crece si hay politica
+            colocar(clave);
+        } else {
+            if (estados[libre] == ELIMINADA) {
+                eliminados--;
+            }
+            ocupar(libre, clave);
+        }
+        contador++;
+    }
+
+    private void ocupar(int pos, String clave) {
+        tabla.poner(pos, clave);
+        estados[pos] = OCUPADA;
     }
 
     /**
@@ -199,8 +303,11 @@ public class TablaHash {
      * colision al insertar, la busqueda repite el mismo proceso de resolucion
      * para encontrarla.
      *
-     * null -> cadena cortada, la clave no esta. ELIMINADO -> saltar y continuar
-     * buscando.
+     * VACIA -> cadena cortada, la clave no esta. ELIMINADA -> saltar y
+     * continuar buscando.
+     *
+     * No modifica la tabla: durante un rehash incremental, si la clave sigue
+     * en la tabla vieja retorna su posicion alli (isMigrando()).
      *
      * @return Índice (0-based) donde está, o -1 si no existe
      */
@@ -208,19 +315,28 @@ public class TablaHash {
         if (clave == null || clave.isEmpty()) {
             return -1;
         }
+        int pos = buscarEnActual(clave);
+        if (pos == -1 && tablaVieja != null) {
+            pos = buscarEnVieja(clave);
+        }
+        return pos;
+    }
 
+    private int buscarEnActual(String clave) {
+        long[] codigo = tabla.codificar(clave);
+        if (codigo == null) {
+            return -1;
+        }
         int D = calcularHash(clave);
         int paso = (tipoColision == TipoColision.DOBLE_HASH) ? h2(clave) : 0;
 
         for (int i = 0; i < n; i++) {
             int pos = calcularPosicion(D, i, paso);
-            if (tabla[pos] == null) {
+            byte estado = estados[pos];
+            if (estado == VACIA) {
                 return -1;
             }
-            if (tabla[pos].equals(ELIMINADO)) {
-                continue;
-            }
-            if (tabla[pos].equals(clave)) {
+            if (estado == OCUPADA && tabla.igual(pos, codigo)) {
                 return pos;
             }
         }
@@ -228,19 +344,258 @@ public class TablaHash {
     }
 
     /**
-     * Elimina una clave de la tabla. Pone el marcador ELIMINADO (no null) para
+     * Elimina una clave de la tabla. Marca la posicion ELIMINADA (no VACIA) para
      * no romper la cadena de búsqueda de otras claves que hayan tenido
      * colision.
      *
      * @throws IllegalArgumentException si la clave no existe
      */
     public void eliminar(String clave) {
-        int pos = buscar(clave);
+        if (politica != null) {
+            migrarPasos();
+        }
+        boolean valida = clave != null && !clave.isEmpty();
+        if (valida && tablaVieja != null) {
+            int posVieja = buscarEnVieja(clave);
+            if (posVieja != -1) {
+                // Sigue en la tabla vieja: se marca alli y ya no se migra
+                estadosViejos[posVieja] = ELIMINADA;
+                contador--;
+                return;
+            }
+        }
+        int pos = valida ? buscarEnActual(clave) : -1;
         if (pos == -1) {
             throw new IllegalArgumentException("La clave '" + clave + "' no existe en la tabla.");
         }
-        tabla[pos] = ELIMINADO;
+        estados[pos] = ELIMINADA;
         contador--;
+        eliminados++;
+        if (modoProduccion && debeReorganizar()) {
+            reorganizar();
+        }
+    }
+
+    /**
+     * Reconstruye la tabla sin posiciones ELIMINADA: vacia las posiciones y
+     * reinserta las claves activas (en orden de posicion) con la misma funcion
+     * hash y resolucion de colisiones. Acorta las cadenas de prueba que los
+     * eliminados habian alargado.
+     *
+     * Con CUADRATICA la secuencia de prueba no recorre todas las posiciones y
+     * alguna clave puede no encontrar lugar. Entonces, con politica de
+     * crecimiento, la tabla crece (rehash completo al tamaño siguiente); sin
+     * politica queda como estaba y el modo produccion no lo reintenta hasta
+     * que los eliminados se dupliquen, en vez de repetir el intento O(n) en
+     * cada eliminacion.
+     */
+    public void reorganizar() {
+        ArenaClaves nuevaTabla = new ArenaClaves(n, longClave);
+        byte[] nuevosEstados = new byte[n];
+        if (ubicarTodas(clavesActivas(tabla, estados, 0), nuevaTabla, nuevosEstados, funcionHashObj, n)) {
+            tabla = nuevaTabla;
+            estados = nuevosEstados;
+            eliminados = 0;
+            reintentoReorganizar = 0;
+        } else if (politica != null) {
+            rehashCompleto(politica.siguienteTamaño(n));
+        } else {
+            reintentoReorganizar = 2 * eliminados;
+        }
+    }
+
+    private boolean debeReorganizar() {
+        return eliminados > UMBRAL_ELIMINADOS * n && eliminados >= reintentoReorganizar;
+    }
+
+    // =====================================================================
+    //  CRECIMIENTO
+    // =====================================================================
+
+    /**
+     * Pasa al siguiente tamaño de la politica. Si habia una migracion en curso
+     * se termina primero.
+     */
+    private void crecer() {
+        completarMigracion();
+        int nuevoN = politica.siguienteTamaño(n);
+        if (politica.esIncremental()) {
+            tablaVieja = tabla;
+            estadosViejos = estados;
+            funcionVieja = funcionHashObj.copiar();
+            nViejo = n;
+            cursorMigracion = 0;
+            n = nuevoN;
+            funcionHashObj.setTamaño(n);
+            tabla = new ArenaClaves(n, longClave);
+            estados = new byte[n];
+            eliminados = 0;
+            reintentoReorganizar = 0;
+        } else {
+            rehashCompleto(nuevoN);
+        }
+    }
+
+    /**
+     * Reubica todas las claves (tambien las que falten migrar de la tabla
+     * vieja) en una tabla de nuevoN posiciones, o del tamaño siguiente de la
+     * politica si alguna no encuentra lugar. La tabla nueva se arma aparte y
+     * se asigna solo con todas las claves ubicadas: si un intento falla no se
+     * pierde ninguna.
+     */
+    private void rehashCompleto(int nuevoN) {
+        ArrayList<String> activas = clavesActivas(tabla, estados, 0);
+        if (tablaVieja != null) {
+            activas.addAll(clavesActivas(tablaVieja, estadosViejos, cursorMigracion));
+        }
+        com.appciencias.algorithms.FuncionHash funcion = funcionHashObj.copiar();
+        while (true) {
+            funcion.setTamaño(nuevoN);
+            ArenaClaves nuevaTabla = new ArenaClaves(nuevoN, longClave);
+            byte[] nuevosEstados = new byte[nuevoN];
+            if (ubicarTodas(activas, nuevaTabla, nuevosEstados, funcion, nuevoN)) {
+                n = nuevoN;
+                funcionHashObj.setTamaño(n);
+                tabla = nuevaTabla;
+                estados = nuevosEstados;
+                eliminados = 0;
+                reintentoReorganizar = 0;
+                tablaVieja = null;
+                estadosViejos = null;
+                funcionVieja = null;
+                return;
+            }
+            nuevoN = politica.siguienteTamaño(nuevoN);
+        }
+    }
+
+    /**
+     * Ubica las claves en una tabla vacia (t, e) de tamaño posiciones.
+     *
+     * @return false si alguna no encontro lugar en su secuencia de prueba
+     */
+    private boolean ubicarTodas(ArrayList<String> claves, ArenaClaves t, byte[] e,
+            com.appciencias.algorithms.FuncionHash funcion, int tamaño) {
+        for (String clave : claves) {
+            int pos = primeraLibre(clave, e, funcion, tamaño);
+            if (pos == -1) {
+                return false;
+            }
+            t.poner(pos, clave);
+            e[pos] = OCUPADA;
+        }
+        return true;
+    }
+
+    /**
+     * Migra las siguientes posiciones de la tabla vieja (incremental).
+     */
+    private void migrarPasos() {
+        for (int k = 0; k < politica.getPasosIncrementales() && tablaVieja != null; k++) {
+            migrarSiguiente();
+        }
+    }
+
+    /**
+     * Termina de migrar la tabla vieja de una vez, si hay migracion en curso.
+     */
+    public void completarMigracion() {
+        while (tablaVieja != null) {
+            migrarSiguiente();
+        }
+    }
+
+    /**
+     * Pasa la posicion del cursor a la tabla actual. El cursor avanza antes de
+     * colocar la clave, asi un rehashCompleto dentro de colocar no la cuenta
+     * dos veces.
+     */
+    private void migrarSiguiente() {
+        String clave = (estadosViejos[cursorMigracion] == OCUPADA)
+                ? tablaVieja.obtener(cursorMigracion) : null;
+        cursorMigracion++;
+        if (cursorMigracion >= nViejo) {
+            tablaVieja = null;
+            estadosViejos = null;
+            funcionVieja = null;
+        }
+        if (clave != null) {
+            colocar(clave);
+        }
+    }
+
+    /**
+     * Coloca una clave que se sabe ausente en la primera posicion libre de su
+     * secuencia de prueba en la tabla actual. Si la secuencia no tiene lugar
+     * y hay politica, hace rehashCompleto al tamaño siguiente hasta que lo
+     * tenga. No cambia contador.
+     *
+     * @throws IllegalStateException si no hay lugar y la tabla es de tamaño fijo
+     */
+    private int colocar(String clave) {
+        int pos = primeraLibre(clave, estados, funcionHashObj, n);
+        while (pos == -1) {
+            if (politica == null) {
+                throw new IllegalStateException("No se encontro posicion libre.");
+            }
+            rehashCompleto(politica.siguienteTamaño(n));
+            pos = primeraLibre(clave, estados, funcionHashObj, n);
+        }
+        if (estados[pos] == ELIMINADA) {
+            eliminados--;
+        }
+        ocupar(pos, clave);
+        return pos;
+    }
+
+    /**
+     * Primera posicion no OCUPADA de la secuencia de prueba de la clave en una
+     * tabla de tamaño posiciones, o -1 si no hay (CUADRATICA no recorre todas).
+     */
+    private int primeraLibre(String clave, byte[] e,
+            com.appciencias.algorithms.FuncionHash funcion, int tamaño) {
+        int D = funcion.calcular(clave);
+        int paso = (tipoColision == TipoColision.DOBLE_HASH) ? h2(clave, tamaño) : 0;
+        for (int i = 0; i < tamaño; i++) {
+            int pos = calcularPosicion(D, i, paso, tamaño);
+            if (e[pos] != OCUPADA) {
+                return pos;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Busca en la tabla vieja con su funcion y tamaño. Las posiciones ya
+     * migradas no cuentan.
+     */
+    private int buscarEnVieja(String clave) {
+        long[] codigo = tablaVieja.codificar(clave);
+        if (codigo == null) {
+            return -1;
+        }
+        int D = funcionVieja.calcular(clave);
+        int paso = (tipoColision == TipoColision.DOBLE_HASH) ? h2(clave, nViejo) : 0;
+        for (int i = 0; i < nViejo; i++) {
+            int pos = calcularPosicion(D, i, paso, nViejo);
+            if (estadosViejos[pos] == VACIA) {
+                return -1;
+            }
+            if (estadosViejos[pos] == OCUPADA && tablaVieja.igual(pos, codigo)) {
+                return (pos >= cursorMigracion) ? pos : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static ArrayList<String> clavesActivas(ArenaClaves t, byte[] e, int desde) {
+        ArrayList<String> lista = new ArrayList<>();
+        for (int i = desde; i < e.length; i++) {
+            if (e[i] == OCUPADA) {
+                lista.add(t.obtener(i));
+            }
+        }
+        return lista;
     }
 
     /**
@@ -248,18 +603,24 @@ public class TablaHash {
      * de eliminado, otro = clave activa.
      */
     public String[] obtenerTabla() {
-        return tabla.clone();
+        String[] copia = new String[n];
+        for (int i = 0; i < n; i++) {
+            if (estados[i] == OCUPADA) {
+                copia[i] = tabla.obtener(i);
+            } else if (estados[i] == ELIMINADA) {
+                copia[i] = ELIMINADO;
+            }
+        }
+        return copia;
     }
 
     /**
      * Solo las claves activas (sin vacios ni eliminadas).
      */
     public ArrayList<String> obtenerClavesActivas() {
-        ArrayList<String> lista = new ArrayList<>();
-        for (String s : tabla) {
-            if (s != null && !s.equals(ELIMINADO)) {
-                lista.add(s);
-            }
+        ArrayList<String> lista = clavesActivas(tabla, estados, 0);
+        if (tablaVieja != null) {
+            lista.addAll(clavesActivas(tablaVieja, estadosViejos, cursorMigracion));
         }
         return lista;
     }
@@ -287,6 +648,44 @@ public class TablaHash {
         return contador >= n;
     }
 
+    public int getEliminados() {
+        return eliminados;
+    }
+
+    public PoliticaCrecimiento getPoliticaCrecimiento() {
+        return politica;
+    }
+
+    /**
+     * Define la politica de crecimiento (null = tamaño fijo, como antes).
+     */
+    public void setPoliticaCrecimiento(PoliticaCrecimiento politica) {
+        completarMigracion();
+        this.politica = politica;
+    }
+
+    /**
+     * true mientras quedan posiciones de la tabla vieja por migrar.
+     */
+    public boolean isMigrando() {
+        return tablaVieja != null;
+    }
+
+    public boolean isModoProduccion() {
+        return modoProduccion;
+    }
+
+    /**
+     * Activa o desactiva el modo produccion. Al activarlo se reorganiza la
+     * tabla si ya supera el umbral de eliminados.
+     */
+    public void setModoProduccion(boolean modoProduccion) {
+        this.modoProduccion = modoProduccion;
+        if (modoProduccion && debeReorganizar()) {
+            reorganizar();
+        }
+    }
+
     public com.appciencias.algorithms.FuncionHash getFuncionHashObj() {
         return funcionHashObj;
     }
@@ -4,9 +4,32 @@ package com.appciencias.models;
  * Conversión de letras para los árboles (Digital, Trie, Múltiple).
  *
  * Cada letra -> posición en el alfabeto (a=1 ... z=26) -> binario de 5 bits.
+ *
+ * Las cadenas binarias son solo para mostrar: los árboles recorren el código
+ * (posición o carácter) con bit() y grupo(), sin crear cadenas.
  */
 public class ClaveArbol {
 
+    public static final int BITS_LETRA = 5;
+    public static final int BITS_ASCII = 7;
+    public static final int BITS_8 = 8;
+
+    /**
+     * Bit i (0 = el de más a la izquierda) de un código de ancho bits. Igual
+     * a la cadena binaria en i, pero como 0 o 1.
+     */
+    public static int bit(int codigo, int ancho, int i) {
+        return (codigo >>> (ancho - 1 - i)) & 1;
+    }
+
+    /**
+     * Los largo bits que empiezan en desde (0 = izquierda), igual que
+     * Integer.parseInt(binario.substring(desde, desde + largo), 2).
+     */
+    public static int grupo(int codigo, int ancho, int desde, int largo) {
+        return (codigo >>> (ancho - desde - largo)) & ((1 << largo) - 1);
+    }
+
     /**
      * Convierte una letra a su posición en el alfabeto (a=1 ... z=26).
      */
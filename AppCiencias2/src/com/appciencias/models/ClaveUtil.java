@@ -19,13 +19,37 @@ public class ClaveUtil {
         } else {
             // Letras o alfanumerico, suma simple de valores ASCII
             long suma = 0;
-            for (char c : clave.toCharArray()) {
-                suma += (long) c;
+            for (int i = 0; i < clave.length(); i++) {
+                suma += (long) clave.charAt(i);
             }
             return suma;
         }
     }
 
+    /**
+     * Mezcla de 64 bits de la clave (polinomial + finalizador de MurmurHash3).
+     * A diferencia de aNumero, cada caracter cambia segun su posicion, asi
+     * "ABC", "CBA" y "BAC" dan valores distintos. No crea objetos.
+     *
+     * @param clave Clave no vacia
+     * @return Valor mezclado (siempre >= 0)
+     */
+    public static long mezclar(String clave) {
+        if (clave == null || clave.isEmpty()) {
+            throw new IllegalArgumentException("La clave no puede ser vacia.");
+        }
+        long h = 0x9E3779B97F4A7C15L;
+        for (int i = 0; i < clave.length(); i++) {
+            h = (h ^ clave.charAt(i)) * 0x100000001B3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h >>> 1;
+    }
+
     /**
      * Convierte una clave a su representación numerica como cadena de digitos.
      * Usada por Truncamiento y Plegamiento.
@@ -62,8 +86,8 @@ public class ClaveUtil {
         if (clave == null || clave.isEmpty()) {
             return false;
         }
-        for (char c : clave.toCharArray()) {
-            if (!Character.isDigit(c)) {
+        for (int i = 0; i < clave.length(); i++) {
+            if (!Character.isDigit(clave.charAt(i))) {
                 return false;
             }
         }
@@ -553,7 +553,7 @@ public class GestorArchivos {
         SesionDatos sd     = new SesionDatos("HASH");
         sd.tamaño          = th.getTamaño();
         sd.longClave       = th.getLongClave();
-        sd.funcionHash     = th.getFuncionHash().name();
+        sd.funcionHash     = th.getFuncionHashObj().getTipo().name();
         sd.tipoColision    = th.getTipoColision().name();
         sd.claves          = new ArrayList<>(th.obtenerClavesActivas());
         return sd;
@@ -623,7 +623,7 @@ public class GestorArchivos {
      */
     public static Secuencial restaurarSecuencial(SesionDatos sd) {
         Secuencial s = new Secuencial(sd.tamaño, sd.longClave, sd.ordenado);
-        for (String c : sd.claves) s.insertar(c);
+        s.cargarMasivo(sd.claves);
         return s;
     }
 
@@ -632,7 +632,7 @@ public class GestorArchivos {
      */
     public static Binario restaurarBinario(SesionDatos sd) {
         Binario b = new Binario(sd.tamaño, sd.longClave);
-        for (String c : sd.claves) b.insertar(c);
+        b.cargarMasivo(sd.claves);
         return b;
     }
 
@@ -641,7 +641,7 @@ public class GestorArchivos {
      */
     public static ArbolDigital restaurarArbolDigital(SesionDatos sd) {
         ArbolDigital ad = new ArbolDigital();
-        for (String c : sd.claves) ad.insertar(c);
+        ad.cargarMasivo(sd.claves);
         return ad;
     }
 
@@ -650,7 +650,7 @@ public class GestorArchivos {
      */
     public static ArbolTries restaurarArbolTries(SesionDatos sd) {
         ArbolTries at = new ArbolTries();
-        for (String c : sd.claves) at.insertar(c);
+        at.cargarMasivo(sd.claves);
         return at;
     }
 
@@ -659,7 +659,7 @@ public class GestorArchivos {
      */
     public static ArbolMultiple restaurarArbolMultiple(SesionDatos sd) {
         ArbolMultiple am = new ArbolMultiple(sd.m);
-        for (String c : sd.claves) am.insertar(c);
+        am.cargarMasivo(sd.claves);
         return am;
     }
 
@@ -1,5 +1,7 @@
 package com.appciencias.views;
 
+import com.appciencias.algorithms.ArenaClaves;
+import com.appciencias.algorithms.BusquedaOrdenada;
 import com.appciencias.algorithms.Secuencial;
 import java.awt.*;
 import java.util.ArrayList;
@@ -9,7 +11,9 @@ import javax.swing.*;
 /**
  * Panel interactivo para búsqueda binaria.
  * Usa Secuencial internamente para almacenar datos en orden de ingreso,
- * y permite ordenarlos para realizar búsqueda binaria.
+ * y permite ordenarlos para realizar búsqueda binaria. Los pasos de la
+ * animación salen de BusquedaOrdenada con la estrategia elegida (binaria,
+ * interpolación o exponencial).
  */
 public class BinarioPanel extends JPanel {
 
@@ -35,6 +39,7 @@ public class BinarioPanel extends JPanel {
     private JTextField sizeField;
     private JTextField lengthField;
     private JTextField keyField;
+    private JComboBox<BusquedaOrdenada.Estrategia> strategyCombo;
     private JButton createButton;
     private JButton insertButton;
     private JButton searchButton;
@@ -85,7 +90,9 @@ public class BinarioPanel extends JPanel {
         header.add(Box.createVerticalStrut(10));
 
         JTextArea descArea = new JTextArea(
-                "Algoritmo eficiente que busca en estructuras ordenadas dividiendo el espacio de búsqueda a la mitad en cada iteración.");
+                "Algoritmo eficiente que busca en estructuras ordenadas dividiendo el espacio de búsqueda a la mitad en cada iteración. "
+                + "Se puede comparar con la búsqueda por interpolación (estima la posición por el valor de la clave) "
+                + "y la exponencial (avanza en saltos que se duplican desde el final).");
         descArea.setFont(new Font("Segoe UI", Font.PLAIN, 15));
         descArea.setForeground(TEXT_SECONDARY);
         descArea.setBackground(BACKGROUND_COLOR);
@@ -188,6 +195,17 @@ public class BinarioPanel extends JPanel {
         keyField = createTextField(16);
         keyPanel.add(keyLabel);
         keyPanel.add(keyField);
+        JLabel strategyLabel = new JLabel("Búsqueda");
+        strategyLabel.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        strategyLabel.setForeground(TEXT_PRIMARY);
+        strategyCombo = new JComboBox<>(new BusquedaOrdenada.Estrategia[]{
+            BusquedaOrdenada.Estrategia.BINARIA,
+            BusquedaOrdenada.Estrategia.INTERPOLACION,
+            BusquedaOrdenada.Estrategia.EXPONENCIAL
+        });
+        strategyCombo.setFont(new Font("Segoe UI", Font.PLAIN, 14));
+        keyPanel.add(strategyLabel);
+        keyPanel.add(strategyCombo);
         panel.add(keyPanel);
         panel.add(Box.createVerticalStrut(10));
 
@@ -585,23 +603,8 @@ public class BinarioPanel extends JPanel {
             }
         }
 
-        // Almacenar los pasos de la búsqueda binaria
-        java.util.List<BinarySearchStep> steps = new java.util.ArrayList<>();
-        int left = 0, right = sortedData.length - 1;
-
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            int cmp = sortedData[mid].compareTo(clave);
-            steps.add(new BinarySearchStep(left, right, mid, cmp == 0));
-
-            if (cmp == 0) {
-                break;
-            } else if (cmp < 0) {
-                left = mid + 1;
-            } else {
-                right = mid - 1;
-            }
-        }
+        // Pasos de la búsqueda con la estrategia elegida
+        java.util.List<BinarySearchStep> steps = calcularPasos(sortedData, clave);
 
         if (steps.isEmpty()) {
             setStatus("Clave '" + clave + "' no encontrada.", true);
@@ -696,23 +699,8 @@ public class BinarioPanel extends JPanel {
             }
         }
 
-        // Almacenar los pasos de la búsqueda binaria
-        java.util.List<BinarySearchStep> steps = new java.util.ArrayList<>();
-        int left = 0, right = sortedData.length - 1;
-
-        while (left <= right) {
-            int mid = left + (right - left) / 2;
-            int cmp = sortedData[mid].compareTo(clave);
-            steps.add(new BinarySearchStep(left, right, mid, cmp == 0));
-
-            if (cmp == 0) {
-                break;
-            } else if (cmp < 0) {
-                left = mid + 1;
-            } else {
-                right = mid - 1;
-            }
-        }
+        // Pasos de la búsqueda con la estrategia elegida
+        java.util.List<BinarySearchStep> steps = calcularPasos(sortedData, clave);
 
         if (steps.isEmpty() || !steps.get(steps.size() - 1).found) {
             setStatus("Clave '" + clave + "' no encontrada.", true);
@@ -814,6 +802,30 @@ public class BinarioPanel extends JPanel {
         }
     }
 
+    /**
+     * Corre la estrategia elegida sobre los datos ordenados y devuelve cada
+     * comparación como un paso (rango vigente y posición comparada).
+     */
+    private java.util.List<BinarySearchStep> calcularPasos(String[] sortedData, String clave) {
+        java.util.List<BinarySearchStep> steps = new java.util.ArrayList<>();
+        ArenaClaves arena = new ArenaClaves(sortedData.length, secuencial.getLongClave());
+        for (int i = 0; i < sortedData.length; i++) {
+            arena.poner(i, sortedData[i]);
+        }
+        long[] codigo = arena.codificar(clave);
+        if (codigo == null) {
+            return steps;
+        }
+        BusquedaOrdenada busqueda = new BusquedaOrdenada(
+                (BusquedaOrdenada.Estrategia) strategyCombo.getSelectedItem());
+        busqueda.setRegistrarPasos(true);
+        int pos = busqueda.buscar(arena, sortedData.length, clave, codigo);
+        for (int[] paso : busqueda.getPasos()) {
+            steps.add(new BinarySearchStep(paso[0], paso[1], paso[2], paso[2] == pos));
+        }
+        return steps;
+    }
+
     /**
      * Realiza búsqueda binaria en un arreglo ordenado
      * @return índice si está presente, -1 si no
@@ -158,7 +158,8 @@ public class HashPanel extends JPanel {
             "Cuadrado (k² mod n)",
             "Truncamiento",
             "Plegamiento (Suma)",
-            "Plegamiento (Multiplicación)"
+            "Plegamiento (Multiplicación)",
+            "Mezcla 64 bits"
         });
         hashFunctionCombo.setFont(new Font("Segoe UI", Font.PLAIN, 14));
 
@@ -418,6 +419,8 @@ public class HashPanel extends JPanel {
             case 3:
             case 4:
                 return FuncionHash.Tipo.PLEGAMIENTO;
+            case 5:
+                return FuncionHash.Tipo.MEZCLA;
             default:
                 return FuncionHash.Tipo.MOD;
         }
@@ -428,6 +431,7 @@ public class HashPanel extends JPanel {
             case MOD:
                 return new FuncionHash(tipo, tamaño);
             case CUADRADO:
+            case MEZCLA:
                 return new FuncionHash(tipo, tamaño);
             case TRUNCAMIENTO:
                 // Usar posiciones seguras: 1, 3, 5, 7, ... (impares)
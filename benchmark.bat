@@ -0,0 +1,31 @@
+@echo off
+echo ===============================================
+echo   Ciencias de la Computacion 2
+echo   Compilando y ejecutando los benchmarks (JMH)...
+echo ===============================================
+echo.
+
+cd /d "%~dp0AppCiencias2"
+
+if not exist lib\jmh-core-*.jar (
+    echo ERROR: Faltan los jars de JMH en AppCiencias2\lib
+    echo Copie jmh-core, jmh-generator-annprocess, jopt-simple y commons-math3.
+    pause
+    exit /b 1
+)
+
+echo [1/2] Compilando fuentes y benchmarks...
+if exist bench-bin rmdir /s /q bench-bin
+javac -encoding UTF-8 -cp "lib\*" -d bench-bin src\com\appciencias\models\*.java src\com\appciencias\algorithms\*.java bench\com\appciencias\bench\*.java
+
+if %ERRORLEVEL% NEQ 0 (
+    echo.
+    echo ERROR: La compilacion ha fallado.
+    pause
+    exit /b 1
+)
+
+echo [2/2] Ejecutando JMH...
+echo.
+rem Los argumentos se pasan a JMH, ej: benchmark.bat BusquedaBench -p n=1000000
+java -cp "bench-bin;lib\*" org.openjdk.jmh.Main %*